@@ -0,0 +1,91 @@
+package com.namit.categorybackend.benchmark;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Compares two JMH JSON result files (baseline first) and exits with 1 when
+ * any benchmark got slower than the threshold percentage.
+ * Throughput scores regress when they drop, time scores when they grow.
+ *
+ *   BenchmarkComparison baseline.json current.json [thresholdPercent]
+ */
+public final class BenchmarkComparison {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().build();
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) {
+
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            System.err.println("No baseline at " + baselineFile + ", nothing to compare");
+            System.exit(2);
+        }
+
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-80s %14.3f %-10s (new)%n", entry.getKey(), now.value(), now.unit());
+                continue;
+            }
+
+            double change = (now.value() - before.value()) / before.value() * 100;
+            boolean regressed = now.higherIsBetter() ? change < -threshold : change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+
+            System.out.printf("%-80s %14.3f -> %14.3f %-10s %+7.1f%%%s%n",
+                    entry.getKey(), before.value(), now.value(), now.unit(), change, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark name plus its @Param values
+    private static Map<String, Score> read(File file) {
+
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : MAPPER.readTree(file)) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asString());
+            JsonNode params = run.get("params");
+            if (params != null) {
+                params.properties().forEach(param ->
+                        key.append(' ').append(param.getKey()).append('=').append(param.getValue().asString()));
+            }
+
+            JsonNode metric = run.get("primaryMetric");
+            scores.put(key.toString(), new Score(
+                    metric.get("score").asDouble(),
+                    metric.get("scoreUnit").asString(),
+                    "thrpt".equals(run.get("mode").asString())));
+        }
+        return scores;
+    }
+
+    private record Score(double value, String unit, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.namit.categorybackend.benchmark;
+
+import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.product.entity.Product;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Entities shaped like real catalog rows, shared by the benchmarks
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static Category category(long id) {
+        Instant now = Instant.now();
+        return Category.builder()
+                .categoryId(id)
+                .categoryName("Category " + id)
+                .description("Everything filed under category " + id)
+                .createdAt(now)
+                .updatedAt(now)
+                .status(true)
+                .build();
+    }
+
+    static Product product(long id, Category category) {
+        Instant now = Instant.now();
+        return Product.builder()
+                .productId(id)
+                .productName("Product " + id)
+                .description("A reasonably long description for product " + id + ", similar in size to real ones")
+                .price(BigDecimal.valueOf(1999 + id % 1000, 2))
+                .sku("SKU-" + id)
+                .inventoryCount((int) (id % 50))
+                .createdAt(now)
+                .updatedAt(now)
+                .status(true)
+                .category(category)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.namit.categorybackend.benchmark;
+
+import com.namit.categorybackend.CategoryBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the application (no web server) on an in-memory H2 catalog of the given size
+final class CatalogContext {
+
+    private static final int CATEGORIES = 100;
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private CatalogContext() {
+    }
+
+    static ConfigurableApplicationContext start(int catalogSize) {
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CategoryBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false");
+
+        seed(context.getBean(JdbcTemplate.class), catalogSize);
+        return context;
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, int catalogSize) {
+
+        Timestamp now = Timestamp.from(Instant.now());
+
+        List<Object[]> categories = new ArrayList<>(CATEGORIES);
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(new Object[] { "Category " + i, now, now });
+        }
+        jdbcTemplate.batchUpdate("insert into categories (category_name, description, status, created_at, updated_at) "
+                + "values (?, 'seed', true, ?, ?)", categories);
+
+        List<Long> categoryIds = jdbcTemplate.queryForList("select category_id from categories", Long.class);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < catalogSize; i++) {
+            // Spread creation times so keyset and created_at ordering see distinct values
+            Timestamp createdAt = Timestamp.from(now.toInstant().minusSeconds(i));
+            batch.add(new Object[] {
+                    "Product " + i,
+                    "Description of product " + i,
+                    BigDecimal.valueOf(100 + i % 90_000, 2),
+                    "SKU-" + i,
+                    i % 50,
+                    categoryIds.get(i % categoryIds.size()),
+                    i % 10 != 0,
+                    createdAt,
+                    createdAt });
+
+            if (batch.size() == BATCH_SIZE) {
+                insertProducts(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        insertProducts(jdbcTemplate, batch);
+
+        jdbcTemplate.execute("analyze");
+    }
+
+    private static void insertProducts(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into products (product_name, description, price, sku, inventory_count, "
+                + "category_id, status, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+}
@@ -0,0 +1,219 @@
+package com.namit.categorybackend.benchmark;
+
+import com.namit.categorybackend.CategoryBackendApplication;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.thread.Threading;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Closed-loop HTTP load test for comparing platform and virtual request threads.
+ * Boots the app on a random port over a seeded H2 catalog. Every JDBC statement
+ * first sleeps load.db-latency-ms to stand in for the network round trip to MySQL.
+ *
+ * The mix is half cached storefront pages (no database) and half database reads.
+ * With platform threads, requests waiting for a connection hold Tomcat workers
+ * and the cached requests queue behind them; with virtual threads they do not.
+ *
+ *   -Dload.threads=platform|virtual  -Dload.concurrency=2000  -Dload.duration=PT20S
+ *   -Dload.warmup=PT5S  -Dload.catalog=20000  -Dload.db-latency-ms=2  -Dload.db-pool=20
+ */
+public final class LoadTest {
+
+    private static final String[] ENDPOINTS = { "storefront", "product", "filtered" };
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        boolean virtual = "virtual".equals(System.getProperty("load.threads", "platform"));
+        int concurrency = Integer.getInteger("load.concurrency", 2000);
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT20S"));
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+        int catalogSize = Integer.getInteger("load.catalog", 20_000);
+        long dbLatencyMillis = Long.getLong("load.db-latency-ms", 2);
+        int dbPool = Integer.getInteger("load.db-pool", 20);
+
+        ConfigurableApplicationContext context = start(virtual, dbPool, dbLatencyMillis);
+        try {
+            CatalogContext.seed(context.getBean(JdbcTemplate.class), catalogSize);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<Long> categoryIds = context.getBean(JdbcTemplate.class)
+                    .queryForList("select category_id from categories", Long.class);
+            List<Long> productIds = context.getBean(JdbcTemplate.class)
+                    .queryForList("select product_id from products where status = true", Long.class);
+
+            Driver driver = new Driver("http://localhost:" + port + "/api/v1/products", concurrency,
+                    categoryIds, productIds);
+
+            driver.run(warmup);
+            Result[] results = driver.run(duration);
+
+            // Below Java 21 the virtual flag is ignored, report what actually ran
+            boolean ranVirtual = Threading.VIRTUAL.isActive(context.getEnvironment());
+            System.out.printf("%nthreads=%s concurrency=%d duration=%s db-latency=%dms db-pool=%d%n",
+                    ranVirtual ? "virtual" : "platform", concurrency, duration, dbLatencyMillis, dbPool);
+            System.out.printf("%-12s %10s %10s %10s %10s %10s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms",
+                    "errors");
+            for (int i = 0; i < ENDPOINTS.length; i++) {
+                results[i].print(ENDPOINTS[i], duration);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual, int dbPool, long dbLatencyMillis) {
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(CategoryBackendApplication.class)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(
+                        new LatencyInjector(dbLatencyMillis)));
+        if (virtual) {
+            builder.profiles("virtual");
+        }
+
+        // Pool settings are pinned for both modes so only the request threading differs
+        return builder.run("--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.hikari.maximum-pool-size=" + dbPool,
+                "--spring.datasource.hikari.minimum-idle=" + dbPool,
+                "--spring.datasource.hikari.connection-timeout=2000",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false");
+    }
+
+    private record LatencyInjector(long millis) implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || millis <= 0) {
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .beforeQuery((execution, queries) -> {
+                        try {
+                            Thread.sleep(millis);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    })
+                    .build();
+        }
+    }
+
+    private static final class Driver {
+
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        private final String baseUrl;
+        private final int concurrency;
+        private final List<Long> categoryIds;
+        private final List<Long> productIds;
+
+        Driver(String baseUrl, int concurrency, List<Long> categoryIds, List<Long> productIds) {
+            this.baseUrl = baseUrl;
+            this.concurrency = concurrency;
+            this.categoryIds = categoryIds;
+            this.productIds = productIds;
+        }
+
+        // Keeps `concurrency` requests in flight until the duration ends, then waits for them
+        Result[] run(Duration duration) throws InterruptedException {
+
+            Result[] results = { new Result(), new Result(), new Result() };
+            Semaphore inFlight = new Semaphore(concurrency);
+            long end = System.nanoTime() + duration.toNanos();
+
+            while (System.nanoTime() < end) {
+                if (!inFlight.tryAcquire(10, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+                int endpoint = pickEndpoint();
+                long start = System.nanoTime();
+                client.sendAsync(request(endpoint), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            boolean ok = error == null && response.statusCode() < 400;
+                            results[endpoint].record(System.nanoTime() - start, ok);
+                            inFlight.release();
+                        });
+            }
+            inFlight.acquire(concurrency);
+            return results;
+        }
+
+        private int pickEndpoint() {
+            int roll = ThreadLocalRandom.current().nextInt(4);
+            return roll < 2 ? 0 : roll - 1;
+        }
+
+        private HttpRequest request(int endpoint) {
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String path = switch (endpoint) {
+                case 0 -> "/public";
+                case 1 -> "/" + productIds.get(random.nextInt(productIds.size()));
+                default -> "/public?withTotal=false&sortBy=price&categoryIds="
+                        + categoryIds.get(random.nextInt(categoryIds.size()));
+            };
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }
+    }
+
+    private static final class Result {
+
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long nanos, boolean ok) {
+            latencies.add(nanos);
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void print(String endpoint, Duration duration) {
+
+            List<Long> sorted = new ArrayList<>(latencies);
+            sorted.sort(null);
+            System.out.printf("%-12s %10d %10.0f %10.2f %10.2f %10d%n",
+                    endpoint,
+                    sorted.size(),
+                    sorted.size() / (duration.toMillis() / 1000.0),
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99),
+                    errors.get());
+        }
+
+        private static double percentile(List<Long> sorted, double quantile) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(quantile * sorted.size()) - 1)) / 1e6;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.namit.categorybackend.benchmark;
+
+import com.namit.categorybackend.category.dto.CategoryResponse;
+import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.category.mapper.CategoryMapper;
+import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.entity.Product;
+import com.namit.categorybackend.product.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Entity -> response DTO mapping, run for every row of every listing
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    private Category category;
+
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        category = BenchmarkFixtures.category(1);
+        product = BenchmarkFixtures.product(1, category);
+    }
+
+    @Benchmark
+    public ProductResponse productToResponse() {
+        return ProductMapper.toResponse(product);
+    }
+
+    @Benchmark
+    public CategoryResponse categoryToResponse() {
+        return CategoryMapper.toResponse(category);
+    }
+}
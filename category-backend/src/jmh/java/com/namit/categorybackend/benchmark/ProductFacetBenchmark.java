@@ -0,0 +1,71 @@
+package com.namit.categorybackend.benchmark;
+
+import com.namit.categorybackend.product.facet.ProductFacetIndex;
+import com.namit.categorybackend.product.facet.ProductFacetRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// One facet scan over the whole active catalog, as behind /products/public/facets
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductFacetBenchmark {
+
+    @Param({ "1000000" })
+    public int catalogSize;
+
+    private ProductFacetIndex index;
+
+    private ProductFacetIndex.Query unfiltered;
+
+    private ProductFacetIndex.Query filtered;
+
+    @Setup
+    public void setUp() {
+        index = new ProductFacetIndex(List.of(
+                new BigDecimal("10"), new BigDecimal("25"), new BigDecimal("50"),
+                new BigDecimal("100"), new BigDecimal("250"), new BigDecimal("500")));
+
+        SplittableRandom random = new SplittableRandom(42);
+        index.rebuild(LongStream.rangeClosed(1, catalogSize).mapToObj(id -> new ProductFacetRow(
+                id,
+                "Product " + id,
+                "SKU-" + id,
+                (long) random.nextInt(1, 201),
+                BigDecimal.valueOf(random.nextLong(100, 100_000), 2),
+                random.nextInt(0, 20),
+                true)));
+
+        unfiltered = new ProductFacetIndex.Query(null, null, null, null, null, null, null);
+        filtered = new ProductFacetIndex.Query(
+                List.of(1L, 2L, 3L, 4L, 5L), new BigDecimal("20"), new BigDecimal("300"), true, null, null, null);
+    }
+
+    @Benchmark
+    public ProductFacetIndex.Counts unfiltered() {
+        return index.count(unfiltered);
+    }
+
+    @Benchmark
+    public ProductFacetIndex.Counts categoryPriceAndStock() {
+        return index.count(filtered);
+    }
+}
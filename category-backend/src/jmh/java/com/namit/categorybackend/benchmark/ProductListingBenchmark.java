@@ -0,0 +1,92 @@
+package com.namit.categorybackend.benchmark;
+
+import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.entity.Product;
+import com.namit.categorybackend.product.mapper.ProductMapper;
+import com.namit.categorybackend.product.repository.ProductRepository;
+import jakarta.persistence.criteria.JoinType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * One listing page read two ways: managed entities mapped afterwards (the old
+ * listing path) versus the constructor projection the listings use now.
+ * Run with -Djmh.args="-prof gc" and compare gc.alloc.rate.norm (bytes/op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductListingBenchmark {
+
+    @Param({ "10000" })
+    public int catalogSize;
+
+    @Param({ "12", "100" })
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductRepository productRepository;
+
+    private TransactionTemplate readOnly;
+
+    private Pageable pageable;
+
+    private final Specification<Product> active = (root, query, cb) -> cb.isTrue(root.get("status"));
+
+    private final Specification<Product> activeWithCategory = (root, query, cb) -> {
+        root.fetch("category", JoinType.LEFT);
+        return cb.isTrue(root.get("status"));
+    };
+
+    @Setup
+    public void setUp() {
+        context = CatalogContext.start(catalogSize);
+        productRepository = context.getBean(ProductRepository.class);
+
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("productId")));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Slice<ProductResponse> entityHydration() {
+        return readOnly.execute(status -> productRepository
+                .findBy(activeWithCategory, query -> query.slice(pageable))
+                .map(ProductMapper::toResponse));
+    }
+
+    @Benchmark
+    public Slice<ProductResponse> constructorProjection() {
+        return readOnly.execute(status -> productRepository.findResponses(active, pageable));
+    }
+}
@@ -0,0 +1,83 @@
+package com.namit.categorybackend.benchmark;
+
+import com.namit.categorybackend.common.response.PagedResponse;
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
+import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The public listing end to end below the controller: query, mapping and
+ * totals, against an in-memory H2 catalog. Not comparable with MySQL numbers,
+ * but good for catching regressions in the query shape or the service.
+ * Larger catalogs: -Djmh.args="-p catalogSize=1000000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductServiceBenchmark {
+
+    private static final int PAGE_SIZE = 12;
+
+    @Param({ "10000", "100000" })
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductService productService;
+
+    private ProductFilterRequest priceFilter;
+
+    private int middlePage;
+
+    @Setup
+    public void setUp() {
+        context = CatalogContext.start(catalogSize);
+
+        productService = context.getBean(ProductService.class);
+        priceFilter = ProductFilterRequest.builder()
+                .minPrice(BigDecimal.valueOf(100))
+                .maxPrice(BigDecimal.valueOf(200))
+                .sortBy("price")
+                .build();
+        middlePage = catalogSize / PAGE_SIZE / 2;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PagedResponse<ProductResponse> firstPage() {
+        return productService.getPublicProducts(0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public PagedResponse<ProductResponse> middlePage() {
+        return productService.getPublicProducts(middlePage, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public PagedResponse<ProductResponse> filteredByPrice() {
+        return productService.getPublicProducts(0, PAGE_SIZE, priceFilter);
+    }
+}
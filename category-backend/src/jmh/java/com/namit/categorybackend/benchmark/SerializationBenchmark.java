@@ -0,0 +1,58 @@
+package com.namit.categorybackend.benchmark;
+
+import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.common.response.ApiWrapper;
+import com.namit.categorybackend.common.response.PagedResponse;
+import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// JSON encoding of a product listing response, as the controllers return it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerializationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int pageSize;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private ApiWrapper<PagedResponse<ProductResponse>> response;
+
+    @Setup
+    public void setUp() {
+        Category category = BenchmarkFixtures.category(1);
+
+        List<ProductResponse> content = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> ProductMapper.toResponse(BenchmarkFixtures.product(id, category)))
+                .toList();
+
+        response = ApiWrapper.success("Products retrieved successfully",
+                new PagedResponse<>(content, 0, pageSize, 100_000, 100_000 / pageSize));
+    }
+
+    @Benchmark
+    public byte[] pagedProducts() {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,210 @@
+package com.namit.categorybackend.category.cache;
+
+import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.category.repository.CategoryRepository;
+import com.namit.categorybackend.common.response.CacheStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Read-through cache of active categories keyed by id.
+ * Bounded by ttl and size (least recently used entry goes first).
+ * Category write paths call evict() so stale entries never outlive a commit.
+ * Callers always get a detached copy, never the cached instance.
+ */
+@Component
+public class CategoryCache {
+
+    private final CategoryRepository categoryRepository;
+
+    private final long ttlNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LinkedHashMap<Long, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CategoryCache(CategoryRepository categoryRepository,
+            @Value("${app.cache.category.ttl:PT10M}") Duration ttl,
+            @Value("${app.cache.category.max-size:1000}") int maxSize) {
+        this.categoryRepository = categoryRepository;
+        this.ttlNanos = ttl.toNanos();
+
+        // access-order map gives LRU eviction once maxSize is reached
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Same contract as CategoryRepository.findByCategoryIdAndStatusTrue
+    public Optional<Category> findActive(Long id) {
+        Entry entry = get(id);
+        if (entry != null) {
+            hits.increment();
+            return Optional.of(copyOf(entry.category()));
+        }
+
+        misses.increment();
+        Optional<Category> loaded = categoryRepository.findByCategoryIdAndStatusTrue(id);
+        loaded.ifPresent(category -> put(id, copyOf(category)));
+
+        return loaded.map(CategoryCache::copyOf);
+    }
+
+    // Batch form of findActive: cached entries first, one IN query for the rest
+    public List<Category> findAllActive(Collection<Long> ids) {
+        List<Category> found = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Entry entry = get(id);
+            if (entry != null) {
+                hits.increment();
+                found.add(copyOf(entry.category()));
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            for (Category category : categoryRepository.findByCategoryIdInAndStatusTrue(missing)) {
+                put(category.getCategoryId(), copyOf(category));
+                found.add(copyOf(category));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Drops the entry now and again after commit, so a reader that
+     * reloads it before the writing transaction commits is not kept.
+     */
+    public void evict(Long id) {
+        remove(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Applies committed product counter deltas to a cached entry instead of
+     * evicting it, so product writes keep the cache warm for the next lookup.
+     * An entry loaded between the commit and this call counts the delta twice
+     * until it expires.
+     */
+    public void adjustProductCounts(Long id, long total, long active) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                Category adjusted = copyOf(entry.category());
+                adjusted.setProductCount(adjusted.getProductCount() + total);
+                adjusted.setActiveProductCount(adjusted.getActiveProductCount() + active);
+                entries.put(id, new Entry(adjusted, entry.loadedAt()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+
+        return new CacheStatsResponse(
+                size(),
+                hitCount,
+                missCount,
+                evictions.sum(),
+                requests == 0 ? 0.0 : (double) hitCount / requests);
+    }
+
+    private Entry get(Long id) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry != null && System.nanoTime() - entry.loadedAt() > ttlNanos) {
+                entries.remove(id);
+                evictions.increment();
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(Long id, Category category) {
+        lock.lock();
+        try {
+            entries.put(id, new Entry(category, System.nanoTime()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Long id) {
+        lock.lock();
+        try {
+            entries.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Category copyOf(Category category) {
+        return Category.builder()
+                .categoryId(category.getCategoryId())
+                .categoryName(category.getCategoryName())
+                .description(category.getDescription())
+                .createdAt(category.getCreatedAt())
+                .updatedAt(category.getUpdatedAt())
+                .status(category.getStatus())
+                .parentId(category.getParentId())
+                .path(category.getPath())
+                .depth(category.getDepth())
+                .productCount(category.getProductCount())
+                .activeProductCount(category.getActiveProductCount())
+                .build();
+    }
+
+    private record Entry(Category category, long loadedAt) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.namit.categorybackend.category.cache;
+
+import com.namit.categorybackend.category.repository.CategoryRepository;
+import com.namit.categorybackend.common.cache.StatusCountCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Active / inactive category totals for paged listings
+@Component
+public class CategoryCountCache extends StatusCountCache {
+
+    private final CategoryRepository categoryRepository;
+
+    public CategoryCountCache(CategoryRepository categoryRepository,
+            @Value("${app.cache.status-count-ttl:PT5M}") Duration ttl) {
+        super(ttl);
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Override
+    protected long load(boolean status) {
+        return categoryRepository.countByStatus(status);
+    }
+}
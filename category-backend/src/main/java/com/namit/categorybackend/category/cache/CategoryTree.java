@@ -0,0 +1,181 @@
+package com.namit.categorybackend.category.cache;
+
+import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.category.event.CategoryTreeChangedEvent;
+import com.namit.categorybackend.category.repository.CategoryRepository;
+import com.namit.categorybackend.common.datasource.ReadYourWrites;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Immutable in-memory snapshot of the whole category hierarchy, for menus
+ * and breadcrumbs without database calls. Rebuilt with one query after
+ * every committed category write; the refresh-interval rebuild picks up
+ * writes made on other nodes.
+ *
+ * Rebuilds run one at a time and read inside the lock, so a slower rebuild
+ * can never replace a newer snapshot with older rows.
+ */
+@Component
+public class CategoryTree {
+
+    private static final Sort BY_NAME = Sort.by("categoryName");
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public CategoryTree(CategoryRepository categoryRepository, TransactionTemplate transactionTemplate) {
+        this.categoryRepository = categoryRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Categories in alphabetical order at every level, inactive ones included
+    public List<Node> roots() {
+        return current().roots();
+    }
+
+    public Optional<Node> find(Long categoryId) {
+        return Optional.ofNullable(current().byId().get(categoryId));
+    }
+
+    // Root first, the category itself last; empty when the id is unknown
+    public List<Node> breadcrumb(Long categoryId) {
+        Map<Long, Node> byId = current().byId();
+        List<Node> trail = new ArrayList<>();
+        Node node = byId.get(categoryId);
+        while (node != null) {
+            trail.add(0, node);
+            node = node.parentId() == null ? null : byId.get(node.parentId());
+        }
+        return trail;
+    }
+
+    // Path prefixes of the given categories; ids missing from the snapshot are looked up, not skipped
+    public List<String> paths(Collection<Long> categoryIds) {
+        Map<Long, Node> byId = current().byId();
+        List<String> paths = new ArrayList<>(categoryIds.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long categoryId : categoryIds) {
+            Node node = byId.get(categoryId);
+            if (node != null && node.path() != null) {
+                paths.add(node.path());
+            } else if (node == null) {
+                missing.add(categoryId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            categoryRepository.findAllById(missing).stream()
+                    .map(Category::getPath)
+                    .filter(Objects::nonNull)
+                    .forEach(paths::add);
+        }
+        return paths;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTreeChanged(CategoryTreeChangedEvent event) {
+        rebuild();
+    }
+
+    // Rows created before the hierarchy existed get their root path once at startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Integer backfilled = transactionTemplate.execute(status -> categoryRepository.backfillRootPaths());
+        if (backfilled != null && backfilled > 0) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.categories.tree.refresh-interval:PT1M}")
+    public void refresh() {
+        if (snapshot != null) {
+            rebuild();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    private Snapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            // Right after a write the replica may not have it yet
+            List<Category> categories = ReadYourWrites.onPrimary(() -> categoryRepository.findAll(BY_NAME));
+            Snapshot built = Snapshot.of(categories);
+            snapshot = built;
+            return built;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public record Node(
+            Long categoryId,
+            String categoryName,
+            Long parentId,
+            String path,
+            int depth,
+            boolean active,
+            List<Node> children) {
+    }
+
+    private record Snapshot(List<Node> roots, Map<Long, Node> byId) {
+
+        // Categories come sorted by name, so children keep that order; orphans become roots
+        static Snapshot of(List<Category> categories) {
+            Map<Long, List<Category>> childrenOf = new HashMap<>();
+            Map<Long, Category> present = new HashMap<>();
+            categories.forEach(category -> present.put(category.getCategoryId(), category));
+
+            List<Category> rootRows = new ArrayList<>();
+            for (Category category : categories) {
+                Long parentId = category.getParentId();
+                if (parentId == null || !present.containsKey(parentId)) {
+                    rootRows.add(category);
+                } else {
+                    childrenOf.computeIfAbsent(parentId, id -> new ArrayList<>()).add(category);
+                }
+            }
+
+            Map<Long, Node> byId = new HashMap<>();
+            List<Node> roots = rootRows.stream().map(row -> build(row, childrenOf, byId)).toList();
+            return new Snapshot(roots, Map.copyOf(byId));
+        }
+
+        private static Node build(Category category, Map<Long, List<Category>> childrenOf, Map<Long, Node> byId) {
+            List<Node> children = childrenOf.getOrDefault(category.getCategoryId(), List.of()).stream()
+                    .map(child -> build(child, childrenOf, byId))
+                    .toList();
+            Node node = new Node(
+                    category.getCategoryId(),
+                    category.getCategoryName(),
+                    category.getParentId(),
+                    category.getPath(),
+                    category.getDepth(),
+                    category.getStatus(),
+                    children);
+            byId.put(node.categoryId(), node);
+            return node;
+        }
+    }
+}
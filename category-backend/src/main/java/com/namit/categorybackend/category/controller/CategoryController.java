@@ -1,21 +1,32 @@
 package com.namit.categorybackend.category.controller;
 
 import com.namit.categorybackend.category.dto.CategoryDeactivateRequest;
+import com.namit.categorybackend.category.dto.CategoryNodeResponse;
 import com.namit.categorybackend.category.dto.CategoryRequest;
 import com.namit.categorybackend.category.dto.CategoryResponse;
 import com.namit.categorybackend.category.dto.ProductCountResponse;
 import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.common.request.BatchGetRequest;
 import com.namit.categorybackend.common.response.ApiWrapper;
+import com.namit.categorybackend.common.response.BatchGetResponse;
+import com.namit.categorybackend.common.response.CacheStatsResponse;
+import com.namit.categorybackend.common.response.ConditionalResponses;
+import com.namit.categorybackend.common.response.CursorResponse;
 import com.namit.categorybackend.common.response.PagedResponse;
+import com.namit.categorybackend.common.response.SliceResponse;
+import com.namit.categorybackend.job.dto.JobResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/categories")
 @RequiredArgsConstructor
@@ -47,14 +58,72 @@ public class CategoryController {
                         @ApiResponse(responseCode = "200", description = "Categories retrieved")
         })
         @GetMapping
-        public ResponseEntity<ApiWrapper<PagedResponse<CategoryResponse>>> getAllCategories(
+        public ResponseEntity<ApiWrapper<?>> getAllCategories(
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
-                        @RequestParam(defaultValue = "active") String status) {
+                        @RequestParam(defaultValue = "active") String status,
+                        @RequestParam(defaultValue = "true") boolean withTotal) {
+
+                // withTotal=false skips totals entirely and only reports hasNext
+                if (!withTotal) {
+                        SliceResponse<CategoryResponse> slice = categoryService.getCategoriesSlice(page, size, status);
+
+                        return ConditionalResponses.ok(
+                                        ApiWrapper.success("Categories retrieved successfully", slice),
+                                        pageETag(slice.content(), slice.page(), slice.hasNext()));
+                }
+
                 PagedResponse<CategoryResponse> categories = categoryService.getAllCategories(page, size, status);
 
+                return ConditionalResponses.ok(
+                                ApiWrapper.success("Categories retrieved successfully", categories),
+                                pageETag(categories.content(), categories.page(), categories.totalElements()));
+        }
+
+        // Retrieves categories page by page using an opaque keyset cursor.
+        @Operation(summary = "Retrieve categories using cursor pagination")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Categories retrieved"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/cursor")
+        public ResponseEntity<ApiWrapper<CursorResponse<CategoryResponse>>> getCategoriesByCursor(
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "10") int size,
+                        @RequestParam(defaultValue = "active") String status) {
+                CursorResponse<CategoryResponse> categories = categoryService.getCategoriesByCursor(cursor, size, status);
+
+                return ConditionalResponses.ok(
+                                ApiWrapper.success("Categories retrieved successfully", categories),
+                                pageETag(categories.content(), categories.nextCursor()));
+        }
+
+        // Active categories as a nested menu, served from the in-memory tree.
+        @Operation(summary = "Retrieve the active category tree for navigation menus")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Category tree retrieved")
+        })
+        @GetMapping("/tree")
+        public ResponseEntity<ApiWrapper<List<CategoryNodeResponse>>> getCategoryTree() {
+
+                return ResponseEntity.ok(
+                                ApiWrapper.success("Category tree retrieved successfully",
+                                                categoryService.getCategoryTree()));
+        }
+
+        // Root-to-category trail, served from the in-memory tree.
+        @Operation(summary = "Retrieve the breadcrumb of a category, root first")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Breadcrumb retrieved"),
+                        @ApiResponse(responseCode = "404", description = "Category not found")
+        })
+        @GetMapping("/{id}/breadcrumb")
+        public ResponseEntity<ApiWrapper<List<CategoryNodeResponse>>> getBreadcrumb(
+                        @PathVariable Long id) {
+
                 return ResponseEntity.ok(
-                                ApiWrapper.success("Categories retrieved successfully", categories));
+                                ApiWrapper.success("Breadcrumb retrieved successfully",
+                                                categoryService.getBreadcrumb(id)));
         }
 
         // Retrieves single active category by its id.
@@ -68,8 +137,25 @@ public class CategoryController {
                         @PathVariable Long id) {
                 CategoryResponse response = categoryService.getCategoryById(id);
 
-                return ResponseEntity.ok(
-                                ApiWrapper.success("Category retrieved successfully", response));
+                // ETag only: the product counters move without touching updatedAt
+                return ConditionalResponses.ok(
+                                ApiWrapper.success("Category retrieved successfully", response),
+                                ConditionalResponses.strongETag(response.getCategoryId(), version(response)));
+        }
+
+        // Retrieves many active categories by id in one call.
+        @Operation(summary = "Retrieve active categories by their ids, in request order")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Categories found, plus the ids that were not"),
+                        @ApiResponse(responseCode = "400", description = "No ids, a null id or more than 5000 ids")
+        })
+        @PostMapping("/batch-get")
+        public ResponseEntity<ApiWrapper<BatchGetResponse<CategoryResponse>>> getCategoriesByIds(
+                        @Valid @RequestBody BatchGetRequest request) {
+
+                BatchGetResponse<CategoryResponse> categories = categoryService.getCategoriesByIds(request.getIds());
+
+                return ResponseEntity.ok(ApiWrapper.success("Categories retrieved successfully", categories));
         }
 
         // Updates an existing category.
@@ -91,38 +177,72 @@ public class CategoryController {
                                 ApiWrapper.success("Category updated successfully", response));
         }
 
+        // Moves a category with all its subcategories; without parentId it becomes top-level
+        @Operation(summary = "Move category under another parent")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Category moved"),
+                        @ApiResponse(responseCode = "400", description = "Parent inside the branch, or too many levels"),
+                        @ApiResponse(responseCode = "404", description = "Category or parent not found")
+        })
+        @PatchMapping("/{id}/move")
+        public ResponseEntity<ApiWrapper<CategoryResponse>> moveCategory(
+                        @PathVariable Long id,
+                        @RequestParam(required = false) Long parentId) {
+
+                CategoryResponse response = categoryService.moveCategory(id, parentId);
+
+                return ResponseEntity.ok(
+                                ApiWrapper.success("Category moved successfully", response));
+        }
+
         @Operation(summary = "Soft delete category with product reassignment")
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Category deleted"),
+                        @ApiResponse(responseCode = "202", description = "Deactivation job accepted (async=true)"),
                         @ApiResponse(responseCode = "404", description = "Category not found")
         })
         @DeleteMapping("/{id}")
-        public ResponseEntity<ApiWrapper<Object>> deleteCategory(
+        public ResponseEntity<ApiWrapper<?>> deleteCategory(
                         @PathVariable Long id,
+                        @RequestParam(defaultValue = "false") boolean async,
                         @RequestBody(required = false) CategoryDeactivateRequest request) {
 
                 Long reassignId = (request != null) ? request.getReassignCategoryId() : null;
-                categoryService.deleteCategory(id, reassignId);
+
+                if (async) {
+                        return acceptDeactivationJob(id, reassignId);
+                }
+
+                CategoryResponse response = categoryService.deleteCategory(id, reassignId);
 
                 return ResponseEntity.ok(
-                                ApiWrapper.success("Category deleted successfully", null));
+                                ApiWrapper.success("Category deleted successfully" + reassignedSuffix(response),
+                                                response));
         }
 
         @Operation(summary = "Toggle category status with product reassignment")
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Category status toggled"),
+                        @ApiResponse(responseCode = "202", description = "Deactivation job accepted (async=true)"),
                         @ApiResponse(responseCode = "404", description = "Category not found")
         })
         @PatchMapping("/{id}/toggle")
-        public ResponseEntity<ApiWrapper<CategoryResponse>> toggleCategoryStatus(
+        public ResponseEntity<ApiWrapper<?>> toggleCategoryStatus(
                         @PathVariable Long id,
+                        @RequestParam(defaultValue = "false") boolean async,
                         @RequestBody(required = false) CategoryDeactivateRequest request) {
 
                 Long reassignId = (request != null) ? request.getReassignCategoryId() : null;
+
+                // async only applies to deactivation, the only direction that moves products
+                if (async) {
+                        return acceptDeactivationJob(id, reassignId);
+                }
                 CategoryResponse response = categoryService.toggleCategoryStatus(id, reassignId);
 
                 return ResponseEntity.ok(
-                                ApiWrapper.success("Category status toggled successfully", response));
+                                ApiWrapper.success("Category status toggled successfully" + reassignedSuffix(response),
+                                                response));
         }
 
         @Operation(summary = "Get product count for a category")
@@ -141,4 +261,41 @@ public class CategoryController {
                 return ResponseEntity.ok(
                                 ApiWrapper.success("Product count retrieved successfully", response));
         }
+
+        @Operation(summary = "Get active category cache statistics")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Cache statistics retrieved")
+        })
+        @GetMapping("/cache-stats")
+        public ResponseEntity<ApiWrapper<CacheStatsResponse>> getCacheStats() {
+
+                return ResponseEntity.ok(
+                                ApiWrapper.success("Cache statistics retrieved successfully",
+                                                categoryService.getCacheStats()));
+        }
+
+        // Starts a background deactivation; progress is polled on /api/v1/jobs/{jobId}
+        private ResponseEntity<ApiWrapper<?>> acceptDeactivationJob(Long id, Long reassignId) {
+                JobResponse job = categoryService.deactivateCategoryAsync(id, reassignId);
+
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                                .header(HttpHeaders.LOCATION, "/api/v1/jobs/" + job.getJobId())
+                                .body(ApiWrapper.success("Category deactivation job accepted", job));
+        }
+
+        // Appends the moved product count to deactivation messages
+        private String reassignedSuffix(CategoryResponse response) {
+                Long count = response.getReassignedProductCount();
+                return (count == null || count == 0) ? "" : " (" + count + " products reassigned)";
+        }
+
+        // What a category response shows that can change; product counters move without touching updatedAt
+        private static Object[] version(CategoryResponse category) {
+                return new Object[] { category.getCategoryId(), category.getUpdatedAt(), category.getStatus(),
+                                category.getProductCount(), category.getActiveProductCount() };
+        }
+
+        private static String pageETag(List<CategoryResponse> categories, Object... pageVersion) {
+                return ConditionalResponses.weakETag(categories, CategoryController::version, pageVersion);
+        }
 }
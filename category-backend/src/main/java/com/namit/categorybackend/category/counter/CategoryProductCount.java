@@ -0,0 +1,5 @@
+package com.namit.categorybackend.category.counter;
+
+// Products of one category, all and active only (grouped counts or stored counters)
+public record CategoryProductCount(Long categoryId, Long total, Long active) {
+}
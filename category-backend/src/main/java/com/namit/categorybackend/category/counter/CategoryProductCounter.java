@@ -0,0 +1,126 @@
+package com.namit.categorybackend.category.counter;
+
+import com.namit.categorybackend.category.cache.CategoryCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Keeps categories.product_count and active_product_count in step with
+ * product writes. Deltas are summed per category for the whole transaction
+ * and written with one JDBC batch just before commit, so a bulk import into
+ * one category is one UPDATE, and the category row lock is only held from
+ * that UPDATE to the commit instead of for the whole transaction.
+ * Categories are updated in id order, so two transactions touching the
+ * same categories cannot deadlock on them.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryProductCounter {
+
+    private static final String ADJUST_SQL = "UPDATE categories SET product_count = product_count + ?,"
+            + " active_product_count = active_product_count + ? WHERE category_id = ?";
+
+    private static final String RECOUNT_SQL = "UPDATE categories SET"
+            + " product_count = (SELECT COUNT(*) FROM products p WHERE p.category_id = ?),"
+            + " active_product_count = (SELECT COUNT(*) FROM products p WHERE p.category_id = ? AND p.status = TRUE)"
+            + " WHERE category_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryCache categoryCache;
+
+    public void created(Long categoryId, long count, boolean active) {
+        adjust(categoryId, count, active ? count : 0);
+    }
+
+    public void toggled(Long categoryId, boolean nowActive) {
+        adjust(categoryId, 0, nowActive ? 1 : -1);
+    }
+
+    public void moved(Long fromCategoryId, Long toCategoryId, boolean active) {
+        if (!fromCategoryId.equals(toCategoryId)) {
+            adjust(fromCategoryId, -1, active ? -1 : 0);
+            adjust(toCategoryId, 1, active ? 1 : 0);
+        }
+    }
+
+    // Bulk reassignment: the grouped counts of the moved products, read before the UPDATE
+    public void movedAll(Collection<CategoryProductCount> moved, Long toCategoryId) {
+        for (CategoryProductCount from : moved) {
+            if (!from.categoryId().equals(toCategoryId)) {
+                adjust(from.categoryId(), -from.total(), -from.active());
+                adjust(toCategoryId, from.total(), from.active());
+            }
+        }
+    }
+
+    // Recomputes one category's counters in a single statement
+    public void recount(Long categoryId) {
+        jdbcTemplate.update(RECOUNT_SQL, categoryId, categoryId, categoryId);
+        categoryCache.evict(categoryId);
+    }
+
+    private void adjust(Long categoryId, long total, long active) {
+        if (total == 0 && active == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(Map.of(categoryId, new long[] { total, active }));
+            categoryCache.evict(categoryId);
+            return;
+        }
+
+        Deltas deltas = (Deltas) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            deltas = new Deltas();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(deltas);
+        }
+        long[] delta = deltas.byCategory.computeIfAbsent(categoryId, id -> new long[2]);
+        delta[0] += total;
+        delta[1] += active;
+    }
+
+    private void write(Map<Long, long[]> byCategory) {
+        List<Map.Entry<Long, long[]>> rows = new ArrayList<>(byCategory.entrySet());
+        rows.removeIf(row -> row.getValue()[0] == 0 && row.getValue()[1] == 0);
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADJUST_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.getValue()[0]);
+            ps.setLong(2, row.getValue()[1]);
+            ps.setLong(3, row.getKey());
+        });
+    }
+
+    private final class Deltas implements TransactionSynchronization {
+
+        // Sorted by category id: the lock order of the batch
+        private final Map<Long, long[]> byCategory = new TreeMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(byCategory);
+        }
+
+        @Override
+        public void afterCommit() {
+            byCategory.forEach((categoryId, delta) ->
+                    categoryCache.adjustProductCounts(categoryId, delta[0], delta[1]));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CategoryProductCounter.this);
+        }
+    }
+}
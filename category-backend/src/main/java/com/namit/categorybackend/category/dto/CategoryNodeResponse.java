@@ -0,0 +1,27 @@
+package com.namit.categorybackend.category.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryNodeResponse {
+
+    private Long categoryId;
+
+    private String categoryName;
+
+    private Long parentId;
+
+    private Integer depth;
+
+    // Only set in the tree; breadcrumbs leave it out
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CategoryNodeResponse> children;
+
+}
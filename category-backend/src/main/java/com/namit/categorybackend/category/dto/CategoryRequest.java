@@ -21,4 +21,7 @@ public class CategoryRequest {
     @NotBlank(message = "Description is required")
     private String description;
 
+    // Optional, create only: null makes it a top-level category. Updates ignore it; use the move endpoint.
+    private Long parentId;
+
 }
@@ -1,5 +1,6 @@
 package com.namit.categorybackend.category.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.time.Instant;
@@ -23,5 +24,17 @@ public class CategoryResponse {
 
     private Boolean status;
 
+    private Long parentId;
+
+    private Integer depth;
+
+    // Maintained counters, no COUNT query behind them
+    private Long productCount;
+
+    private Long activeProductCount;
+
+    // Only set on deactivation: number of products moved to the target category
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long reassignedProductCount;
 
 }
@@ -3,6 +3,7 @@ package com.namit.categorybackend.category.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -10,7 +11,14 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.Instant;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        // Backs keyset listings: ORDER BY created_at DESC, category_id DESC
+        @Index(name = "idx_categories_created_at_id", columnList = "created_at, category_id"),
+        @Index(name = "idx_categories_status_created_at_id", columnList = "status, created_at, category_id"),
+        // Subtree lookups are path prefix ranges: path LIKE '/3/17/%'
+        @Index(name = "idx_categories_path", columnList = "path"),
+        @Index(name = "idx_categories_parent_id", columnList = "parent_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -42,4 +50,37 @@ public class Category {
     @Column(name = "status" , nullable = false)
     private Boolean status = true;
 
+    // Null for a top-level category
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    /*
+     * Materialized path: the ids from the root down to this category, e.g.
+     * "/3/17/42/". Set right after the insert, once the id is known.
+     */
+    @Column(name = "path", length = 255)
+    private String path;
+
+    // 0 for a top-level category
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "depth", nullable = false)
+    private Integer depth = 0;
+
+    /*
+     * Products assigned to this category, all and active only. Written by
+     * CategoryProductCounter alone (never by entity flushes, which could put
+     * back a value read before a concurrent delta); CategoryCountReconciler
+     * repairs drift.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "product_count", nullable = false, insertable = false, updatable = false)
+    private Long productCount = 0L;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "active_product_count", nullable = false, insertable = false, updatable = false)
+    private Long activeProductCount = 0L;
+
 }
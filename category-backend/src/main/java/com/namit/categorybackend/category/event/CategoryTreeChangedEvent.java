@@ -0,0 +1,8 @@
+package com.namit.categorybackend.category.event;
+
+/*
+ * Published by category write paths (create, rename, move, status changes).
+ * CategoryTree rebuilds its snapshot after the transaction commits.
+ */
+public record CategoryTreeChangedEvent() {
+}
@@ -1,5 +1,7 @@
 package com.namit.categorybackend.category.mapper;
 
+import com.namit.categorybackend.category.cache.CategoryTree;
+import com.namit.categorybackend.category.dto.CategoryNodeResponse;
 import com.namit.categorybackend.category.dto.CategoryRequest;
 import com.namit.categorybackend.category.dto.CategoryResponse;
 import com.namit.categorybackend.category.entity.Category;
@@ -23,7 +25,35 @@ public class CategoryMapper {
                 .createdAt(category.getCreatedAt())
                 .updatedAt(category.getUpdatedAt())
                 .status(category.getStatus())
+                .parentId(category.getParentId())
+                .depth(category.getDepth())
+                .productCount(category.getProductCount())
+                .activeProductCount(category.getActiveProductCount())
                 .build();
 
     }
+
+    // Menu form: active descendants only, an inactive category hides its subtree
+    public static CategoryNodeResponse toMenuNode(CategoryTree.Node node) {
+        return CategoryNodeResponse.builder()
+                .categoryId(node.categoryId())
+                .categoryName(node.categoryName())
+                .parentId(node.parentId())
+                .depth(node.depth())
+                .children(node.children().stream()
+                        .filter(CategoryTree.Node::active)
+                        .map(CategoryMapper::toMenuNode)
+                        .toList())
+                .build();
+    }
+
+    // Breadcrumb form, without children
+    public static CategoryNodeResponse toCrumb(CategoryTree.Node node) {
+        return CategoryNodeResponse.builder()
+                .categoryId(node.categoryId())
+                .categoryName(node.categoryName())
+                .parentId(node.parentId())
+                .depth(node.depth())
+                .build();
+    }
 }
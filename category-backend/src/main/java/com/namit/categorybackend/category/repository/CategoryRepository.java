@@ -1,13 +1,22 @@
 package com.namit.categorybackend.category.repository;
 
+import com.namit.categorybackend.category.counter.CategoryProductCount;
 import com.namit.categorybackend.category.entity.Category;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -24,7 +33,58 @@ public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSp
 
     Optional<Category> findByCategoryIdAndStatusTrue(Long id);
 
+    boolean existsByCategoryIdAndStatusTrue(Long id);
+
+    // Active category under a shared row lock, so it cannot be deactivated until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select c from Category c where c.categoryId = :id and c.status = true")
+    Optional<Category> findActiveForShare(@Param("id") Long id);
+
+    // For batch lookups of active categories by id
+    List<Category> findByCategoryIdInAndStatusTrue(Collection<Long> ids);
+
     // For Uncategorized category lookup by name
     Optional<Category> findByCategoryName(String categoryName);
 
+    // For bulk product import — category ids products may be assigned to
+    @Query("select c.categoryId from Category c where c.status = true")
+    List<Long> findActiveCategoryIds();
+
+    // For the per-status total cache behind paged listings
+    long countByStatus(Boolean status);
+
+    // Stored product counters of every category, for drift detection
+    @Query("select new com.namit.categorybackend.category.counter.CategoryProductCount("
+            + "c.categoryId, c.productCount, c.activeProductCount) from Category c")
+    List<CategoryProductCount> findProductCounts();
+
+    // Subtree queries take a path prefix pattern such as '/3/17/%' and range scan idx_categories_path
+
+    @Query("select c.categoryId from Category c where c.path like :pathPattern and c.status = true")
+    List<Long> findActiveIdsInTree(@Param("pathPattern") String pathPattern);
+
+    @Query("select coalesce(max(c.depth), 0) from Category c where c.path like :pathPattern")
+    int findMaxDepthInTree(@Param("pathPattern") String pathPattern);
+
+    // Deactivates a whole subtree in one UPDATE; auditing does not run for bulk updates
+    @Modifying(flushAutomatically = true)
+    @Query("update Category c set c.status = false, c.updatedAt = :updatedAt "
+            + "where c.path like :pathPattern and c.status = true")
+    int deactivateTree(@Param("pathPattern") String pathPattern, @Param("updatedAt") Instant updatedAt);
+
+    // Re-roots a subtree: swaps the old path prefix for the new one and shifts every depth
+    @Modifying(flushAutomatically = true)
+    @Query("update Category c set c.path = concat(:newPath, substring(c.path, :oldPathLength + 1)), "
+            + "c.depth = c.depth + :depthDelta, c.updatedAt = :updatedAt where c.path like :pathPattern")
+    int moveTree(@Param("pathPattern") String pathPattern,
+            @Param("oldPathLength") int oldPathLength,
+            @Param("newPath") String newPath,
+            @Param("depthDelta") int depthDelta,
+            @Param("updatedAt") Instant updatedAt);
+
+    // Rows from before the hierarchy existed become top-level categories
+    @Modifying
+    @Query("update Category c set c.path = concat('/', cast(c.categoryId as string), '/'), c.depth = 0 "
+            + "where c.path is null")
+    int backfillRootPaths();
 }
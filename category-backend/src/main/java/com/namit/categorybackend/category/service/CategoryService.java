@@ -1,10 +1,18 @@
 package com.namit.categorybackend.category.service;
 
+import com.namit.categorybackend.category.dto.CategoryNodeResponse;
 import com.namit.categorybackend.category.dto.CategoryRequest;
 import com.namit.categorybackend.category.dto.CategoryResponse;
+import com.namit.categorybackend.common.response.BatchGetResponse;
+import com.namit.categorybackend.common.response.CacheStatsResponse;
+import com.namit.categorybackend.common.response.CursorResponse;
 import com.namit.categorybackend.common.response.PagedResponse;
+import com.namit.categorybackend.common.response.SliceResponse;
+import com.namit.categorybackend.job.dto.JobResponse;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 public interface CategoryService {
 
     // Creates a new category after validating uniqueness
@@ -13,19 +21,43 @@ public interface CategoryService {
     // Gets all categories
     PagedResponse<CategoryResponse> getAllCategories(int page, int size, String status);
 
+    // Gets categories without totals (hasNext only)
+    SliceResponse<CategoryResponse> getCategoriesSlice(int page, int size, String status);
+
+    // Gets categories using keyset pagination (cursor from previous page, null for first page)
+    CursorResponse<CategoryResponse> getCategoriesByCursor(String cursor, int size, String status);
+
     // Retrieves an active category by its ID.
     CategoryResponse getCategoryById(Long id);
 
-    // Updates the category
+    // Retrieves active categories by id in request order, reporting ids not found
+    BatchGetResponse<CategoryResponse> getCategoriesByIds(List<Long> ids);
+
+    // Updates the category's name and description; the parent stays as it is
     CategoryResponse updateCategory(Long id, CategoryRequest request);
 
+    // Moves the category and its whole branch under parentId (null: top level)
+    CategoryResponse moveCategory(Long id, Long parentId);
+
     // Performs soft delete by marking category as inactive, reassigning products
-    void deleteCategory(Long id, Long reassignCategoryId);
+    CategoryResponse deleteCategory(Long id, Long reassignCategoryId);
 
     // Toggles the category status (Active <-> Inactive), reassigning products on
     // deactivation
     CategoryResponse toggleCategoryStatus(Long id, Long reassignCategoryId);
 
+    // Deactivates a category in the background, moving products in committed chunks
+    JobResponse deactivateCategoryAsync(Long id, Long reassignCategoryId);
+
+    // Active categories nested under their parents, from the in-memory tree
+    List<CategoryNodeResponse> getCategoryTree();
+
+    // Categories from the root down to the given one, from the in-memory tree
+    List<CategoryNodeResponse> getBreadcrumb(Long id);
+
     // Returns count of products in a category
     long getProductCount(Long categoryId);
+
+    // Hit / miss counters of the active category cache
+    CacheStatsResponse getCacheStats();
 }
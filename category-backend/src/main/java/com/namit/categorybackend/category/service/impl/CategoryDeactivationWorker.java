@@ -0,0 +1,123 @@
+package com.namit.categorybackend.category.service.impl;
+
+import com.namit.categorybackend.category.cache.CategoryCache;
+import com.namit.categorybackend.category.counter.CategoryProductCounter;
+import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.category.repository.CategoryRepository;
+import com.namit.categorybackend.change.service.ChangeOutbox;
+import com.namit.categorybackend.job.service.JobService;
+import com.namit.categorybackend.product.event.CatalogChangedEvent;
+import com.namit.categorybackend.product.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * Background half of async category deactivation.
+ * Products of the category and its subcategories are moved in chunks, each
+ * chunk in its own short transaction, so no lock or request thread is held
+ * for the whole reassignment. The branch stays active until the last chunk is moved.
+ */
+@Component
+public class CategoryDeactivationWorker {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategorySubtrees categorySubtrees;
+    private final CategoryCache categoryCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeOutbox changeOutbox;
+    private final CategoryProductCounter categoryProductCounter;
+    private final JobService jobService;
+    private final int chunkSize;
+
+    public CategoryDeactivationWorker(ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            CategorySubtrees categorySubtrees,
+            CategoryCache categoryCache,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            ChangeOutbox changeOutbox,
+            CategoryProductCounter categoryProductCounter,
+            JobService jobService,
+            @Value("${app.jobs.reassign-chunk-size:1000}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.categorySubtrees = categorySubtrees;
+        this.categoryCache = categoryCache;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.changeOutbox = changeOutbox;
+        this.categoryProductCounter = categoryProductCounter;
+        this.jobService = jobService;
+        this.chunkSize = chunkSize;
+    }
+
+    @Async("jobExecutor")
+    public void deactivate(String jobId, Category category, Category targetCategory) {
+        Long categoryId = category.getCategoryId();
+        String pathPattern = CategorySubtrees.pattern(category);
+        try {
+            jobService.start(jobId);
+            int moved;
+            do {
+                moved = transactionTemplate.execute(status -> moveChunk(jobId, categoryId, pathPattern, targetCategory));
+            } while (moved > 0);
+
+            transactionTemplate.executeWithoutResult(status -> finish(jobId, categoryId, targetCategory));
+        } catch (RuntimeException ex) {
+            jobService.fail(jobId, ex.getMessage());
+        }
+    }
+
+    // Progress is written in the chunk's transaction, so it always matches the committed moves
+    private int moveChunk(String jobId, Long categoryId, String pathPattern, Category targetCategory) {
+        requireActiveTarget(targetCategory);
+        List<Long> productIds = productRepository.findIdsInCategoryTree(pathPattern, PageRequest.of(0, chunkSize));
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        // Each committed chunk is visible on the change feed, not only the finished job
+        changeOutbox.recordReassignment(categoryId, targetCategory.getCategoryId());
+        categoryProductCounter.movedAll(productRepository.countGroupedByCategory(productIds),
+                targetCategory.getCategoryId());
+        int moved = productRepository.reassignCategoryTree(productIds, pathPattern, targetCategory, Instant.now());
+        jobService.progress(jobId, moved);
+        return moved;
+    }
+
+    /**
+     * Sweeps products created while the job ran, then deactivates the branch.
+     * Re-reads the category so a branch moved meanwhile is swept at its new path.
+     */
+    private void finish(String jobId, Long categoryId, Category targetCategory) {
+        requireActiveTarget(targetCategory);
+
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new IllegalStateException("Category with ID '" + categoryId + "' no longer exists."));
+
+        jobService.progress(jobId, categorySubtrees.reassignProducts(category, targetCategory));
+        categorySubtrees.deactivate(category);
+        categoryCache.evict(categoryId);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        jobService.complete(jobId);
+    }
+
+    /**
+     * Fails the job instead of moving products into a target deactivated since
+     * the job started. The shared lock keeps the target active until the chunk commits.
+     */
+    private void requireActiveTarget(Category targetCategory) {
+        categoryRepository.findActiveForShare(targetCategory.getCategoryId())
+                .orElseThrow(() -> new IllegalStateException(
+                        "Target category with ID '" + targetCategory.getCategoryId() + "' is no longer active."));
+    }
+}
@@ -1,38 +1,81 @@
 package com.namit.categorybackend.category.service.impl;
 
+import com.namit.categorybackend.category.cache.CategoryCache;
+import com.namit.categorybackend.category.cache.CategoryCountCache;
+import com.namit.categorybackend.category.cache.CategoryTree;
+import com.namit.categorybackend.category.dto.CategoryNodeResponse;
 import com.namit.categorybackend.category.dto.CategoryRequest;
 import com.namit.categorybackend.category.dto.CategoryResponse;
 import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.category.event.CategoryTreeChangedEvent;
 import com.namit.categorybackend.category.mapper.CategoryMapper;
 import com.namit.categorybackend.category.repository.CategoryRepository;
 import com.namit.categorybackend.category.service.CategoryService;
 import com.namit.categorybackend.category.specification.CategorySpecification;
+import com.namit.categorybackend.change.entity.ChangeEntityType;
+import com.namit.categorybackend.change.entity.ChangeType;
+import com.namit.categorybackend.change.service.ChangeOutbox;
 import com.namit.categorybackend.common.exception.ResourceAlreadyExistsException;
 import com.namit.categorybackend.common.exception.ResourceNotFoundException;
+import com.namit.categorybackend.common.pagination.Cursor;
+import com.namit.categorybackend.common.response.BatchGetResponse;
+import com.namit.categorybackend.common.response.CacheStatsResponse;
+import com.namit.categorybackend.common.response.CursorResponse;
 import com.namit.categorybackend.common.response.PagedResponse;
-import com.namit.categorybackend.product.entity.Product;
+import com.namit.categorybackend.common.response.SliceResponse;
+import com.namit.categorybackend.common.util.BatchLookup;
+import com.namit.categorybackend.job.dto.JobResponse;
+import com.namit.categorybackend.job.entity.Job;
+import com.namit.categorybackend.job.mapper.JobMapper;
+import com.namit.categorybackend.job.service.JobService;
+import com.namit.categorybackend.product.event.CatalogChangedEvent;
 import com.namit.categorybackend.product.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 
 @Service
+@Timed("catalog.service")
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
+    private final CategoryCountCache categoryCountCache;
+    private final CategoryCache categoryCache;
+    private final CategoryDeactivationWorker deactivationWorker;
+    private final JobService jobService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeOutbox changeOutbox;
+    private final CategoryTree categoryTree;
+    private final CategorySubtrees categorySubtrees;
 
     private static final String UNCATEGORIZED_NAME = "Uncategorized";
 
+    // Levels a branch may have, root included; bounds the materialized path length
+    private static final int MAX_LEVELS = 8;
+
+    private static final String DEACTIVATION_JOB = "category-deactivation";
+
+    // Keyset order; categoryId breaks ties between rows created in the same instant
+    private static final Sort KEYSET_SORT = Sort.by(
+            Sort.Order.desc("createdAt"),
+            Sort.Order.desc("categoryId"));
+
     @Override
+    @Transactional
     public CategoryResponse createCategory(CategoryRequest request) {
 
         if (categoryRepository.existsByCategoryName((request.getCategoryName()))) {
@@ -40,9 +83,19 @@ public class CategoryServiceImpl implements CategoryService {
                     "Category with name ' " + request.getCategoryName() + " ' already exists");
         }
 
+        Category parent = resolveParent(request.getParentId());
+        if (parent != null) {
+            checkLevels(parent.getDepth() + 1);
+        }
+
         Category category = CategoryMapper.toEntity(request);
 
         Category savedCategory = categoryRepository.save(category);
+        placeUnder(savedCategory, parent);
+        categoryCountCache.adjust(savedCategory.getStatus(), 1);
+        categoryCache.evict(savedCategory.getCategoryId());
+        changeOutbox.record(ChangeEntityType.CATEGORY, savedCategory.getCategoryId(), ChangeType.CREATED);
+        eventPublisher.publishEvent(new CategoryTreeChangedEvent());
 
         return CategoryMapper.toResponse(savedCategory);
     }
@@ -50,41 +103,80 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     public PagedResponse<CategoryResponse> getAllCategories(int page, int size, String status) {
 
-        Pageable pageable = PageRequest.of(
-                page,
-                size,
-                Sort.by("createdAt").descending());
+        Boolean statusValue = resolveStatus(status);
 
-        Boolean statusValue = switch (status.toLowerCase()) {
-            case "inactive" -> false;
-            case "all" -> null;
-            default -> true;
-        };
+        Slice<CategoryResponse> slice = findSlice(statusValue, page, size);
+
+        // Totals come from the count cache instead of a COUNT per request
+        long totalElements = categoryCountCache.count(statusValue);
+        int totalPages = (int) ((totalElements + slice.getSize() - 1) / slice.getSize());
+
+        return new PagedResponse<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                totalElements,
+                totalPages);
+    }
+
+    @Override
+    public SliceResponse<CategoryResponse> getCategoriesSlice(int page, int size, String status) {
 
-        Specification<Category> spec = Specification.where(CategorySpecification.hasStatus(statusValue));
+        Slice<CategoryResponse> slice = findSlice(resolveStatus(status), page, size);
 
-        Page<Category> categoryPage = categoryRepository.findAll(spec, pageable);
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
 
-        Page<CategoryResponse> mappedPage = categoryPage.map(CategoryMapper::toResponse);
+    @Override
+    public CursorResponse<CategoryResponse> getCategoriesByCursor(String cursor, int size, String status) {
 
-        return new PagedResponse<>(
-                mappedPage.getContent(),
-                mappedPage.getNumber(),
-                mappedPage.getSize(),
-                mappedPage.getTotalElements(),
-                mappedPage.getTotalPages());
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+
+        Specification<Category> spec = Specification.where(CategorySpecification.hasStatus(resolveStatus(status)))
+                .and(CategorySpecification.after(Cursor.decode(cursor)));
+
+        // One extra row tells us whether a next page exists without a COUNT query
+        List<Category> rows = categoryRepository.findBy(spec, query -> query
+                .sortBy(KEYSET_SORT)
+                .limit(size + 1)
+                .all());
+
+        boolean hasNext = rows.size() > size;
+        List<Category> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Category last = content.get(content.size() - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getCategoryId()).encode();
+        }
+
+        return new CursorResponse<>(
+                content.stream().map(CategoryMapper::toResponse).toList(),
+                size,
+                nextCursor,
+                hasNext);
     }
 
     @Override
     public CategoryResponse getCategoryById(Long id) {
 
-        Category category = categoryRepository
-                .findByCategoryIdAndStatusTrue(id)
+        Category category = categoryCache
+                .findActive(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id " + id));
 
         return CategoryMapper.toResponse(category);
     }
 
+    @Override
+    public BatchGetResponse<CategoryResponse> getCategoriesByIds(List<Long> ids) {
+
+        return BatchLookup.byIds(ids,
+                chunk -> categoryCache.findAllActive(chunk).stream().map(CategoryMapper::toResponse).toList(),
+                CategoryResponse::getCategoryId);
+    }
+
     @Override
     @Transactional
     public CategoryResponse updateCategory(Long id, CategoryRequest request) {
@@ -101,18 +193,41 @@ public class CategoryServiceImpl implements CategoryService {
                     "Category with name '" + request.getCategoryName() + "'  already exists");
         }
 
-        // Update only name and description
+        // Update name and description; the parent only changes through moveCategory
         category.setCategoryName(request.getCategoryName());
         category.setDescription(request.getDescription());
 
+        return saveUpdated(category);
+    }
+
+    @Override
+    @Transactional
+    public CategoryResponse moveCategory(Long id, Long parentId) {
+
+        Category category = categoryRepository.findByCategoryIdAndStatusTrue(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id " + id));
+
+        if (Objects.equals(category.getParentId(), parentId)) {
+            return CategoryMapper.toResponse(category);
+        }
+        move(category, parentId);
+
+        return saveUpdated(category);
+    }
+
+    private CategoryResponse saveUpdated(Category category) {
         Category updatedCategory = categoryRepository.save(category);
+        categoryCache.evict(updatedCategory.getCategoryId());
+        changeOutbox.record(ChangeEntityType.CATEGORY, updatedCategory.getCategoryId(), ChangeType.UPDATED);
+        eventPublisher.publishEvent(new CategoryTreeChangedEvent());
+        eventPublisher.publishEvent(new CatalogChangedEvent());
 
         return CategoryMapper.toResponse(updatedCategory);
     }
 
     @Override
     @Transactional
-    public void deleteCategory(Long id, Long reassignCategoryId) {
+    public CategoryResponse deleteCategory(Long id, Long reassignCategoryId) {
         Category category = categoryRepository.findByCategoryIdAndStatusTrue(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id " + id));
 
@@ -120,12 +235,18 @@ public class CategoryServiceImpl implements CategoryService {
         if (UNCATEGORIZED_NAME.equalsIgnoreCase(category.getCategoryName())) {
             throw new IllegalStateException("The 'Uncategorized' category cannot be deleted.");
         }
+        checkUncategorizedOutside(category);
+
+        // Reassign products of the whole branch before deactivating it
+        long reassigned = reassignProducts(category, reassignCategoryId);
 
-        // Reassign products before deactivating
-        reassignProducts(id, reassignCategoryId);
+        categorySubtrees.deactivate(category);
+        Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
 
-        category.setStatus(false);
-        categoryRepository.save(category);
+        CategoryResponse response = CategoryMapper.toResponse(savedCategory);
+        response.setReassignedProductCount(reassigned);
+        return response;
     }
 
     @Override
@@ -139,24 +260,125 @@ public class CategoryServiceImpl implements CategoryService {
             throw new IllegalStateException("The 'Uncategorized' category cannot be deactivated.");
         }
 
-        // When deactivating (true -> false), reassign products
+        // When deactivating (true -> false), reassign products and deactivate the branch
+        Long reassigned = null;
         if (category.getStatus()) {
-            reassignProducts(id, reassignCategoryId);
+            checkUncategorizedOutside(category);
+            reassigned = reassignProducts(category, reassignCategoryId);
+            categorySubtrees.deactivate(category);
+        } else {
+            // Subcategories come back one by one, below an active parent only
+            if (category.getParentId() != null
+                    && !categoryRepository.existsByCategoryIdAndStatusTrue(category.getParentId())) {
+                throw new IllegalStateException("Activate the parent category with id "
+                        + category.getParentId() + " first.");
+            }
+            categoryCountCache.move(false);
+            category.setStatus(true);
+            categoryCache.evict(id);
+            changeOutbox.record(ChangeEntityType.CATEGORY, id, ChangeType.ACTIVATED);
+            eventPublisher.publishEvent(new CategoryTreeChangedEvent());
         }
 
-        category.setStatus(!category.getStatus());
-
         Category savedCategory = categoryRepository.save(category);
-        return CategoryMapper.toResponse(savedCategory);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+
+        CategoryResponse response = CategoryMapper.toResponse(savedCategory);
+        response.setReassignedProductCount(reassigned);
+        return response;
+    }
+
+    /*
+     * Not transactional on purpose: validation and target resolution commit
+     * before the worker starts, and the worker runs its own chunk transactions.
+     */
+    @Override
+    public JobResponse deactivateCategoryAsync(Long id, Long reassignCategoryId) {
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id " + id));
+
+        if (!category.getStatus()) {
+            throw new IllegalStateException("Category with id " + id + " is already inactive.");
+        }
+
+        // Safeguard: "Uncategorized" cannot be deactivated
+        if (UNCATEGORIZED_NAME.equalsIgnoreCase(category.getCategoryName())) {
+            throw new IllegalStateException("The 'Uncategorized' category cannot be deactivated.");
+        }
+        checkUncategorizedOutside(category);
+
+        Category targetCategory = resolveReassignTarget(category, reassignCategoryId);
+
+        Job job = jobService.createJob(DEACTIVATION_JOB, id,
+                productRepository.countInCategoryTree(CategorySubtrees.pattern(category)));
+
+        try {
+            deactivationWorker.deactivate(job.getJobId(), category, targetCategory);
+        } catch (TaskRejectedException ex) {
+            jobService.fail(job.getJobId(), "Job queue is full");
+            throw new IllegalStateException("Too many background jobs are queued. Please try again later.");
+        }
+
+        return JobMapper.toResponse(job);
+    }
+
+    @Override
+    public List<CategoryNodeResponse> getCategoryTree() {
+        return categoryTree.roots().stream()
+                .filter(CategoryTree.Node::active)
+                .map(CategoryMapper::toMenuNode)
+                .toList();
+    }
+
+    @Override
+    public List<CategoryNodeResponse> getBreadcrumb(Long id) {
+        List<CategoryTree.Node> trail = categoryTree.breadcrumb(id);
+        if (trail.isEmpty() || !trail.get(trail.size() - 1).active()) {
+            throw new ResourceNotFoundException("Category not found with id " + id);
+        }
+        return trail.stream().map(CategoryMapper::toCrumb).toList();
     }
 
     @Override
     public long getProductCount(Long categoryId) {
-        return productRepository.countByCategoryCategoryId(categoryId);
+        // Maintained counter, no COUNT over products
+        return categoryRepository.findById(categoryId)
+                .map(Category::getProductCount)
+                .orElse(0L);
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        return categoryCache.stats();
     }
 
     //  Private helper methods
 
+    private Boolean resolveStatus(String status) {
+        return switch (status.toLowerCase()) {
+            case "inactive" -> false;
+            case "all" -> null;
+            default -> true;
+        };
+    }
+
+    /**
+     * Reads one page without the COUNT query a Page would run;
+     * fetches one extra row to know whether a next page exists.
+     */
+    private Slice<CategoryResponse> findSlice(Boolean status, int page, int size) {
+
+        Pageable pageable = PageRequest.of(
+                page,
+                size,
+                Sort.by("createdAt").descending());
+
+        Specification<Category> spec = Specification.where(CategorySpecification.hasStatus(status));
+
+        return categoryRepository.findBy(spec, query -> query.slice(pageable))
+                .map(CategoryMapper::toResponse);
+    }
+
     /**
      * Finds or creates the "Uncategorized" category.
      * Always ensures it is active.
@@ -167,7 +389,12 @@ public class CategoryServiceImpl implements CategoryService {
                     // Ensure it stays active
                     if (!cat.getStatus()) {
                         cat.setStatus(true);
-                        return categoryRepository.save(cat);
+                        categoryCountCache.move(false);
+                        categoryCache.evict(cat.getCategoryId());
+                        Category activated = categoryRepository.save(cat);
+                        changeOutbox.record(ChangeEntityType.CATEGORY, activated.getCategoryId(), ChangeType.ACTIVATED);
+                        eventPublisher.publishEvent(new CategoryTreeChangedEvent());
+                        return activated;
                     }
                     return cat;
                 })
@@ -177,37 +404,110 @@ public class CategoryServiceImpl implements CategoryService {
                             .description("Default category for reassigned products")
                             .status(true)
                             .build();
-                    return categoryRepository.save(uncategorized);
+                    categoryCountCache.adjust(true, 1);
+                    Category created = categoryRepository.save(uncategorized);
+                    placeUnder(created, null);
+                    // Saved again: the async deactivation path calls this outside a transaction
+                    created = categoryRepository.save(created);
+                    changeOutbox.record(ChangeEntityType.CATEGORY, created.getCategoryId(), ChangeType.CREATED);
+                    eventPublisher.publishEvent(new CategoryTreeChangedEvent());
+                    return created;
                 });
     }
 
     /**
-     * Reassigns all products from one category to another.
+     * Reassigns all products of a category and its subcategories to another category.
      * If reassignCategoryId is null, products go to "Uncategorized".
-     * Validates target category exists, is active, and is not the source category.
+     * Validates target category exists, is active, and is outside the branch.
+     * Runs as a single bulk UPDATE, so memory use does not grow with the branch size.
+     * Returns the number of products moved.
      */
-    private void reassignProducts(Long fromCategoryId, Long reassignCategoryId) {
-        List<Product> products = productRepository.findByCategoryCategoryId(fromCategoryId);
-        if (products.isEmpty()) {
-            return; // Nothing to reassign
+    private long reassignProducts(Category from, Long reassignCategoryId) {
+        if (!productRepository.existsInCategoryTree(CategorySubtrees.pattern(from))) {
+            return 0; // Nothing to reassign
         }
 
-        Category targetCategory;
+        Category targetCategory = resolveReassignTarget(from, reassignCategoryId);
+
+        return categorySubtrees.reassignProducts(from, targetCategory);
+    }
 
+    /**
+     * Resolves where products of a deactivated branch go.
+     * Null means "Uncategorized"; an explicit target must be active and outside the branch.
+     */
+    private Category resolveReassignTarget(Category from, Long reassignCategoryId) {
         if (reassignCategoryId == null) {
-            targetCategory = getOrCreateUncategorized();
-        } else {
-            // Prevent self-reassignment
-            if (reassignCategoryId.equals(fromCategoryId)) {
-                throw new IllegalArgumentException("Cannot reassign products to the same category being deactivated.");
-            }
+            return getOrCreateUncategorized();
+        }
+
+        // Prevent self-reassignment
+        if (reassignCategoryId.equals(from.getCategoryId())) {
+            throw new IllegalArgumentException("Cannot reassign products to the same category being deactivated.");
+        }
 
-            targetCategory = categoryRepository.findByCategoryIdAndStatusTrue(reassignCategoryId)
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Target category with ID '" + reassignCategoryId + "' not found or is inactive."));
+        Category target = categoryRepository.findByCategoryIdAndStatusTrue(reassignCategoryId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Target category with ID '" + reassignCategoryId + "' not found or is inactive."));
+
+        if (CategorySubtrees.contains(from, target)) {
+            throw new IllegalArgumentException("Cannot reassign products to a subcategory of the category being deactivated.");
         }
+        return target;
+    }
+
+    // "Uncategorized" must survive: no branch containing it can be deactivated
+    private void checkUncategorizedOutside(Category root) {
+        categoryRepository.findByCategoryName(UNCATEGORIZED_NAME)
+                .filter(uncategorized -> uncategorized.getStatus() && CategorySubtrees.contains(root, uncategorized))
+                .ifPresent(uncategorized -> {
+                    throw new IllegalStateException(
+                            "The 'Uncategorized' category is a subcategory of this category and cannot be deactivated.");
+                });
+    }
+
+    private Category resolveParent(Long parentId) {
+        if (parentId == null) {
+            return null;
+        }
+        return categoryRepository.findByCategoryIdAndStatusTrue(parentId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Parent category with ID '" + parentId + "' not found or is inactive."));
+    }
+
+    private void checkLevels(int deepestDepth) {
+        if (deepestDepth >= MAX_LEVELS) {
+            throw new IllegalArgumentException("Categories can be nested at most " + MAX_LEVELS + " levels deep.");
+        }
+    }
+
+    // Path needs the generated id, so it is set right after the insert
+    private void placeUnder(Category category, Category parent) {
+        category.setParentId(parent == null ? null : parent.getCategoryId());
+        category.setDepth(parent == null ? 0 : parent.getDepth() + 1);
+        category.setPath((parent == null ? "/" : parent.getPath()) + category.getCategoryId() + "/");
+    }
+
+    /**
+     * Re-parents a category. Descendant paths and depths are rewritten by one
+     * UPDATE over the old path prefix; products keep their category ids.
+     */
+    private void move(Category category, Long parentId) {
+        Category parent = resolveParent(parentId);
+        if (parent != null && CategorySubtrees.contains(category, parent)) {
+            throw new IllegalArgumentException("A category cannot be moved under itself or one of its subcategories.");
+        }
+
+        String oldPath = category.getPath();
+        int oldDepth = category.getDepth();
+        int height = categoryRepository.findMaxDepthInTree(oldPath + "%") - oldDepth;
+
+        placeUnder(category, parent);
+        checkLevels(category.getDepth() + height);
 
-        products.forEach(product -> product.setCategory(targetCategory));
-        productRepository.saveAll(products);
+        categoryRepository.moveTree(oldPath + "%", oldPath.length(), category.getPath(),
+                category.getDepth() - oldDepth, Instant.now());
+        // Cached descendants still carry their old depth
+        categoryRepository.findActiveIdsInTree(category.getPath() + "%").forEach(categoryCache::evict);
     }
 }
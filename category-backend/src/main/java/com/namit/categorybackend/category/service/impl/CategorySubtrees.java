@@ -0,0 +1,80 @@
+package com.namit.categorybackend.category.service.impl;
+
+import com.namit.categorybackend.category.cache.CategoryCache;
+import com.namit.categorybackend.category.cache.CategoryCountCache;
+import com.namit.categorybackend.category.counter.CategoryProductCount;
+import com.namit.categorybackend.category.counter.CategoryProductCounter;
+import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.category.event.CategoryTreeChangedEvent;
+import com.namit.categorybackend.category.repository.CategoryRepository;
+import com.namit.categorybackend.change.entity.ChangeEntityType;
+import com.namit.categorybackend.change.entity.ChangeType;
+import com.namit.categorybackend.change.service.ChangeOutbox;
+import com.namit.categorybackend.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * Bulk steps of deactivating a category together with its subcategories,
+ * shared by the synchronous path (CategoryServiceImpl) and the async job
+ * (CategoryDeactivationWorker). Each step is one UPDATE over the subtree's
+ * path prefix and runs in the caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+class CategorySubtrees {
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final CategoryCountCache categoryCountCache;
+    private final CategoryCache categoryCache;
+    private final ChangeOutbox changeOutbox;
+    private final CategoryProductCounter categoryProductCounter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // LIKE pattern matching the category and every descendant; paths hold only digits and '/'
+    static String pattern(Category root) {
+        return root.getPath() + "%";
+    }
+
+    static boolean contains(Category root, Category other) {
+        return other.getPath() != null && other.getPath().startsWith(root.getPath());
+    }
+
+    // Moves every product of the subtree to the target, returns how many moved
+    int reassignProducts(Category root, Category targetCategory) {
+        List<CategoryProductCount> counts = productRepository.countGroupedByCategoryInTree(pattern(root));
+        if (counts.isEmpty()) {
+            return 0;
+        }
+        int moved = productRepository.reassignCategoryTree(pattern(root), targetCategory, Instant.now());
+        categoryProductCounter.movedAll(counts, targetCategory.getCategoryId());
+        if (moved > 0) {
+            changeOutbox.recordReassignment(root.getCategoryId(), targetCategory.getCategoryId());
+        }
+        return moved;
+    }
+
+    // Deactivates the category and all its active descendants, returns their ids
+    List<Long> deactivate(Category root) {
+        List<Long> ids = categoryRepository.findActiveIdsInTree(pattern(root));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        int deactivated = categoryRepository.deactivateTree(pattern(root), Instant.now());
+        // The bulk UPDATE bypasses the persistence context; keep the loaded root in step
+        root.setStatus(false);
+
+        categoryCountCache.adjust(true, -deactivated);
+        categoryCountCache.adjust(false, deactivated);
+        ids.forEach(categoryCache::evict);
+        changeOutbox.recordAll(ChangeEntityType.CATEGORY, ids, ChangeType.DEACTIVATED);
+        eventPublisher.publishEvent(new CategoryTreeChangedEvent());
+        return ids;
+    }
+}
@@ -1,6 +1,7 @@
 package com.namit.categorybackend.category.specification;
 
 import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.common.pagination.Cursor;
 import org.springframework.data.jpa.domain.Specification;
 
 public class CategorySpecification {
@@ -11,4 +12,16 @@ public class CategorySpecification {
             return cb.equal(root.get("status"), status);
         };
     }
+
+    // Keyset predicate for (createdAt DESC, categoryId DESC) ordering
+    public static Specification<Category> after(Cursor cursor){
+        return (root, query , cb) -> {
+            if(cursor == null ) return null;
+            return cb.or(
+                    cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), cursor.createdAt()),
+                            cb.lessThan(root.get("categoryId"), cursor.id())));
+        };
+    }
 }
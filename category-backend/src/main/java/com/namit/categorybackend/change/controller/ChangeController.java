@@ -0,0 +1,82 @@
+package com.namit.categorybackend.change.controller;
+
+import com.namit.categorybackend.change.dto.ChangeEventResponse;
+import com.namit.categorybackend.change.entity.ChangeEntityType;
+import com.namit.categorybackend.change.service.ChangeFeed;
+import com.namit.categorybackend.change.service.ChangeStream;
+import com.namit.categorybackend.common.response.ApiWrapper;
+import com.namit.categorybackend.common.response.CursorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/v1/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+        private static final int MAX_LIMIT = 1000;
+        private static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+        private final ChangeFeed changeFeed;
+        private final ChangeStream changeStream;
+
+        // Long-poll: held open until events after `since` exist or `wait` runs out
+        @Operation(summary = "Catalog changes after a sequence cursor")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Changes in sequence order, possibly empty"),
+                        @ApiResponse(responseCode = "400", description = "Invalid since, limit or wait")
+        })
+        @GetMapping
+        public CompletableFuture<ResponseEntity<ApiWrapper<CursorResponse<ChangeEventResponse>>>> getChanges(
+                        @RequestParam(defaultValue = "0") long since,
+                        @RequestParam(defaultValue = "100") int limit,
+                        @RequestParam(defaultValue = "PT25S") Duration wait) {
+
+                if (since < 0) {
+                        throw new IllegalArgumentException("since must not be negative");
+                }
+                if (limit < 1 || limit > MAX_LIMIT) {
+                        throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+                }
+                if (wait.isNegative() || wait.compareTo(MAX_WAIT) > 0) {
+                        throw new IllegalArgumentException("wait must be between PT0S and " + MAX_WAIT);
+                }
+
+                return changeFeed.poll(since, limit, wait)
+                                .thenApply(changes -> ResponseEntity.ok(
+                                                ApiWrapper.success("Changes retrieved successfully", changes)));
+        }
+
+        // Live stream; EventSource reconnects send Last-Event-ID and resume where they left off
+        @Operation(summary = "Stream catalog changes as Server-Sent Events")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "change events with the row's current state; resync when the client fell behind"),
+                        @ApiResponse(responseCode = "503", description = "Too many open streams on this node")
+        })
+        @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public ResponseEntity<SseEmitter> streamChanges(
+                        @RequestParam(required = false) ChangeEntityType entityType,
+                        @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+                return changeStream.subscribe(entityType, lastEventId)
+                                .map(ResponseEntity::ok)
+                                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                                .header(HttpHeaders.RETRY_AFTER, "5")
+                                                .build());
+        }
+}
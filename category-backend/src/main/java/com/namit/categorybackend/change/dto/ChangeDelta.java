@@ -0,0 +1,35 @@
+package com.namit.categorybackend.change.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.namit.categorybackend.category.dto.CategoryResponse;
+import com.namit.categorybackend.change.entity.ChangeEntityType;
+import com.namit.categorybackend.change.entity.ChangeType;
+import com.namit.categorybackend.product.dto.ProductResponse;
+import lombok.*;
+
+/*
+ * One change as pushed over the live stream: the feed event plus the row's
+ * state when it was sent, so a listing can patch the row in place.
+ */
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeDelta {
+
+    private Long sequence;
+
+    private ChangeEntityType entityType;
+
+    private Long entityId;
+
+    private ChangeType changeType;
+
+    private Long targetId;
+
+    private ProductResponse product;
+
+    private CategoryResponse category;
+}
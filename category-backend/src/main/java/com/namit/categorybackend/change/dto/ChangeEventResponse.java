@@ -0,0 +1,27 @@
+package com.namit.categorybackend.change.dto;
+
+import com.namit.categorybackend.change.entity.ChangeEntityType;
+import com.namit.categorybackend.change.entity.ChangeType;
+import lombok.*;
+
+import java.time.Instant;
+
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventResponse {
+
+    private Long sequence;
+
+    private ChangeEntityType entityType;
+
+    private Long entityId;
+
+    private ChangeType changeType;
+
+    private Long targetId;
+
+    private Instant occurredAt;
+}
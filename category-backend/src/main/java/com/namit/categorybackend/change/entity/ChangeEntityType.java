@@ -0,0 +1,6 @@
+package com.namit.categorybackend.change.entity;
+
+public enum ChangeEntityType {
+    PRODUCT,
+    CATEGORY
+}
@@ -0,0 +1,55 @@
+package com.namit.categorybackend.change.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/*
+ * Outbox row: one catalog write, inserted in the writing transaction so it
+ * exists exactly when the change committed. It carries ids only; consumers
+ * read the current state from the API.
+ *
+ * sequence is assigned by ChangeRelay after commit and is the feed's cursor.
+ * publishedAt is set once every ChangeSink has accepted the event.
+ */
+@Entity
+@Table(name = "change_events", indexes = {
+        @Index(name = "uk_change_events_sequence", columnList = "sequence", unique = true),
+        // Backs delivery (published_at IS NULL) and pruning (published_at < ?)
+        @Index(name = "idx_change_events_published_at", columnList = "published_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "change_id")
+    private Long changeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private ChangeEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    @Column(name = "target_id")
+    private Long targetId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    private Long sequence;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
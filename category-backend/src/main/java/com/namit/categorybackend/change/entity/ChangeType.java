@@ -0,0 +1,10 @@
+package com.namit.categorybackend.change.entity;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    ACTIVATED,
+    DEACTIVATED,
+    // All products of the category moved to targetId
+    REASSIGNED
+}
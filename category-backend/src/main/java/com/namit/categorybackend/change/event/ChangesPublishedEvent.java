@@ -0,0 +1,12 @@
+package com.namit.categorybackend.change.event;
+
+import com.namit.categorybackend.change.dto.ChangeEventResponse;
+
+import java.util.List;
+
+/*
+ * In-process delivery of relayed change events, in sequence order.
+ * Listen with @EventListener; listeners run on the relay thread.
+ */
+public record ChangesPublishedEvent(List<ChangeEventResponse> events) {
+}
@@ -0,0 +1,8 @@
+package com.namit.categorybackend.change.event;
+
+/*
+ * Published when a transaction writes outbox rows. Listeners use
+ * @TransactionalEventListener, so they run once the rows are committed.
+ */
+public record ChangesRecordedEvent() {
+}
@@ -0,0 +1,7 @@
+package com.namit.categorybackend.change.event;
+
+/*
+ * The relay committed sequences up to lastSequence; wakes feed long-polls.
+ */
+public record ChangesSequencedEvent(long lastSequence) {
+}
@@ -0,0 +1,33 @@
+package com.namit.categorybackend.change.mapper;
+
+import com.namit.categorybackend.category.dto.CategoryResponse;
+import com.namit.categorybackend.change.dto.ChangeDelta;
+import com.namit.categorybackend.change.dto.ChangeEventResponse;
+import com.namit.categorybackend.change.entity.ChangeEvent;
+import com.namit.categorybackend.product.dto.ProductResponse;
+
+public class ChangeEventMapper {
+
+    public static ChangeEventResponse toResponse(ChangeEvent event) {
+        return ChangeEventResponse.builder()
+                .sequence(event.getSequence())
+                .entityType(event.getEntityType())
+                .entityId(event.getEntityId())
+                .changeType(event.getChangeType())
+                .targetId(event.getTargetId())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+
+    public static ChangeDelta toDelta(ChangeEvent event, ProductResponse product, CategoryResponse category) {
+        return ChangeDelta.builder()
+                .sequence(event.getSequence())
+                .entityType(event.getEntityType())
+                .entityId(event.getEntityId())
+                .changeType(event.getChangeType())
+                .targetId(event.getTargetId())
+                .product(product)
+                .category(category)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.namit.categorybackend.change.repository;
+
+import com.namit.categorybackend.change.entity.ChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    List<ChangeEvent> findBySequenceIsNullOrderByChangeIdAsc(Pageable pageable);
+
+    List<ChangeEvent> findBySequenceIsNotNullAndPublishedAtIsNullOrderBySequenceAsc(Pageable pageable);
+
+    List<ChangeEvent> findBySequenceGreaterThanOrderBySequenceAsc(Long since, Pageable pageable);
+
+    List<ChangeEvent> findBySequenceBetweenOrderBySequenceAsc(Long from, Long to, Pageable pageable);
+
+    @Query("select coalesce(max(e.sequence), 0) from ChangeEvent e")
+    long findMaxSequence();
+
+    @Modifying
+    @Query("update ChangeEvent e set e.publishedAt = :publishedAt where e.changeId in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("delete from ChangeEvent e where e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
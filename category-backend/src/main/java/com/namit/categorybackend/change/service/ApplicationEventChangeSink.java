@@ -0,0 +1,22 @@
+package com.namit.categorybackend.change.service;
+
+import com.namit.categorybackend.change.dto.ChangeEventResponse;
+import com.namit.categorybackend.change.event.ChangesPublishedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Default sink: the in-process event bus
+@Component
+@RequiredArgsConstructor
+public class ApplicationEventChangeSink implements ChangeSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<ChangeEventResponse> events) {
+        eventPublisher.publishEvent(new ChangesPublishedEvent(events));
+    }
+}
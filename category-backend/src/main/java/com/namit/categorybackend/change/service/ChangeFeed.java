@@ -0,0 +1,118 @@
+package com.namit.categorybackend.change.service;
+
+import com.namit.categorybackend.change.dto.ChangeEventResponse;
+import com.namit.categorybackend.change.event.ChangesSequencedEvent;
+import com.namit.categorybackend.change.mapper.ChangeEventMapper;
+import com.namit.categorybackend.change.repository.ChangeEventRepository;
+import com.namit.categorybackend.common.datasource.ReadYourWrites;
+import com.namit.categorybackend.common.response.CursorResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Read side of the change feed: events after a sequence cursor, in order.
+ *
+ * An empty poll parks as a waiter instead of a thread; the relay's
+ * ChangesSequencedEvent completes the waiters it can serve, and waiters
+ * that see nothing within their wait complete empty. Waiters are registered
+ * before the table is read, so a relay pass in between cannot be missed.
+ *
+ * The relay only wakes this node when it ran here, so with several nodes a
+ * poll-interval catch-up completes waiters behind events sequenced elsewhere.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeFeed {
+
+    private final ChangeEventRepository changeEventRepository;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    public CompletableFuture<CursorResponse<ChangeEventResponse>> poll(long since, int limit, Duration wait) {
+
+        if (wait.isZero()) {
+            return CompletableFuture.completedFuture(read(since, limit));
+        }
+
+        Waiter waiter = new Waiter(since, limit, new CompletableFuture<>());
+        waiters.add(waiter);
+        waiter.result().whenComplete((result, error) -> waiters.remove(waiter));
+        waiter.result().completeOnTimeout(empty(since), wait.toMillis(), TimeUnit.MILLISECONDS);
+
+        CursorResponse<ChangeEventResponse> current = read(since, limit);
+        if (current.size() > 0) {
+            waiter.result().complete(current);
+        }
+        return waiter.result();
+    }
+
+    public int waiting() {
+        return waiters.size();
+    }
+
+    @EventListener
+    public void onSequenced(ChangesSequencedEvent event) {
+        completeWaiters(event.lastSequence());
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.feed.poll-interval:PT1S}")
+    public void catchUp() {
+        if (!waiters.isEmpty()) {
+            completeWaiters(ReadYourWrites.onPrimary(changeEventRepository::findMaxSequence));
+        }
+    }
+
+    private void completeWaiters(long lastSequence) {
+
+        // Polls at the same cursor share one query
+        Map<List<Long>, CursorResponse<ChangeEventResponse>> reads = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            if (waiter.since() >= lastSequence || waiter.result().isDone()) {
+                continue;
+            }
+            CursorResponse<ChangeEventResponse> result = reads.computeIfAbsent(
+                    List.of(waiter.since(), (long) waiter.limit()),
+                    key -> ReadYourWrites.onPrimary(() -> read(waiter.since(), waiter.limit())));
+            waiter.result().complete(result);
+        }
+    }
+
+    private CursorResponse<ChangeEventResponse> read(long since, int limit) {
+
+        // One extra row tells whether more are already waiting
+        List<ChangeEventResponse> events = changeEventRepository
+                .findBySequenceGreaterThanOrderBySequenceAsc(since, PageRequest.of(0, limit + 1))
+                .stream()
+                .map(ChangeEventMapper::toResponse)
+                .toList();
+        boolean hasNext = events.size() > limit;
+        if (hasNext) {
+            events = events.subList(0, limit);
+        }
+        if (events.isEmpty()) {
+            return empty(since);
+        }
+        String nextCursor = String.valueOf(events.get(events.size() - 1).getSequence());
+        return new CursorResponse<>(events, events.size(), nextCursor, hasNext);
+    }
+
+    // An empty page keeps the caller's cursor so it can poll again with nextCursor
+    private static CursorResponse<ChangeEventResponse> empty(long since) {
+        return new CursorResponse<>(List.of(), 0, String.valueOf(since), false);
+    }
+
+    private record Waiter(long since, int limit, CompletableFuture<CursorResponse<ChangeEventResponse>> result) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.namit.categorybackend.change.service;
+
+import com.namit.categorybackend.change.entity.ChangeEntityType;
+import com.namit.categorybackend.change.entity.ChangeType;
+import com.namit.categorybackend.change.event.ChangesRecordedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * Write side of the change feed. Called inside the transaction that makes
+ * the change, so an event exists if and only if its change committed. Rows
+ * go in with a JDBC batch on the transaction's connection, the same way the
+ * product import inserts. The only caller without a transaction is the
+ * async deactivation creating "Uncategorized", whose save has committed
+ * already; its event then commits on its own right after.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeOutbox {
+
+    private static final String INSERT_SQL = "INSERT INTO change_events"
+            + " (entity_type, entity_id, change_type, target_id, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void record(ChangeEntityType entityType, Long entityId, ChangeType changeType) {
+        insert(entityType, List.of(entityId), changeType, null);
+    }
+
+    @Transactional
+    public void recordAll(ChangeEntityType entityType, Collection<Long> entityIds, ChangeType changeType) {
+        if (!entityIds.isEmpty()) {
+            insert(entityType, entityIds, changeType, null);
+        }
+    }
+
+    // One event for a bulk move instead of one per product
+    @Transactional
+    public void recordReassignment(Long fromCategoryId, Long toCategoryId) {
+        insert(ChangeEntityType.CATEGORY, List.of(fromCategoryId), ChangeType.REASSIGNED, toCategoryId);
+    }
+
+    private void insert(ChangeEntityType entityType, Collection<Long> entityIds, ChangeType changeType,
+            Long targetId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, entityIds, entityIds.size(), (ps, entityId) -> {
+            ps.setString(1, entityType.name());
+            ps.setLong(2, entityId);
+            ps.setString(3, changeType.name());
+            if (targetId == null) {
+                ps.setNull(4, Types.BIGINT);
+            } else {
+                ps.setLong(4, targetId);
+            }
+            ps.setTimestamp(5, now);
+        });
+        // After commit the relay picks the rows up at once instead of at its next pass
+        eventPublisher.publishEvent(new ChangesRecordedEvent());
+    }
+}
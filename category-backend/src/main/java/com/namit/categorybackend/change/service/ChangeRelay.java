@@ -0,0 +1,156 @@
+package com.namit.categorybackend.change.service;
+
+import com.namit.categorybackend.change.dto.ChangeEventResponse;
+import com.namit.categorybackend.change.entity.ChangeEvent;
+import com.namit.categorybackend.change.event.ChangesRecordedEvent;
+import com.namit.categorybackend.change.event.ChangesSequencedEvent;
+import com.namit.categorybackend.change.mapper.ChangeEventMapper;
+import com.namit.categorybackend.change.repository.ChangeEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Moves outbox rows on in two steps, each in batches:
+ *
+ * 1. Sequence: committed rows get the next feed sequence numbers. Ids are
+ *    taken at insert time, so a higher id can commit before a lower one; a
+ *    reader paging by id could skip the late one, by sequence it cannot.
+ *    The unique index on sequence makes a concurrent relay on another node
+ *    fail its batch instead of reusing numbers.
+ * 2. Deliver: sequenced rows go to every ChangeSink in order, and are marked
+ *    published once all of them accepted the batch.
+ *
+ * The feed only needs step 1, so a failing sink never holds it back.
+ *
+ * Besides the fixed-delay pass, every commit that wrote outbox rows nudges a
+ * pass on the relay executor, so live listeners see a change within one
+ * relay pass instead of up to relay-interval later.
+ */
+@Slf4j
+@Component
+public class ChangeRelay {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final List<ChangeSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor relayExecutor;
+    private final int batchSize;
+    private final Duration retention;
+    private final boolean relayOnCommit;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean nudged = new AtomicBoolean();
+
+    public ChangeRelay(ChangeEventRepository changeEventRepository,
+            List<ChangeSink> sinks,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("changeRelayExecutor") TaskExecutor relayExecutor,
+            @Value("${app.changes.relay-batch-size:500}") int batchSize,
+            @Value("${app.changes.retention:P7D}") Duration retention,
+            @Value("${app.changes.relay-on-commit:true}") boolean relayOnCommit) {
+        this.changeEventRepository = changeEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.relayExecutor = relayExecutor;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.relayOnCommit = relayOnCommit;
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.relay-interval:PT0.5S}")
+    public void relay() {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            while (sequenceBatch() == batchSize) {
+                // keep going while full batches come back
+            }
+            while (deliverBatch() == batchSize) {
+                // same
+            }
+        } catch (DataIntegrityViolationException ex) {
+            log.info("change-relay lost a sequencing race, retrying next pass: {}", ex.getMostSpecificCause().getMessage());
+        } catch (RuntimeException ex) {
+            log.warn("change-relay delivery failed, retrying next pass", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Commits in a burst share one queued pass
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecorded(ChangesRecordedEvent event) {
+        if (!relayOnCommit || !nudged.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            relayExecutor.execute(() -> {
+                nudged.set(false);
+                relay();
+            });
+        } catch (TaskRejectedException ex) {
+            nudged.set(false);
+        }
+    }
+
+    // Published events older than the retention are dropped; consumers further behind must resync
+    @Scheduled(fixedDelayString = "${app.changes.prune-interval:PT1H}")
+    public void prune() {
+        Instant before = Instant.now().minus(retention);
+        transactionTemplate.executeWithoutResult(status -> changeEventRepository.deletePublishedBefore(before));
+    }
+
+    private int sequenceBatch() {
+        List<ChangeEvent> sequenced = transactionTemplate.execute(status -> {
+            List<ChangeEvent> pending = changeEventRepository
+                    .findBySequenceIsNullOrderByChangeIdAsc(PageRequest.of(0, batchSize));
+            long next = pending.isEmpty() ? 0 : changeEventRepository.findMaxSequence();
+            for (ChangeEvent event : pending) {
+                event.setSequence(++next);
+            }
+            return pending;
+        });
+        if (sequenced.isEmpty()) {
+            return 0;
+        }
+        eventPublisher.publishEvent(new ChangesSequencedEvent(sequenced.get(sequenced.size() - 1).getSequence()));
+        return sequenced.size();
+    }
+
+    private int deliverBatch() {
+        List<ChangeEvent> undelivered = changeEventRepository
+                .findBySequenceIsNotNullAndPublishedAtIsNullOrderBySequenceAsc(PageRequest.of(0, batchSize));
+        if (undelivered.isEmpty()) {
+            return 0;
+        }
+
+        List<ChangeEventResponse> events = undelivered.stream().map(ChangeEventMapper::toResponse).toList();
+        for (ChangeSink sink : sinks) {
+            sink.publish(events);
+        }
+
+        List<Long> ids = undelivered.stream().map(ChangeEvent::getChangeId).toList();
+        transactionTemplate.executeWithoutResult(status -> changeEventRepository.markPublished(ids, Instant.now()));
+        return undelivered.size();
+    }
+}
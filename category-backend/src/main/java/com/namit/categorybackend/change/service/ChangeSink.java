@@ -0,0 +1,16 @@
+package com.namit.categorybackend.change.service;
+
+import com.namit.categorybackend.change.dto.ChangeEventResponse;
+
+import java.util.List;
+
+/*
+ * Destination for relayed change events (message broker, webhook, ...).
+ * Every ChangeSink bean gets each batch in sequence order. Delivery is at
+ * least once: if any sink throws, the whole batch is offered again on the
+ * next relay pass, so sinks should ignore sequences they already have.
+ */
+public interface ChangeSink {
+
+    void publish(List<ChangeEventResponse> events);
+}
@@ -0,0 +1,212 @@
+package com.namit.categorybackend.change.service;
+
+import com.namit.categorybackend.category.dto.CategoryResponse;
+import com.namit.categorybackend.category.mapper.CategoryMapper;
+import com.namit.categorybackend.category.repository.CategoryRepository;
+import com.namit.categorybackend.change.dto.ChangeDelta;
+import com.namit.categorybackend.change.entity.ChangeEntityType;
+import com.namit.categorybackend.change.entity.ChangeEvent;
+import com.namit.categorybackend.change.event.ChangesSequencedEvent;
+import com.namit.categorybackend.change.mapper.ChangeEventMapper;
+import com.namit.categorybackend.change.repository.ChangeEventRepository;
+import com.namit.categorybackend.common.datasource.ReadYourWrites;
+import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.mapper.ProductMapper;
+import com.namit.categorybackend.product.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Server-Sent Events fan-out of the change feed. Each relay pass reads the
+ * new events once, loads the current state of the rows they name in two IN
+ * queries, and hands the same deltas to every subscriber's bounded queue.
+ *
+ * Broadcasts and subscriptions share one lock, so a client resuming with
+ * Last-Event-ID gets the replay up to lastBroadcast and live events after
+ * it, with no gap and no duplicate between the two.
+ *
+ * The relay only wakes this node when it ran here, so with several nodes a
+ * poll-interval catch-up picks up events sequenced elsewhere.
+ */
+@Component
+public class ChangeStream {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TaskExecutor sender;
+    private final int maxClients;
+    private final int bufferSize;
+    private final Duration timeout;
+
+    private final Set<ChangeSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong resyncs = new AtomicLong();
+
+    // Highest sequence handed to subscribers; -1 while nobody listens
+    private long lastBroadcast = -1;
+
+    public ChangeStream(ChangeEventRepository changeEventRepository,
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            @Qualifier("changeStreamExecutor") TaskExecutor sender,
+            @Value("${app.changes.stream.max-clients:10000}") int maxClients,
+            @Value("${app.changes.stream.buffer-size:256}") int bufferSize,
+            @Value("${app.changes.stream.timeout:PT30M}") Duration timeout) {
+        this.changeEventRepository = changeEventRepository;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.sender = sender;
+        this.maxClients = maxClients;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+    }
+
+    // Empty when the node already serves max-clients streams
+    public Optional<SseEmitter> subscribe(ChangeEntityType entityType, Long lastEventId) {
+
+        if (subscribers.size() >= maxClients) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        ChangeSubscriber subscriber = new ChangeSubscriber(emitter, entityType, bufferSize, sender);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+
+        lock.lock();
+        try {
+            if (lastBroadcast < 0) {
+                lastBroadcast = ReadYourWrites.onPrimary(changeEventRepository::findMaxSequence);
+            }
+            if (lastEventId != null && lastEventId < lastBroadcast) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        return Optional.of(emitter);
+    }
+
+    public int clients() {
+        return subscribers.size();
+    }
+
+    public long resyncs() {
+        return resyncs.get();
+    }
+
+    @EventListener
+    public void onSequenced(ChangesSequencedEvent event) {
+        broadcast();
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.stream.poll-interval:PT1S}")
+    public void catchUp() {
+        if (!subscribers.isEmpty()) {
+            broadcast();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(ChangeSubscriber::heartbeat);
+    }
+
+    private void broadcast() {
+
+        lock.lock();
+        try {
+            subscribers.removeIf(ChangeSubscriber::isClosed);
+            if (subscribers.isEmpty()) {
+                // Nobody to send to: skip the reads, the next subscriber starts from the latest sequence
+                lastBroadcast = -1;
+                return;
+            }
+
+            List<ChangeDelta> deltas;
+            do {
+                long since = lastBroadcast;
+                deltas = ReadYourWrites.onPrimary(() -> toDeltas(changeEventRepository
+                        .findBySequenceGreaterThanOrderBySequenceAsc(since, PageRequest.of(0, bufferSize))));
+                if (deltas.isEmpty()) {
+                    break;
+                }
+                for (ChangeSubscriber subscriber : subscribers) {
+                    if (!subscriber.offer(deltas)) {
+                        resyncs.incrementAndGet();
+                    }
+                }
+                lastBroadcast = deltas.get(deltas.size() - 1).getSequence();
+            } while (deltas.size() == bufferSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock; a gap larger than the buffer is a resync, not a replay
+    private void replay(ChangeSubscriber subscriber, long lastEventId) {
+
+        List<ChangeEvent> missed = ReadYourWrites.onPrimary(() -> changeEventRepository
+                .findBySequenceBetweenOrderBySequenceAsc(lastEventId + 1, lastBroadcast,
+                        PageRequest.of(0, bufferSize + 1)));
+        if (missed.size() > bufferSize) {
+            subscriber.resync(lastBroadcast);
+            resyncs.incrementAndGet();
+            return;
+        }
+        subscriber.offer(ReadYourWrites.onPrimary(() -> toDeltas(missed)));
+    }
+
+    private List<ChangeDelta> toDeltas(List<ChangeEvent> events) {
+
+        Set<Long> productIds = idsOf(events, ChangeEntityType.PRODUCT);
+        Set<Long> categoryIds = idsOf(events, ChangeEntityType.CATEGORY);
+
+        Map<Long, ProductResponse> products = productIds.isEmpty() ? Map.of() : productRepository
+                .findByProductIdIn(productIds).stream()
+                .map(ProductMapper::toResponse)
+                .collect(Collectors.toMap(ProductResponse::getProductId, Function.identity()));
+        Map<Long, CategoryResponse> categories = categoryIds.isEmpty() ? Map.of() : categoryRepository
+                .findAllById(categoryIds).stream()
+                .map(CategoryMapper::toResponse)
+                .collect(Collectors.toMap(CategoryResponse::getCategoryId, Function.identity()));
+
+        return events.stream()
+                .map(event -> ChangeEventMapper.toDelta(event,
+                        event.getEntityType() == ChangeEntityType.PRODUCT ? products.get(event.getEntityId()) : null,
+                        event.getEntityType() == ChangeEntityType.CATEGORY ? categories.get(event.getEntityId()) : null))
+                .toList();
+    }
+
+    private static Set<Long> idsOf(List<ChangeEvent> events, ChangeEntityType entityType) {
+        return events.stream()
+                .filter(event -> event.getEntityType() == entityType)
+                .map(ChangeEvent::getEntityId)
+                .collect(Collectors.toSet());
+    }
+
+    private void remove(ChangeSubscriber subscriber) {
+        subscriber.close();
+        subscribers.remove(subscriber);
+    }
+}
@@ -0,0 +1,143 @@
+package com.namit.categorybackend.change.service;
+
+import com.namit.categorybackend.change.dto.ChangeDelta;
+import com.namit.categorybackend.change.entity.ChangeEntityType;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * One live stream client. Broadcasts only enqueue here; a sender thread
+ * drains the queue into the emitter, at most one drain per client at a time.
+ * An idle client therefore holds a queue and an async request, no thread.
+ *
+ * The queue is bounded. A client that falls a full buffer behind loses its
+ * backlog and gets one "resync" event instead, carrying the latest sequence:
+ * it should reload its listing and can keep streaming from there.
+ */
+class ChangeSubscriber {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESYNC_EVENT = "resync";
+
+    private final SseEmitter emitter;
+    private final ChangeEntityType entityType;
+    private final Executor sender;
+    private final BlockingQueue<Message> queue;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    ChangeSubscriber(SseEmitter emitter, ChangeEntityType entityType, int bufferSize, Executor sender) {
+        this.emitter = emitter;
+        this.entityType = entityType;
+        this.sender = sender;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    // Returns false when the backlog overflowed into a resync
+    boolean offer(List<ChangeDelta> deltas) {
+
+        boolean kept = true;
+        lock.lock();
+        try {
+            for (ChangeDelta delta : deltas) {
+                if (entityType != null && entityType != delta.getEntityType()) {
+                    continue;
+                }
+                if (!queue.offer(new Message(CHANGE_EVENT, delta.getSequence(), delta))) {
+                    queue.clear();
+                    queue.offer(new Message(RESYNC_EVENT, delta.getSequence(), delta.getSequence()));
+                    kept = false;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        schedule();
+        return kept;
+    }
+
+    void resync(long sequence) {
+        lock.lock();
+        try {
+            queue.clear();
+            queue.offer(new Message(RESYNC_EVENT, sequence, sequence));
+        } finally {
+            lock.unlock();
+        }
+        schedule();
+    }
+
+    // Keeps proxies from closing an idle stream and finds dead connections; skipped while events are queued
+    void heartbeat() {
+        if (queue.isEmpty() && queue.offer(new Message(null, null, null))) {
+            schedule();
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    private void schedule() {
+        if (closed || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+            draining.set(false);
+            fail(ex);
+        }
+    }
+
+    private void drain() {
+        try {
+            Message message;
+            while (!closed && (message = queue.poll()) != null) {
+                emitter.send(message.toEvent());
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away (or the emitter already completed)
+            fail(ex);
+        } finally {
+            draining.set(false);
+        }
+        // Something arrived after the last poll but before the flag was cleared
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void fail(Exception ex) {
+        close();
+        emitter.completeWithError(ex);
+    }
+
+    private record Message(String name, Long sequence, Object data) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                    .id(String.valueOf(sequence))
+                    .name(name)
+                    .data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
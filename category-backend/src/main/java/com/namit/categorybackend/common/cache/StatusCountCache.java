@@ -0,0 +1,106 @@
+package com.namit.categorybackend.common.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Row counts per status (active / inactive) kept in memory.
+ * Loaded lazily with one COUNT per status, then kept current by the
+ * service write paths through adjust()/move(). Snapshots expire after the
+ * configured ttl so any drift (other nodes, manual SQL) heals on reload.
+ */
+public abstract class StatusCountCache {
+
+    private final Duration ttl;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    protected StatusCountCache(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    // Runs the COUNT query for one status
+    protected abstract long load(boolean status);
+
+    // Count for a status, null means all rows
+    public long count(Boolean status) {
+        Snapshot current = current();
+        if (status == null) {
+            return current.active().get() + current.inactive().get();
+        }
+        return current.counter(status).get();
+    }
+
+    // Applied after commit so rolled back writes never skew the counts
+    public void adjust(boolean status, long delta) {
+        afterCommit(() -> {
+            Snapshot current = snapshot;
+            if (current != null) {
+                current.counter(status).addAndGet(delta);
+            }
+        });
+    }
+
+    // A row switched status (toggle / soft delete)
+    public void move(boolean fromStatus) {
+        adjust(fromStatus, -1);
+        adjust(!fromStatus, 1);
+    }
+
+    // Forces a reload on next read, used after bulk writes
+    public void invalidate() {
+        afterCommit(() -> snapshot = null);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired(ttl)) {
+            return current;
+        }
+
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (current == null || current.isExpired(ttl)) {
+                current = new Snapshot(
+                        new AtomicLong(load(true)),
+                        new AtomicLong(load(false)),
+                        System.nanoTime());
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Snapshot(AtomicLong active, AtomicLong inactive, long loadedAt) {
+
+        AtomicLong counter(boolean status) {
+            return status ? active : inactive;
+        }
+
+        boolean isExpired(Duration ttl) {
+            return System.nanoTime() - loadedAt > ttl.toNanos();
+        }
+    }
+}
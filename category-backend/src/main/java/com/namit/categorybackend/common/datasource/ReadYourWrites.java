@@ -0,0 +1,95 @@
+package com.namit.categorybackend.common.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/*
+ * Decides when reads must see the primary even though they are read-only.
+ *
+ * After a write commits, the rest of the request reads from the primary and
+ * the response sets a cookie that keeps the client's next requests there
+ * for the stickiness window, so a client never reads its own write back
+ * from a replica that has not applied it yet. Background work that must
+ * not see stale rows (cache rebuilds after a change) runs in onPrimary().
+ */
+public final class ReadYourWrites {
+
+    public static final String COOKIE = "primary-until";
+
+    private static final String WROTE = ReadYourWrites.class.getName() + ".wrote";
+
+    private static final ThreadLocal<Boolean> primaryOnly = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPinned() {
+        if (Boolean.TRUE.equals(primaryOnly.get())) {
+            return true;
+        }
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        if (attributes.getAttribute(WROTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        Cookie cookie = WebUtils.getCookie(attributes.getRequest(), COOKIE);
+        return cookie != null && parseMillis(cookie.getValue()) > System.currentTimeMillis();
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = primaryOnly.get();
+        primaryOnly.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            primaryOnly.set(previous);
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Called after a write commits; outside a request there is nobody to pin
+    static void wrote(Duration stickiness) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getAttribute(WROTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        attributes.setAttribute(WROTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        ResponseCookie cookie = ResponseCookie
+                .from(COOKIE, String.valueOf(System.currentTimeMillis() + stickiness.toMillis()))
+                .path("/")
+                .maxAge(Duration.ofSeconds(Math.max(1, stickiness.toSeconds())))
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static long parseMillis(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.namit.categorybackend.common.datasource;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/*
+ * Single row written on the primary and read back from the replica to
+ * measure replication lag (see ReplicaRouting). Mapped here so the table
+ * is created with the rest of the schema; nothing loads it through JPA.
+ */
+@Entity
+@Table(name = "replica_heartbeat")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    // Epoch millis of the primary's clock when written
+    @Column(name = "beat_millis", nullable = false)
+    private Long beatMillis;
+}
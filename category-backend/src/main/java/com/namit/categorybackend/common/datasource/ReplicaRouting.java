@@ -0,0 +1,144 @@
+package com.namit.categorybackend.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Primary and replica pools behind one DataSource. Connections are fetched
+ * lazily, on the first statement, when the transaction's read-only flag is
+ * known: @Transactional(readOnly = true) work goes to the replica, the rest
+ * to the primary.
+ *
+ * Reads fall back to the primary while the replica is unreachable or more
+ * than max-lag behind, and while ReadYourWrites pins the request. Lag is the
+ * age of the heartbeat row the replica returns right after the primary
+ * wrote a new one, checked every lag-check-interval; until the first check
+ * succeeds everything goes to the primary.
+ */
+@Slf4j
+public class ReplicaRouting implements Closeable {
+
+    private static final int HEARTBEAT_ID = 1;
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final DataSource dataSource;
+    private final Duration maxLag;
+    private final Duration stickiness;
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+
+    private volatile boolean replicaUsable;
+
+    // null until measured, or when the last check failed
+    private volatile Duration lag;
+
+    public ReplicaRouting(HikariDataSource primary, HikariDataSource replica, Duration maxLag, Duration stickiness) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.stickiness = stickiness;
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        router.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+
+        this.dataSource = new LazyConnectionDataSourceProxy(router);
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public Duration lag() {
+        return lag;
+    }
+
+    public long connections(Target target) {
+        return target == Target.REPLICA ? replicaConnections.sum() : primaryConnections.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT1S}")
+    public void checkLag() {
+        try {
+            long beat = System.currentTimeMillis();
+            JdbcTemplate onPrimary = new JdbcTemplate(primary);
+            if (onPrimary.update("update replica_heartbeat set beat_millis = ? where id = ?", beat, HEARTBEAT_ID) == 0) {
+                onPrimary.update("insert into replica_heartbeat (id, beat_millis) values (?, ?)", HEARTBEAT_ID, beat);
+            }
+
+            List<Long> seen = new JdbcTemplate(replica).queryForList(
+                    "select beat_millis from replica_heartbeat where id = ?", Long.class, HEARTBEAT_ID);
+            // Not replicated yet: at least as far behind as the time since the first beat
+            recordLag(seen.isEmpty() ? null : Duration.ofMillis(Math.max(0, beat - seen.get(0))));
+        } catch (DataAccessException ex) {
+            log.warn("replica-check failed: {}", ex.getMessage());
+            recordLag(null);
+        }
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+
+    // Package-private so tests can simulate a lagging replica
+    void recordLag(Duration measured) {
+        boolean usable = measured != null && measured.compareTo(maxLag) <= 0;
+        if (usable != replicaUsable) {
+            log.info("replica-routing reads={} lagMs={} maxLagMs={}", usable ? "replica" : "primary",
+                    measured == null ? "unknown" : measured.toMillis(), maxLag.toMillis());
+        }
+        this.lag = measured;
+        this.replicaUsable = usable;
+    }
+
+    private Target route() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (readOnly && replicaUsable && !ReadYourWrites.isPinned()) {
+            replicaConnections.increment();
+            return Target.REPLICA;
+        }
+
+        if (!readOnly && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ReadYourWrites.wrote(stickiness);
+                }
+            });
+        }
+        primaryConnections.increment();
+        return Target.PRIMARY;
+    }
+}
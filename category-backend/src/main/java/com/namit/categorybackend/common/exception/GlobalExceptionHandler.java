@@ -1,23 +1,34 @@
 package com.namit.categorybackend.common.exception;
 
 import com.namit.categorybackend.common.response.ApiWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 /*
  * Handles application-wide exceptions and converts them into
- * standard API responses.
+ * standard API responses, counting each one as api.exceptions
+ * by exception type and response status.
  */
 public class GlobalExceptionHandler {
 
+        private final MeterRegistry meterRegistry;
+
         @ExceptionHandler(ResourceAlreadyExistsException.class)
 
         public ResponseEntity<ApiWrapper<Object>> handleResourceAlreadyExists(
                         ResourceAlreadyExistsException ex) {
+                count(ex, HttpStatus.CONFLICT);
                 ApiWrapper<Object> response = ApiWrapper.builder()
                                 .status("error")
                                 .message(ex.getMessage())
@@ -30,6 +41,7 @@ public class GlobalExceptionHandler {
         @ExceptionHandler(MethodArgumentNotValidException.class)
         public ResponseEntity<ApiWrapper<Object>> handleValidationErrors(
                         MethodArgumentNotValidException ex) {
+                count(ex, HttpStatus.BAD_REQUEST);
 
                 String message = ex.getBindingResult()
                                 .getFieldErrors()
@@ -45,6 +57,7 @@ public class GlobalExceptionHandler {
         @ExceptionHandler(IllegalStateException.class)
         public ResponseEntity<ApiWrapper<Object>> handleIllegalState(
                         IllegalStateException ex) {
+                count(ex, HttpStatus.BAD_REQUEST);
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                                 .body(ApiWrapper.error(ex.getMessage()));
         }
@@ -52,12 +65,33 @@ public class GlobalExceptionHandler {
         @ExceptionHandler(IllegalArgumentException.class)
         public ResponseEntity<ApiWrapper<Object>> handleIllegalArgument(
                         IllegalArgumentException ex) {
+                count(ex, HttpStatus.BAD_REQUEST);
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                                 .body(ApiWrapper.error(ex.getMessage()));
         }
 
+        // A versioned row changed between read and write (e.g. PUT racing a reservation)
+        @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+        public ResponseEntity<ApiWrapper<Object>> handleOptimisticLock(
+                        ObjectOptimisticLockingFailureException ex) {
+                count(ex, HttpStatus.CONFLICT);
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body(ApiWrapper.error("The resource was changed concurrently. Reload it and try again."));
+        }
+
+        // No database connection within the pool's timeout: overload, worth a retry
+        @ExceptionHandler(CannotCreateTransactionException.class)
+        public ResponseEntity<ApiWrapper<Object>> handleNoConnection(
+                        CannotCreateTransactionException ex) {
+                count(ex, HttpStatus.SERVICE_UNAVAILABLE);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(ApiWrapper.error("Service is busy. Please try again."));
+        }
+
         @ExceptionHandler(Exception.class)
         public ResponseEntity<ApiWrapper<Object>> handleGenericException(Exception ex) {
+                count(ex, HttpStatus.INTERNAL_SERVER_ERROR);
 
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(ApiWrapper.error("Something went wrong. Please try again."));
@@ -66,7 +100,16 @@ public class GlobalExceptionHandler {
         @ExceptionHandler(ResourceNotFoundException.class)
         public ResponseEntity<ApiWrapper<Object>> handleResourceNotFound(
                         ResourceNotFoundException ex) {
+                count(ex, HttpStatus.NOT_FOUND);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                                 .body(ApiWrapper.error(ex.getMessage()));
         }
+
+        private void count(Exception ex, HttpStatus status) {
+                Counter.builder("api.exceptions")
+                                .tag("exception", ex.getClass().getSimpleName())
+                                .tag("status", String.valueOf(status.value()))
+                                .register(meterRegistry)
+                                .increment();
+        }
 }
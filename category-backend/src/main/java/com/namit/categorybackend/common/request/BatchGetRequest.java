@@ -0,0 +1,22 @@
+package com.namit.categorybackend.common.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetRequest {
+
+    public static final int MAX_IDS = 5000;
+
+    // Ids to look up, answered in this order; duplicates are answered once
+    @NotEmpty(message = "ids must not be empty")
+    @Size(max = MAX_IDS, message = "at most " + MAX_IDS + " ids per request")
+    private List<@NotNull(message = "ids must not contain null") Long> ids;
+}
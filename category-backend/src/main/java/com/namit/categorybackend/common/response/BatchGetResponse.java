@@ -0,0 +1,13 @@
+package com.namit.categorybackend.common.response;
+
+import java.util.List;
+
+/*
+ * Result of a batch lookup by id.
+ * content follows the order of the requested ids; ids that matched
+ * nothing are listed in missingIds, also in request order.
+ */
+public record BatchGetResponse<T>(
+    List<T> content,
+    List<Long> missingIds){
+}
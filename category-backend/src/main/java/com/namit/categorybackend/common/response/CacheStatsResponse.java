@@ -0,0 +1,12 @@
+package com.namit.categorybackend.common.response;
+
+/*
+ * Hit / miss counters of an in-process cache.
+ */
+public record CacheStatsResponse(
+    int size,
+    long hits,
+    long misses,
+    long evictions,
+    double hitRatio){
+}
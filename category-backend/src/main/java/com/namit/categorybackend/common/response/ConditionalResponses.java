@@ -0,0 +1,75 @@
+package com.namit.categorybackend.common.response;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/*
+ * Validators for conditional GET. Read endpoints return ok(...) with an
+ * ETag; Spring compares it with If-None-Match and answers 304 before the
+ * body is serialized. Responses are marked no-cache, so browsers and CDNs
+ * keep a copy but revalidate it on every use.
+ *
+ * There is no Last-Modified: no single timestamp covers what a response
+ * shows. A product shows its category's name, a category its product
+ * counters, and a row leaving a page does not change the newest updatedAt
+ * of the rows left; If-Modified-Since would answer 304 for all of them.
+ */
+public final class ConditionalResponses {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ConditionalResponses() {
+    }
+
+    public static <T> ResponseEntity<T> ok(T body, String eTag) {
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .body(body);
+    }
+
+    // Same as ok(body, eTag) for a page that is already serialized JSON
+    public static ResponseEntity<byte[]> okJson(byte[] json, String eTag) {
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .body(json);
+    }
+
+    // Strong ETag for one resource: its id plus whatever changes with it (updatedAt, joined fields)
+    public static String strongETag(Long id, Object... version) {
+        return "\"" + id + "-" + Long.toHexString(hash(FNV_OFFSET, version)) + "\"";
+    }
+
+    // Weak ETag for a page: row count plus a hash of each row's version and the page level values
+    public static <T> String weakETag(Collection<T> rows, Function<T, Object[]> rowVersion, Object... pageVersion) {
+
+        long hash = hash(FNV_OFFSET, pageVersion);
+        for (T row : rows) {
+            hash = hash(hash, rowVersion.apply(row));
+        }
+        return "W/\"" + rows.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    // 64-bit FNV-1a over the string form of each part, parts separated by a zero char
+    private static long hash(long seed, Object[] parts) {
+
+        long hash = seed;
+        for (Object part : parts) {
+            String value = String.valueOf(part);
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+            hash = hash * FNV_PRIME;
+        }
+        return hash;
+    }
+}
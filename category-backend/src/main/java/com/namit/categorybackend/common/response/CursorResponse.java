@@ -0,0 +1,14 @@
+package com.namit.categorybackend.common.response;
+
+import java.util.List;
+
+/*
+ * Page wrapper for keyset (cursor) listings.
+ * nextCursor is null when there are no further rows.
+ */
+public record CursorResponse<T>(
+    List<T> content,
+    int size,
+    String nextCursor,
+    boolean hasNext){
+}
@@ -0,0 +1,14 @@
+package com.namit.categorybackend.common.response;
+
+import java.util.List;
+
+/*
+ * Page wrapper without totals.
+ * Returned when the client opts out of counting (withTotal=false).
+ */
+public record SliceResponse<T>(
+    List<T> content,
+    int page,
+    int size,
+    boolean hasNext){
+}
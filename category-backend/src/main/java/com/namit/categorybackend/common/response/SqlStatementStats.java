@@ -0,0 +1,12 @@
+package com.namit.categorybackend.common.response;
+
+/*
+ * Executions and timings of one normalized SQL statement since startup.
+ */
+public record SqlStatementStats(
+    String sql,
+    long count,
+    double totalMs,
+    double meanMs,
+    double maxMs){
+}
@@ -0,0 +1,47 @@
+package com.namit.categorybackend.common.util;
+
+import com.namit.categorybackend.common.response.BatchGetResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+ * Resolves a list of ids with one IN query per chunk and puts the rows back
+ * in request order. Chunks keep the IN list within what databases and the
+ * query plan cache handle well.
+ */
+public class BatchLookup {
+
+    public static final int CHUNK_SIZE = 1000;
+
+    public static <T> BatchGetResponse<T> byIds(List<Long> ids,
+            Function<List<Long>, List<T>> loader,
+            Function<T, Long> idOf) {
+
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+
+        Map<Long, T> found = new HashMap<>(distinctIds.size() * 2);
+        for (int from = 0; from < distinctIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + CHUNK_SIZE, distinctIds.size()));
+            for (T row : loader.apply(chunk)) {
+                found.put(idOf.apply(row), row);
+            }
+        }
+
+        List<T> content = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            T row = found.get(id);
+            if (row != null) {
+                content.add(row);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchGetResponse<>(content, missingIds);
+    }
+}
@@ -0,0 +1,81 @@
+package com.namit.categorybackend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/*
+ * Application executors. With spring.threads.virtual.enabled on Java 21 the
+ * pools keep their size and queue (they bound how many connections background
+ * work may hold) but run each task on a virtual thread.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // Background jobs (category reassignment); kept small so jobs never starve the DB pool
+    @Bean(name = "jobExecutor")
+    public ThreadPoolTaskExecutor jobExecutor(
+            @Value("${app.jobs.pool-size:2}") int poolSize,
+            @Value("${app.jobs.queue-capacity:100}") int queueCapacity,
+            Environment environment) {
+
+        ThreadPoolTaskExecutor executor = newExecutor("job-", environment);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    // Background cache rebuilds; one thread, rebuild requests are coalesced by the caches
+    @Bean(name = "cacheRefreshExecutor")
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(
+            @Value("${app.cache.refresh.queue-capacity:16}") int queueCapacity,
+            Environment environment) {
+
+        ThreadPoolTaskExecutor executor = newExecutor("cache-refresh-", environment);
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+
+    // Change relay passes nudged by commits; one at a time, further nudges coalesce
+    @Bean(name = "changeRelayExecutor")
+    public ThreadPoolTaskExecutor changeRelayExecutor(Environment environment) {
+
+        ThreadPoolTaskExecutor executor = newExecutor("change-relay-", environment);
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        return executor;
+    }
+
+    // Writes to live change stream clients; a client's backlog is bounded by ChangeStream, not here
+    @Bean(name = "changeStreamExecutor")
+    public ThreadPoolTaskExecutor changeStreamExecutor(
+            @Value("${app.changes.stream.sender-threads:4}") int senderThreads,
+            Environment environment) {
+
+        ThreadPoolTaskExecutor executor = newExecutor("change-stream-", environment);
+        executor.setCorePoolSize(senderThreads);
+        executor.setMaxPoolSize(senderThreads);
+        return executor;
+    }
+
+    private static ThreadPoolTaskExecutor newExecutor(String threadNamePrefix, Environment environment) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,75 @@
+package com.namit.categorybackend.config;
+
+import com.namit.categorybackend.category.cache.CategoryCache;
+import com.namit.categorybackend.category.counter.CategoryCountReconciler;
+import com.namit.categorybackend.change.service.ChangeStream;
+import com.namit.categorybackend.common.response.CacheStatsResponse;
+import com.namit.categorybackend.product.cache.StorefrontPageCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Supplier;
+
+/*
+ * Meters Boot does not register on its own. Requests (http.server.requests),
+ * repository calls (spring.data.repository.invocations) and the Hikari pool
+ * (hikaricp.connections.*) come from auto-configuration; service methods are
+ * timed as catalog.service through @Timed on each service class.
+ *
+ * The in-process caches use Micrometer's cache meter names, so the hit ratio
+ * is cache_gets_total{result="hit"} over cache_gets_total per cache tag.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder categoryCacheMetrics(CategoryCache categoryCache) {
+        return registry -> bindCache(registry, "category", categoryCache::stats);
+    }
+
+    @Bean
+    public MeterBinder storefrontCacheMetrics(StorefrontPageCache storefrontPageCache) {
+        return registry -> bindCache(registry, "storefront", storefrontPageCache::stats);
+    }
+
+    @Bean
+    public MeterBinder changeStreamMetrics(ChangeStream changeStream) {
+        return registry -> {
+            Gauge.builder("changes.stream.clients", changeStream, ChangeStream::clients)
+                    .description("Open live change streams on this node")
+                    .register(registry);
+            FunctionCounter.builder("changes.stream.resyncs", changeStream, ChangeStream::resyncs)
+                    .description("Streams that fell a full buffer behind and were told to reload")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder categoryCountMetrics(CategoryCountReconciler reconciler) {
+        return registry -> FunctionCounter.builder("categories.product_counts.drifted", reconciler,
+                        CategoryCountReconciler::drifted)
+                .description("Categories whose product counters the reconciliation found wrong and recounted")
+                .register(registry);
+    }
+
+    private static void bindCache(MeterRegistry registry, String cache, Supplier<CacheStatsResponse> stats) {
+        FunctionCounter.builder("cache.gets", stats, s -> s.get().hits())
+                .tags("cache", cache, "result", "hit")
+                .description("Lookups answered from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", stats, s -> s.get().misses())
+                .tags("cache", cache, "result", "miss")
+                .description("Lookups that went to the database")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", stats, s -> s.get().evictions())
+                .tags("cache", cache)
+                .register(registry);
+        Gauge.builder("cache.size", stats, s -> s.get().size())
+                .tags("cache", cache)
+                .register(registry);
+    }
+}
@@ -0,0 +1,89 @@
+package com.namit.categorybackend.config;
+
+import com.namit.categorybackend.common.datasource.ReplicaRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/*
+ * Replaces Boot's single pool when app.datasource.replica.url is set.
+ * The primary keeps the spring.datasource.* settings (including
+ * spring.datasource.hikari.*); the replica takes app.datasource.replica.*
+ * and falls back to the primary's credentials and driver.
+ *
+ * Only the routing DataSource is a bean, so JPA, JdbcTemplate and the SQL
+ * profiler see one DataSource; the pools report their own hikaricp metrics.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRouting replicaRouting(DataSourceProperties properties, Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.replica.max-lag:PT5S}") Duration maxLag,
+            @Value("${app.datasource.replica.stickiness:${app.datasource.replica.max-lag:PT5S}}") Duration stickiness) {
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(environment.getRequiredProperty("app.datasource.replica.url"))
+                .username(environment.getProperty("app.datasource.replica.username", properties.determineUsername()))
+                .password(environment.getProperty("app.datasource.replica.password", properties.determinePassword()))
+                .build();
+        Binder.get(environment).bind("app.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+
+        meterRegistry.ifAvailable(registry -> {
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        });
+
+        return new ReplicaRouting(primary, replica, maxLag, stickiness);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouting replicaRouting) {
+        return replicaRouting.dataSource();
+    }
+
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ReplicaRouting replicaRouting) {
+        return registry -> {
+            Gauge.builder("replica.lag", replicaRouting,
+                    routing -> routing.lag() == null ? Double.NaN : routing.lag().toMillis() / 1000.0)
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("replica.usable", replicaRouting, routing -> routing.isReplicaUsable() ? 1 : 0)
+                    .register(registry);
+            for (ReplicaRouting.Target target : ReplicaRouting.Target.values()) {
+                FunctionCounter.builder("replica.routing.connections", replicaRouting,
+                        routing -> routing.connections(target))
+                        .tag("target", target.name().toLowerCase())
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.namit.categorybackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Periodic maintenance: reservation expiry, hot stock flushes
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
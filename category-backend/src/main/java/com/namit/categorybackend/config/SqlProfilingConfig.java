@@ -0,0 +1,33 @@
+package com.namit.categorybackend.config;
+
+import com.namit.categorybackend.profiling.SqlProfiler;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Routes every JDBC statement through SqlProfiler; app.sql.profiling.enabled=false turns it off
+@Configuration
+@ConditionalOnProperty(name = "app.sql.profiling.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfilingConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlProfilingDataSourceWrapper(ObjectProvider<SqlProfiler> sqlProfiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(sqlProfiler.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
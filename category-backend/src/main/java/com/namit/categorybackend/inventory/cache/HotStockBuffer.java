@@ -0,0 +1,179 @@
+package com.namit.categorybackend.inventory.cache;
+
+import com.namit.categorybackend.product.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Absorbs reservations for configured hot products (flash sales) in memory.
+ * The node leases stock from the product row in blocks of app.inventory.hot.block-size
+ * with the same conditional UPDATE as a normal reservation, then hands it out
+ * from a striped counter with CAS only. One row update per block instead of
+ * per sale keeps the row lock out of the hot path.
+ *
+ * Leased units are already gone from inventory_count, so the database can
+ * never oversell; unused units go back in one UPDATE per product every
+ * flush-interval and on shutdown. Until then the row under-reports stock by
+ * at most one block per node. A failed return keeps the units buffered
+ * until a later flush gets them back.
+ */
+@Slf4j
+@Component
+public class HotStockBuffer {
+
+    // Longs per stripe; 8 x 8 bytes keeps each stripe on its own cache line
+    private static final int PADDING = 8;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final Set<Long> hotProductIds;
+    private final int blockSize;
+    private final int stripes;
+
+    private final Map<Long, Stock> stock = new ConcurrentHashMap<>();
+
+    public HotStockBuffer(ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.inventory.hot-product-ids:}") List<Long> hotProductIds,
+            @Value("${app.inventory.hot.block-size:100}") int blockSize) {
+        this.productRepository = productRepository;
+        this.hotProductIds = Set.copyOf(hotProductIds);
+        this.blockSize = blockSize;
+        this.stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2);
+
+        // Leases commit on their own: a rolled back reservation must not undo a lease the buffer already holds
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isHot(Long productId) {
+        return hotProductIds.contains(productId);
+    }
+
+    // False when the product row cannot cover the quantity either
+    public boolean take(Long productId, int quantity) {
+
+        Stock product = stock.computeIfAbsent(productId, id -> new Stock(stripes));
+        if (product.take(quantity)) {
+            return true;
+        }
+
+        // One lease at a time per product; whoever waited re-checks what the last lease brought
+        product.leaseLock.lock();
+        try {
+            if (product.take(quantity)) {
+                return true;
+            }
+            int block = Math.max(blockSize, quantity);
+            if (lease(productId, block)) {
+                product.add(block - quantity);
+                return true;
+            }
+            return block > quantity && lease(productId, quantity);
+        } finally {
+            product.leaseLock.unlock();
+        }
+    }
+
+    // Released or rolled back units go back to the buffer, not the row
+    public void give(Long productId, int quantity) {
+        stock.computeIfAbsent(productId, id -> new Stock(stripes)).add(quantity);
+    }
+
+    // Units leased but not handed out
+    public long buffered(Long productId) {
+        Stock product = stock.get(productId);
+        return product == null ? 0 : product.total();
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${app.inventory.hot.flush-interval:PT5S}")
+    public void flush() {
+        stock.forEach((productId, product) -> {
+            long unused = product.drain();
+            if (unused <= 0) {
+                return;
+            }
+            try {
+                leaseTransaction.executeWithoutResult(status ->
+                        productRepository.returnStock(productId, unused, Instant.now()));
+            } catch (RuntimeException ex) {
+                // Units that did not reach the row stay leased for the next flush; other products still flush
+                product.add(unused);
+                log.warn("Returning {} buffered units of product {} failed, retrying on the next flush",
+                        unused, productId, ex);
+            }
+        });
+    }
+
+    private boolean lease(Long productId, int quantity) {
+        Integer rows = leaseTransaction.execute(status ->
+                productRepository.takeStock(productId, quantity, Instant.now()));
+        return rows != null && rows == 1;
+    }
+
+    private static final class Stock {
+
+        private final AtomicLongArray cells;
+        private final int stripes;
+        private final ReentrantLock leaseLock = new ReentrantLock();
+
+        Stock(int stripes) {
+            this.stripes = stripes;
+            this.cells = new AtomicLongArray(stripes * PADDING);
+        }
+
+        // Starts at a random stripe so concurrent takers rarely CAS the same cell
+        boolean take(int quantity) {
+            int start = ThreadLocalRandom.current().nextInt(stripes);
+            for (int i = 0; i < stripes; i++) {
+                int cell = ((start + i) & (stripes - 1)) * PADDING;
+                long current = cells.get(cell);
+                while (current >= quantity) {
+                    if (cells.compareAndSet(cell, current, current - quantity)) {
+                        return true;
+                    }
+                    current = cells.get(cell);
+                }
+            }
+            return false;
+        }
+
+        void add(long quantity) {
+            if (quantity > 0) {
+                cells.addAndGet(ThreadLocalRandom.current().nextInt(stripes) * PADDING, quantity);
+            }
+        }
+
+        long drain() {
+            long total = 0;
+            for (int i = 0; i < stripes; i++) {
+                total += cells.getAndSet(i * PADDING, 0);
+            }
+            return total;
+        }
+
+        long total() {
+            long total = 0;
+            for (int i = 0; i < stripes; i++) {
+                total += cells.get(i * PADDING);
+            }
+            return total;
+        }
+    }
+}
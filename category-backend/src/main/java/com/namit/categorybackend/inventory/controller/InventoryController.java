@@ -0,0 +1,83 @@
+package com.namit.categorybackend.inventory.controller;
+
+import com.namit.categorybackend.common.response.ApiWrapper;
+import com.namit.categorybackend.inventory.dto.ReservationRequest;
+import com.namit.categorybackend.inventory.dto.ReservationResponse;
+import com.namit.categorybackend.inventory.service.InventoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/inventory/reservations")
+@RequiredArgsConstructor
+public class InventoryController {
+
+        private final InventoryService inventoryService;
+
+        // Reserve stock for a checkout
+        @Operation(summary = "Reserve stock of a product")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "201", description = "Stock reserved"),
+                        @ApiResponse(responseCode = "400", description = "Validation error or not enough stock"),
+                        @ApiResponse(responseCode = "404", description = "Active product not found")
+        })
+        @PostMapping
+        public ResponseEntity<ApiWrapper<ReservationResponse>> reserve(
+                        @Valid @RequestBody ReservationRequest request) {
+
+                ReservationResponse response = inventoryService.reserve(request);
+
+                return ResponseEntity.status(HttpStatus.CREATED)
+                                .body(ApiWrapper.success("Stock reserved successfully", response));
+        }
+
+        // Get reservation by ID
+        @Operation(summary = "Get a reservation")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Reservation retrieved"),
+                        @ApiResponse(responseCode = "404", description = "Reservation not found")
+        })
+        @GetMapping("/{id}")
+        public ResponseEntity<ApiWrapper<ReservationResponse>> getReservation(@PathVariable Long id) {
+
+                ReservationResponse response = inventoryService.getReservation(id);
+
+                return ResponseEntity.ok(ApiWrapper.success("Reservation retrieved successfully", response));
+        }
+
+        // Make the reservation final once the order is placed
+        @Operation(summary = "Commit a held reservation")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Reservation committed"),
+                        @ApiResponse(responseCode = "400", description = "Reservation is no longer held"),
+                        @ApiResponse(responseCode = "404", description = "Reservation not found")
+        })
+        @PostMapping("/{id}/commit")
+        public ResponseEntity<ApiWrapper<ReservationResponse>> commit(@PathVariable Long id) {
+
+                ReservationResponse response = inventoryService.commit(id);
+
+                return ResponseEntity.ok(ApiWrapper.success("Reservation committed successfully", response));
+        }
+
+        // Give the stock back (cart abandoned, payment failed)
+        @Operation(summary = "Release a held reservation")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Reservation released"),
+                        @ApiResponse(responseCode = "400", description = "Reservation is no longer held"),
+                        @ApiResponse(responseCode = "404", description = "Reservation not found")
+        })
+        @PostMapping("/{id}/release")
+        public ResponseEntity<ApiWrapper<ReservationResponse>> release(@PathVariable Long id) {
+
+                ReservationResponse response = inventoryService.release(id);
+
+                return ResponseEntity.ok(ApiWrapper.success("Reservation released successfully", response));
+        }
+}
@@ -0,0 +1,28 @@
+package com.namit.categorybackend.inventory.dto;
+
+import com.namit.categorybackend.inventory.entity.ReservationStatus;
+import lombok.*;
+
+import java.time.Instant;
+
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponse {
+
+    private Long reservationId;
+
+    private Long productId;
+
+    private Integer quantity;
+
+    private ReservationStatus status;
+
+    private Instant expiresAt;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+}
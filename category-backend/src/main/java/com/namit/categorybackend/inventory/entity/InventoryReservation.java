@@ -0,0 +1,55 @@
+package com.namit.categorybackend.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+/*
+ * Stock set aside for one checkout. The units leave products.inventory_count
+ * when the reservation is made; commit keeps them gone, release (or expiry)
+ * puts them back. Only HELD reservations can change status.
+ */
+@Entity
+@Table(name = "inventory_reservations", indexes = {
+        // Backs the expiry sweep: WHERE status = 'HELD' AND expires_at < ?
+        @Index(name = "idx_reservations_status_expires_at", columnList = "status, expires_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    // Plain id, not an association: reservations never need the product row loaded
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private ReservationStatus status;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private Instant createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
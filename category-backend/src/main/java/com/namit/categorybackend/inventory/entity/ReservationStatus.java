@@ -0,0 +1,7 @@
+package com.namit.categorybackend.inventory.entity;
+
+public enum ReservationStatus {
+    HELD,
+    COMMITTED,
+    RELEASED
+}
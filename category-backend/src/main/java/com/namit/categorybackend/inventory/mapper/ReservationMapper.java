@@ -0,0 +1,19 @@
+package com.namit.categorybackend.inventory.mapper;
+
+import com.namit.categorybackend.inventory.dto.ReservationResponse;
+import com.namit.categorybackend.inventory.entity.InventoryReservation;
+
+public class ReservationMapper {
+
+    public static ReservationResponse toResponse(InventoryReservation reservation) {
+        return ReservationResponse.builder()
+                .reservationId(reservation.getReservationId())
+                .productId(reservation.getProductId())
+                .quantity(reservation.getQuantity())
+                .status(reservation.getStatus())
+                .expiresAt(reservation.getExpiresAt())
+                .createdAt(reservation.getCreatedAt())
+                .updatedAt(reservation.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.namit.categorybackend.inventory.repository;
+
+import com.namit.categorybackend.inventory.entity.InventoryReservation;
+import com.namit.categorybackend.inventory.entity.ReservationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface InventoryReservationRepository extends JpaRepository<InventoryReservation, Long> {
+
+    /*
+     * Moves a HELD reservation to its final status. The status check makes
+     * commit / release / expiry race-safe: exactly one of them gets 1 row.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update InventoryReservation r set r.status = :status, r.updatedAt = :updatedAt "
+            + "where r.reservationId = :reservationId "
+            + "and r.status = com.namit.categorybackend.inventory.entity.ReservationStatus.HELD")
+    int finishHeld(@Param("reservationId") Long reservationId,
+            @Param("status") ReservationStatus status,
+            @Param("updatedAt") Instant updatedAt);
+
+    // Next batch of holds past their expiry, oldest first
+    @Query("select r.reservationId from InventoryReservation r "
+            + "where r.status = com.namit.categorybackend.inventory.entity.ReservationStatus.HELD "
+            + "and r.expiresAt < :now order by r.expiresAt")
+    List<Long> findExpiredHeldIds(@Param("now") Instant now, Pageable pageable);
+}
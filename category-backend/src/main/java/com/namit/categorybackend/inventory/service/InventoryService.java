@@ -0,0 +1,22 @@
+package com.namit.categorybackend.inventory.service;
+
+import com.namit.categorybackend.inventory.dto.ReservationRequest;
+import com.namit.categorybackend.inventory.dto.ReservationResponse;
+
+public interface InventoryService {
+
+    // Takes the quantity out of stock and holds it until commit, release or expiry
+    ReservationResponse reserve(ReservationRequest request);
+
+    // Get a reservation by ID
+    ReservationResponse getReservation(Long reservationId);
+
+    // Makes a held reservation final (the order went through)
+    ReservationResponse commit(Long reservationId);
+
+    // Gives a held reservation's stock back
+    ReservationResponse release(Long reservationId);
+
+    // Releases holds past their expiry, returns how many
+    int releaseExpired();
+}
@@ -0,0 +1,174 @@
+package com.namit.categorybackend.inventory.service.impl;
+
+import com.namit.categorybackend.common.exception.ResourceNotFoundException;
+import com.namit.categorybackend.inventory.cache.HotStockBuffer;
+import com.namit.categorybackend.inventory.dto.ReservationRequest;
+import com.namit.categorybackend.inventory.dto.ReservationResponse;
+import com.namit.categorybackend.inventory.entity.InventoryReservation;
+import com.namit.categorybackend.inventory.entity.ReservationStatus;
+import com.namit.categorybackend.inventory.mapper.ReservationMapper;
+import com.namit.categorybackend.inventory.repository.InventoryReservationRepository;
+import com.namit.categorybackend.inventory.service.InventoryService;
+import com.namit.categorybackend.product.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * Stock moves with conditional UPDATEs only (products.inventory_count and the
+ * reservation status), never read-modify-write, so concurrent sales cannot
+ * lose updates and each transaction locks at most one product row.
+ *
+ * Transactions are opened here with the TransactionTemplate instead of
+ * @Transactional: hot products take from HotStockBuffer before any
+ * transaction starts, so a block lease never waits for a second connection
+ * while this request holds one.
+ */
+@Service
+@Timed("catalog.service")
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final int EXPIRY_BATCH_SIZE = 500;
+
+    private final InventoryReservationRepository reservationRepository;
+    private final ProductRepository productRepository;
+    private final HotStockBuffer hotStockBuffer;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdTtl;
+
+    public InventoryServiceImpl(InventoryReservationRepository reservationRepository,
+            ProductRepository productRepository,
+            HotStockBuffer hotStockBuffer,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.inventory.hold-ttl:PT15M}") Duration holdTtl) {
+        this.reservationRepository = reservationRepository;
+        this.productRepository = productRepository;
+        this.hotStockBuffer = hotStockBuffer;
+        this.transactionTemplate = transactionTemplate;
+        this.holdTtl = holdTtl;
+    }
+
+    @Override
+    public ReservationResponse reserve(ReservationRequest request) {
+
+        Long productId = request.getProductId();
+        int quantity = request.getQuantity();
+
+        if (!hotStockBuffer.isHot(productId)) {
+            return transactionTemplate.execute(status -> {
+                if (productRepository.takeStock(productId, quantity, Instant.now()) == 0) {
+                    throw notReservable(productId, quantity);
+                }
+                return hold(productId, quantity);
+            });
+        }
+
+        if (!hotStockBuffer.take(productId, quantity)) {
+            throw notReservable(productId, quantity);
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                // Units leased before the product was switched off must not be sold; a primary key read, no row lock
+                if (!productRepository.existsByProductIdAndStatusTrue(productId)) {
+                    throw new ResourceNotFoundException("Active product not found with ID: " + productId);
+                }
+                return hold(productId, quantity);
+            });
+        } catch (RuntimeException ex) {
+            hotStockBuffer.give(productId, quantity);
+            throw ex;
+        }
+    }
+
+    @Override
+    public ReservationResponse getReservation(Long reservationId) {
+        return ReservationMapper.toResponse(find(reservationId));
+    }
+
+    @Override
+    public ReservationResponse commit(Long reservationId) {
+        return transactionTemplate.execute(status -> {
+            finishHeld(reservationId, ReservationStatus.COMMITTED);
+            return ReservationMapper.toResponse(find(reservationId));
+        });
+    }
+
+    @Override
+    public ReservationResponse release(Long reservationId) {
+
+        InventoryReservation released = transactionTemplate.execute(status -> {
+            finishHeld(reservationId, ReservationStatus.RELEASED);
+            InventoryReservation reservation = find(reservationId);
+            if (!hotStockBuffer.isHot(reservation.getProductId())) {
+                productRepository.returnStock(reservation.getProductId(), reservation.getQuantity(), Instant.now());
+            }
+            return reservation;
+        });
+
+        // Now committed: a hot product's units go back to the buffer and reach the row with the next flush
+        if (hotStockBuffer.isHot(released.getProductId())) {
+            hotStockBuffer.give(released.getProductId(), released.getQuantity());
+        }
+        return ReservationMapper.toResponse(released);
+    }
+
+    // Holds nobody committed or released in time go back to stock
+    @Override
+    @Scheduled(fixedDelayString = "${app.inventory.expiry-interval:PT1M}")
+    public int releaseExpired() {
+
+        int released = 0;
+        List<Long> expired;
+        do {
+            expired = reservationRepository.findExpiredHeldIds(Instant.now(), PageRequest.of(0, EXPIRY_BATCH_SIZE));
+            for (Long reservationId : expired) {
+                try {
+                    release(reservationId);
+                    released++;
+                } catch (IllegalStateException ex) {
+                    // Committed or released concurrently, nothing to give back
+                }
+            }
+        } while (expired.size() == EXPIRY_BATCH_SIZE);
+        return released;
+    }
+
+    // Private helper methods
+
+    private ReservationResponse hold(Long productId, int quantity) {
+        InventoryReservation reservation = reservationRepository.save(InventoryReservation.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .status(ReservationStatus.HELD)
+                .expiresAt(Instant.now().plus(holdTtl))
+                .build());
+        return ReservationMapper.toResponse(reservation);
+    }
+
+    private void finishHeld(Long reservationId, ReservationStatus status) {
+        if (reservationRepository.finishHeld(reservationId, status, Instant.now()) == 0) {
+            InventoryReservation reservation = find(reservationId);
+            throw new IllegalStateException("Reservation " + reservationId + " is already "
+                    + reservation.getStatus().name().toLowerCase() + ".");
+        }
+    }
+
+    private InventoryReservation find(Long reservationId) {
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + reservationId));
+    }
+
+    private RuntimeException notReservable(Long productId, int quantity) {
+        if (!productRepository.existsByProductIdAndStatusTrue(productId)) {
+            return new ResourceNotFoundException("Active product not found with ID: " + productId);
+        }
+        return new IllegalStateException("Not enough stock to reserve " + quantity + " of product " + productId + ".");
+    }
+}
@@ -0,0 +1,34 @@
+package com.namit.categorybackend.job.controller;
+
+import com.namit.categorybackend.common.response.ApiWrapper;
+import com.namit.categorybackend.job.dto.JobResponse;
+import com.namit.categorybackend.job.service.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+        private final JobService jobService;
+
+        // Polls progress of a background job
+        @Operation(summary = "Get background job progress")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Job retrieved"),
+                        @ApiResponse(responseCode = "404", description = "Job not found")
+        })
+        @GetMapping("/{id}")
+        public ResponseEntity<ApiWrapper<JobResponse>> getJob(@PathVariable String id) {
+
+                JobResponse response = jobService.getJob(id);
+
+                return ResponseEntity.ok(
+                                ApiWrapper.success("Job retrieved successfully", response));
+        }
+}
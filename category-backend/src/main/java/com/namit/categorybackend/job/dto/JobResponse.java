@@ -0,0 +1,38 @@
+package com.namit.categorybackend.job.dto;
+
+import com.namit.categorybackend.job.entity.JobStatus;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobResponse {
+
+    private String jobId;
+
+    private String type;
+
+    private Long resourceId;
+
+    private JobStatus status;
+
+    private long totalItems;
+
+    private long processedItems;
+
+    private double percentComplete;
+
+    private double itemsPerSecond;
+
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private String error;
+}
@@ -0,0 +1,76 @@
+package com.namit.categorybackend.job.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/*
+ * A background job, stored so that any node can report its progress.
+ * Written by the worker thread, read by GET /api/v1/jobs/{id}.
+ *
+ * activeResource is "type:resourceId" while the job is queued or running and
+ * null once it finished; its unique index allows one unfinished job per
+ * resource across all nodes. The node that queued the job keeps heartbeatAt
+ * fresh until it finishes.
+ */
+@Entity
+@Table(name = "jobs", indexes = {
+        @Index(name = "uk_jobs_active_resource", columnList = "active_resource", unique = true),
+        // Backs the stale-job sweep
+        @Index(name = "idx_jobs_heartbeat_at", columnList = "heartbeat_at"),
+        // Backs the retention purge
+        @Index(name = "idx_jobs_finished_at", columnList = "finished_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Job {
+
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private JobStatus status;
+
+    @Column(name = "total_items", nullable = false)
+    private long totalItems;
+
+    @Column(name = "processed_items", nullable = false)
+    private long processedItems;
+
+    @Column(name = "active_resource", length = 100)
+    private String activeResource;
+
+    @Column(name = "owner_node", nullable = false, length = 36)
+    private String ownerNode;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private Instant heartbeatAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(length = 500)
+    private String error;
+
+    public boolean isFinished() {
+        return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+    }
+}
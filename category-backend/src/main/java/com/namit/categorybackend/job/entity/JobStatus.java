@@ -0,0 +1,8 @@
+package com.namit.categorybackend.job.entity;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
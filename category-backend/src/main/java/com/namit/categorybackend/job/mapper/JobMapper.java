@@ -0,0 +1,42 @@
+package com.namit.categorybackend.job.mapper;
+
+import com.namit.categorybackend.job.dto.JobResponse;
+import com.namit.categorybackend.job.entity.Job;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class JobMapper {
+
+    public static JobResponse toResponse(Job job) {
+
+        long processed = job.getProcessedItems();
+
+        // Items may be added while a job runs, so never report above 100%
+        double percent = job.getTotalItems() == 0
+                ? (job.isFinished() ? 100.0 : 0.0)
+                : Math.min(100.0, processed * 100.0 / job.getTotalItems());
+
+        double itemsPerSecond = 0.0;
+        if (job.getStartedAt() != null) {
+            Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+            long millis = Duration.between(job.getStartedAt(), end).toMillis();
+            itemsPerSecond = millis == 0 ? processed : processed * 1000.0 / millis;
+        }
+
+        return JobResponse.builder()
+                .jobId(job.getJobId())
+                .type(job.getType())
+                .resourceId(job.getResourceId())
+                .status(job.getStatus())
+                .totalItems(job.getTotalItems())
+                .processedItems(processed)
+                .percentComplete(percent)
+                .itemsPerSecond(itemsPerSecond)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .error(job.getError())
+                .build();
+    }
+}
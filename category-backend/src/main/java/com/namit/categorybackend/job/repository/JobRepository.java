@@ -0,0 +1,44 @@
+package com.namit.categorybackend.job.repository;
+
+import com.namit.categorybackend.job.entity.Job;
+import com.namit.categorybackend.job.entity.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+// Updates only touch unfinished jobs (active_resource set) and return 0 once a job finished
+public interface JobRepository extends JpaRepository<Job, String> {
+
+    @Modifying
+    @Query("update Job j set j.status = :status, j.startedAt = :now, j.heartbeatAt = :now "
+            + "where j.jobId = :jobId and j.activeResource is not null")
+    int markStarted(@Param("jobId") String jobId, @Param("status") JobStatus status, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update Job j set j.processedItems = j.processedItems + :items, j.heartbeatAt = :now "
+            + "where j.jobId = :jobId and j.activeResource is not null")
+    int addProgress(@Param("jobId") String jobId, @Param("items") long items, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update Job j set j.status = :status, j.error = :error, j.finishedAt = :now, j.activeResource = null "
+            + "where j.jobId = :jobId and j.activeResource is not null")
+    int markFinished(@Param("jobId") String jobId, @Param("status") JobStatus status,
+            @Param("error") String error, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update Job j set j.heartbeatAt = :now where j.ownerNode = :ownerNode and j.activeResource is not null")
+    int touchOwnedBy(@Param("ownerNode") String ownerNode, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update Job j set j.status = :status, j.error = :error, j.finishedAt = :now, j.activeResource = null "
+            + "where j.activeResource is not null and j.heartbeatAt < :before")
+    int markStale(@Param("before") Instant before, @Param("status") JobStatus status,
+            @Param("error") String error, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from Job j where j.finishedAt < :before")
+    int deleteFinishedBefore(@Param("before") Instant before);
+}
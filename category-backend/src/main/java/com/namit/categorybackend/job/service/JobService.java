@@ -0,0 +1,25 @@
+package com.namit.categorybackend.job.service;
+
+import com.namit.categorybackend.job.dto.JobResponse;
+import com.namit.categorybackend.job.entity.Job;
+
+public interface JobService {
+
+    // Registers a new queued job, rejecting a second unfinished job for the same resource
+    Job createJob(String type, Long resourceId, long totalItems);
+
+    // Returns current progress of a job
+    JobResponse getJob(String jobId);
+
+    // Worker updates; all but fail throw IllegalStateException once the job has finished
+    void start(String jobId);
+
+    void progress(String jobId, long items);
+
+    void complete(String jobId);
+
+    void fail(String jobId, String message);
+
+    // Keeps this node's unfinished jobs alive and fails jobs whose node stopped heartbeating
+    void heartbeat();
+}
@@ -0,0 +1,147 @@
+package com.namit.categorybackend.job.service.impl;
+
+import com.namit.categorybackend.common.exception.ResourceNotFoundException;
+import com.namit.categorybackend.job.dto.JobResponse;
+import com.namit.categorybackend.job.entity.Job;
+import com.namit.categorybackend.job.entity.JobStatus;
+import com.namit.categorybackend.job.mapper.JobMapper;
+import com.namit.categorybackend.job.repository.JobRepository;
+import com.namit.categorybackend.job.service.JobService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/*
+ * Jobs live in the jobs table, so GET /api/v1/jobs/{id} and the
+ * one-job-per-resource rule work on every node, not only the one running it.
+ *
+ * The worker runs on the node that queued the job. That node refreshes the
+ * heartbeat of its unfinished jobs every heartbeat-interval; a job whose
+ * heartbeat is older than stale-after, because its node crashed or was
+ * stopped, is failed by whichever node sweeps first, which frees the
+ * resource for a new job. Finished jobs are deleted after retention.
+ */
+@Slf4j
+@Service
+@Timed("catalog.service")
+public class JobServiceImpl implements JobService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final Duration staleAfter;
+
+    // Identifies this process as the owner of the jobs it queued
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public JobServiceImpl(JobRepository jobRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.jobs.retention:PT1H}") Duration retention,
+            @Value("${app.jobs.stale-after:PT1M}") Duration staleAfter) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.staleAfter = staleAfter;
+    }
+
+    /*
+     * Runs its own transaction and flushes the insert, so a duplicate active
+     * resource surfaces here as a conflict instead of at the caller's commit.
+     */
+    @Override
+    public Job createJob(String type, Long resourceId, long totalItems) {
+
+        Instant now = Instant.now();
+        Job job = Job.builder()
+                .jobId(UUID.randomUUID().toString())
+                .type(type)
+                .resourceId(resourceId)
+                .status(JobStatus.QUEUED)
+                .totalItems(totalItems)
+                .activeResource(type + ":" + resourceId)
+                .ownerNode(nodeId)
+                .heartbeatAt(now)
+                .createdAt(now)
+                .build();
+
+        try {
+            return transactionTemplate.execute(status -> {
+                jobRepository.deleteFinishedBefore(now.minus(retention));
+                return jobRepository.saveAndFlush(job);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new IllegalStateException(
+                    "A " + type + " job is already running for resource " + resourceId);
+        }
+    }
+
+    // Read-write on purpose: progress changes every chunk, so it is read from the primary
+    @Override
+    @Transactional
+    public JobResponse getJob(String jobId) {
+
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found with id " + jobId));
+
+        return JobMapper.toResponse(job);
+    }
+
+    @Override
+    @Transactional
+    public void start(String jobId) {
+        requireUnfinished(jobId, jobRepository.markStarted(jobId, JobStatus.RUNNING, Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    public void progress(String jobId, long items) {
+        requireUnfinished(jobId, jobRepository.addProgress(jobId, items, Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    public void complete(String jobId) {
+        requireUnfinished(jobId, jobRepository.markFinished(jobId, JobStatus.COMPLETED, null, Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    public void fail(String jobId, String message) {
+        String error = message != null && message.length() > MAX_ERROR_LENGTH
+                ? message.substring(0, MAX_ERROR_LENGTH)
+                : message;
+        jobRepository.markFinished(jobId, JobStatus.FAILED, error, Instant.now());
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval:PT10S}")
+    public void heartbeat() {
+        Instant now = Instant.now();
+        jobRepository.touchOwnedBy(nodeId, now);
+
+        int stale = jobRepository.markStale(now.minus(staleAfter), JobStatus.FAILED,
+                "The node running this job stopped before it finished", now);
+        if (stale > 0) {
+            log.warn("Failed {} background jobs whose node stopped heartbeating", stale);
+        }
+    }
+
+    // A job failed by the stale sweep must not be resurrected by a worker that was only paused
+    private void requireUnfinished(String jobId, int updated) {
+        if (updated == 0) {
+            throw new IllegalStateException("Job " + jobId + " has already finished");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.namit.categorybackend.product.cache;
+
+import com.namit.categorybackend.common.cache.StatusCountCache;
+import com.namit.categorybackend.product.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Active / inactive product totals for paged listings
+@Component
+public class ProductCountCache extends StatusCountCache {
+
+    private final ProductRepository productRepository;
+
+    public ProductCountCache(ProductRepository productRepository,
+            @Value("${app.cache.status-count-ttl:PT5M}") Duration ttl) {
+        super(ttl);
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    protected long load(boolean status) {
+        return productRepository.countByStatus(status);
+    }
+}
@@ -0,0 +1,199 @@
+package com.namit.categorybackend.product.cache;
+
+import com.namit.categorybackend.common.datasource.ReadYourWrites;
+import com.namit.categorybackend.common.response.ApiWrapper;
+import com.namit.categorybackend.common.response.CacheStatsResponse;
+import com.namit.categorybackend.common.response.PagedResponse;
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
+import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.event.CatalogChangedEvent;
+import com.namit.categorybackend.product.mapper.ProductETags;
+import com.namit.categorybackend.product.service.ProductService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Serialized JSON of the first storefront pages (default order, no filters),
+ * keyed by (page, size). A hit writes the stored bytes as they are.
+ *
+ * Catalog changes bump a generation after commit and rebuild every cached
+ * page in the background; until the rebuild lands, readers get the previous
+ * bytes instead of queueing on the database. A miss loads synchronously,
+ * and concurrent misses for the same page share one load (single flight).
+ * Entries also expire after the ttl so drift in the totals heals on its own.
+ */
+@Component
+public class StorefrontPageCache {
+
+    private static final String MESSAGE = "Products retrieved successfully";
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor refreshExecutor;
+    private final int maxPages;
+    private final int maxPageSize;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<PageKey, StorefrontPage> pages = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<PageKey, CompletableFuture<StorefrontPage>> loading = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public StorefrontPageCache(ProductService productService,
+            ObjectMapper objectMapper,
+            @Qualifier("cacheRefreshExecutor") TaskExecutor refreshExecutor,
+            @Value("${app.cache.storefront.pages:5}") int maxPages,
+            @Value("${app.cache.storefront.max-page-size:48}") int maxPageSize,
+            @Value("${app.cache.storefront.ttl:PT1M}") Duration ttl) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.refreshExecutor = refreshExecutor;
+        this.maxPages = maxPages;
+        this.maxPageSize = maxPageSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    // Only the unfiltered, default-ordered first pages are cached
+    public boolean isCacheable(int page, int size, ProductFilterRequest filter) {
+        boolean defaultView = filter == null
+                || (!filter.hasCriteria() && filter.getSortBy() == null && filter.getDirection() == null);
+        return defaultView && page >= 0 && page < maxPages && size >= 1 && size <= maxPageSize;
+    }
+
+    public StorefrontPage get(int page, int size) {
+
+        PageKey key = new PageKey(page, size);
+
+        StorefrontPage cached = pages.get(key);
+        if (cached != null) {
+            hits.increment();
+            if (!isFresh(cached)) {
+                refreshInBackground(key);
+            }
+            return cached;
+        }
+
+        misses.increment();
+        try {
+            return load(key).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    // Stale entries served while a rebuild runs count as hits
+    public CacheStatsResponse stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+
+        return new CacheStatsResponse(
+                pages.size(),
+                hitCount,
+                missCount,
+                0,
+                requests == 0 ? 0.0 : (double) hitCount / requests);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        generation.incrementAndGet();
+        scheduleRefresh();
+    }
+
+    // Private helper methods
+
+    private boolean isFresh(StorefrontPage page) {
+        return page.generation() == generation.get() && System.nanoTime() - page.builtAt() < ttlNanos;
+    }
+
+    // Single flight: the first caller renders, everyone else waits on its future
+    private CompletableFuture<StorefrontPage> load(PageKey key) {
+
+        CompletableFuture<StorefrontPage> created = new CompletableFuture<>();
+        CompletableFuture<StorefrontPage> inFlight = loading.putIfAbsent(key, created);
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        try {
+            StorefrontPage page = render(key);
+            pages.put(key, page);
+            created.complete(page);
+        } catch (RuntimeException ex) {
+            created.completeExceptionally(ex);
+        } finally {
+            loading.remove(key, created);
+        }
+        return created;
+    }
+
+    private StorefrontPage render(PageKey key) {
+
+        // Read before loading: a change committed meanwhile leaves this entry stale
+        long builtFor = generation.get();
+
+        PagedResponse<ProductResponse> products = productService.getPublicProducts(key.page(), key.size(), null);
+
+        return new StorefrontPage(
+                objectMapper.writeValueAsBytes(ApiWrapper.success(MESSAGE, products)),
+                ProductETags.ofPage(products.content(), products.page(), products.totalElements()),
+                builtFor,
+                System.nanoTime());
+    }
+
+    private void refreshInBackground(PageKey key) {
+        if (loading.containsKey(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> load(key));
+        } catch (TaskRejectedException ex) {
+            // Queue full: the stale page keeps being served and the next read retries
+        }
+    }
+
+    // Coalesces bursts of changes into one pass over the cached pages
+    private void scheduleRefresh() {
+        if (!refreshScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                refreshScheduled.set(false);
+                // A lagging replica could still return the rows before the change
+                ReadYourWrites.onPrimary(() -> pages.keySet().forEach(this::load));
+            });
+        } catch (TaskRejectedException ex) {
+            refreshScheduled.set(false);
+        }
+    }
+
+    private record PageKey(int page, int size) {
+    }
+
+    public record StorefrontPage(byte[] body, String eTag, long generation, long builtAt) {
+    }
+}
@@ -1,18 +1,42 @@
 package com.namit.categorybackend.product.controller;
 
+import com.namit.categorybackend.common.request.BatchGetRequest;
 import com.namit.categorybackend.common.response.ApiWrapper;
+import com.namit.categorybackend.common.response.BatchGetResponse;
+import com.namit.categorybackend.common.response.ConditionalResponses;
+import com.namit.categorybackend.common.response.CursorResponse;
 import com.namit.categorybackend.common.response.PagedResponse;
+import com.namit.categorybackend.common.response.SliceResponse;
+import com.namit.categorybackend.product.cache.StorefrontPageCache;
+import com.namit.categorybackend.product.dto.ProductFacetsResponse;
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
+import com.namit.categorybackend.product.dto.ProductImportResponse;
 import com.namit.categorybackend.product.dto.ProductRequest;
 import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.mapper.ProductETags;
+import com.namit.categorybackend.product.service.ProductExportService;
+import com.namit.categorybackend.product.service.ProductFacetService;
+import com.namit.categorybackend.product.service.ProductImportService;
+import com.namit.categorybackend.product.service.ProductSearchService;
 import com.namit.categorybackend.product.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -20,6 +44,11 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
         private final ProductService productService;
+        private final ProductImportService productImportService;
+        private final ProductExportService productExportService;
+        private final ProductSearchService productSearchService;
+        private final ProductFacetService productFacetService;
+        private final StorefrontPageCache storefrontPageCache;
 
         // Creates a new product
         @Operation(summary = "Create a new Product")
@@ -38,22 +67,98 @@ public class ProductController {
                                 .body(ApiWrapper.success("Product Created Successfully", response));
         }
 
-        // Gets all active products
+        // Bulk import; the body is streamed, never buffered whole
+        @Operation(summary = "Bulk import products from CSV or NDJSON")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Import finished, see per-row errors"),
+                        @ApiResponse(responseCode = "400", description = "Malformed CSV header or empty body")
+        })
+        @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+        public ResponseEntity<ApiWrapper<ProductImportResponse>> importProducts(
+                        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                        InputStream body) throws IOException {
+
+                ProductImportResponse response = MediaType.APPLICATION_NDJSON
+                                .isCompatibleWith(MediaType.parseMediaType(contentType))
+                                ? productImportService.importNdjson(body)
+                                : productImportService.importCsv(body);
+
+                return ResponseEntity.ok(
+                                ApiWrapper.success("Imported " + response.getImportedRows() + " of "
+                                                + response.getTotalRows() + " products", response));
+        }
+
+        // Full catalog export for indexers; rows are written as they are read
+        @Operation(summary = "Stream the product catalog as NDJSON or CSV")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Catalog streamed")
+        })
+        @GetMapping("/export")
+        public ResponseEntity<StreamingResponseBody> exportProducts(
+                        @RequestParam(defaultValue = "ndjson") String format,
+                        @RequestParam(defaultValue = "all") String status,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince) {
+
+                if ("csv".equalsIgnoreCase(format)) {
+                        return ResponseEntity.ok()
+                                        .contentType(MediaType.parseMediaType("text/csv"))
+                                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=products.csv")
+                                        .body(out -> productExportService.exportCsv(status, updatedSince, out));
+                }
+
+                return ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(out -> productExportService.exportNdjson(status, updatedSince, out));
+        }
+
+        // Gets all active products, optionally filtered (categoryIds, minPrice, maxPrice, inStock,
+        // namePrefix, skuPrefix) and sorted (sortBy, direction)
         @Operation(summary = "Retrieves all products")
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Products Retrieved successfully")
         })
         @GetMapping
-        public ResponseEntity<ApiWrapper<PagedResponse<ProductResponse>>> getAllProducts(
+        public ResponseEntity<ApiWrapper<?>> getAllProducts(
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
-                        @RequestParam(defaultValue = "active") String status) {
+                        @RequestParam(defaultValue = "active") String status,
+                        @RequestParam(defaultValue = "true") boolean withTotal,
+                        @ParameterObject ProductFilterRequest filter) {
 
-                PagedResponse<ProductResponse> product = productService.getAllProducts(page, size, status);
+                // withTotal=false skips totals entirely and only reports hasNext
+                if (!withTotal) {
+                        SliceResponse<ProductResponse> slice = productService.getProductsSlice(page, size, status, filter);
 
-                return ResponseEntity.ok(
+                        return ConditionalResponses.ok(
+                                        ApiWrapper.success("Products retrieved successfully", slice),
+                                        ProductETags.ofPage(slice.content(), slice.page(), slice.hasNext()));
+                }
+
+                PagedResponse<ProductResponse> product = productService.getAllProducts(page, size, status, filter);
+
+                return ConditionalResponses.ok(
                                 ApiWrapper.success(
-                                                "Products retrieved successfully", product));
+                                                "Products retrieved successfully", product),
+                                ProductETags.ofPage(product.content(), product.page(), product.totalElements()));
+        }
+
+        // Gets products page by page using an opaque keyset cursor
+        @Operation(summary = "Retrieves products using cursor pagination")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Products Retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/cursor")
+        public ResponseEntity<ApiWrapper<CursorResponse<ProductResponse>>> getProductsByCursor(
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "10") int size,
+                        @RequestParam(defaultValue = "active") String status) {
+
+                CursorResponse<ProductResponse> products = productService.getProductsByCursor(cursor, size, status);
+
+                return ConditionalResponses.ok(
+                                ApiWrapper.success("Products retrieved successfully", products),
+                                ProductETags.ofPage(products.content(), products.nextCursor()));
         }
 
         // Get product by ID
@@ -68,9 +173,26 @@ public class ProductController {
 
                 ProductResponse product = productService.getProductById(id);
 
-                return ResponseEntity.ok(
-                                ApiWrapper.success("Product fetched successfully", product));
+                // ETag only: the response shows the category name, and a category rename leaves product.updatedAt alone
+                return ConditionalResponses.ok(
+                                ApiWrapper.success("Product fetched successfully", product),
+                                ProductETags.of(product));
+
+        }
 
+        // Get many products by ID in one call (e.g. cart / checkout)
+        @Operation(summary = "Get products by their ids, in request order")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Products found, plus the ids that were not"),
+                        @ApiResponse(responseCode = "400", description = "No ids, a null id or more than 5000 ids")
+        })
+        @PostMapping("/batch-get")
+        public ResponseEntity<ApiWrapper<BatchGetResponse<ProductResponse>>> getProductsByIds(
+                        @Valid @RequestBody BatchGetRequest request) {
+
+                BatchGetResponse<ProductResponse> products = productService.getProductsByIds(request.getIds());
+
+                return ResponseEntity.ok(ApiWrapper.success("Products fetched successfully", products));
         }
 
         // Toggle status
@@ -111,14 +233,83 @@ public class ProductController {
                         @ApiResponse(responseCode = "200", description = "Products retrieved successfully")
         })
         @GetMapping("/public")
-        public ResponseEntity<ApiWrapper<PagedResponse<ProductResponse>>> getPublicProducts(
+        public ResponseEntity<?> getPublicProducts(
                         @RequestParam(defaultValue = "0") int page,
-                        @RequestParam(defaultValue = "12") int size) {
+                        @RequestParam(defaultValue = "12") int size,
+                        @RequestParam(defaultValue = "true") boolean withTotal,
+                        @ParameterObject ProductFilterRequest filter) {
+
+                if (!withTotal) {
+                        SliceResponse<ProductResponse> slice = productService.getPublicProductsSlice(page, size, filter);
+
+                        return ConditionalResponses.ok(
+                                        ApiWrapper.success("Products retrieved successfully", slice),
+                                        ProductETags.ofPage(slice.content(), slice.page(), slice.hasNext()));
+                }
+
+                // First storefront pages are served as pre-rendered JSON
+                if (storefrontPageCache.isCacheable(page, size, filter)) {
+                        StorefrontPageCache.StorefrontPage cached = storefrontPageCache.get(page, size);
+
+                        return ConditionalResponses.okJson(cached.body(), cached.eTag());
+                }
+
+                PagedResponse<ProductResponse> products = productService.getPublicProducts(page, size, filter);
+
+                return ConditionalResponses.ok(
+                                ApiWrapper.success("Products retrieved successfully", products),
+                                ProductETags.ofPage(products.content(), products.page(), products.totalElements()));
+        }
+
+        // Storefront filter counts for the current filter (active only)
+        @Operation(summary = "Get category, price and stock facet counts for public products")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Facets computed successfully"),
+                        @ApiResponse(responseCode = "400", description = "minPrice greater than maxPrice")
+        })
+        @GetMapping("/public/facets")
+        public ResponseEntity<ApiWrapper<ProductFacetsResponse>> getPublicFacets(
+                        @ParameterObject ProductFilterRequest filter) {
 
-                PagedResponse<ProductResponse> products = productService.getPublicProducts(page, size);
+                ProductFacetsResponse facets = productFacetService.getFacets(filter);
 
                 return ResponseEntity.ok(
-                                ApiWrapper.success("Products retrieved successfully", products));
+                                ApiWrapper.success("Facets computed successfully", facets));
+        }
+
+        // Free-text search over active products, ranked by relevance
+        @Operation(summary = "Search active products by name and description")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Matching products, most relevant first"),
+                        @ApiResponse(responseCode = "400", description = "Blank query or limit out of range")
+        })
+        @GetMapping("/search")
+        public ResponseEntity<ApiWrapper<List<ProductResponse>>> searchProducts(
+                        @RequestParam String q,
+                        @RequestParam(defaultValue = "20") int limit) {
+
+                List<ProductResponse> products = productSearchService.search(q, limit);
+
+                return ResponseEntity.ok(
+                                ApiWrapper.success("Found " + products.size() + " products", products));
+        }
+
+        // Public cursor listing (active only)
+        @Operation(summary = "Get public products using cursor pagination (active only)")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+        })
+        @GetMapping("/public/cursor")
+        public ResponseEntity<ApiWrapper<CursorResponse<ProductResponse>>> getPublicProductsByCursor(
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "12") int size) {
+
+                CursorResponse<ProductResponse> products = productService.getPublicProductsByCursor(cursor, size);
+
+                return ConditionalResponses.ok(
+                                ApiWrapper.success("Products retrieved successfully", products),
+                                ProductETags.ofPage(products.content(), products.nextCursor()));
         }
 
 }
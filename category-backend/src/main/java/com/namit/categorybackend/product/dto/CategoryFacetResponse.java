@@ -0,0 +1,25 @@
+package com.namit.categorybackend.product.dto;
+
+import lombok.*;
+
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryFacetResponse {
+
+    private Long categoryId;
+
+    private String categoryName;
+
+    private Long parentId;
+
+    private Integer depth;
+
+    // Products directly in this category
+    private long count;
+
+    // Products in this category and all its subcategories
+    private long subtreeCount;
+}
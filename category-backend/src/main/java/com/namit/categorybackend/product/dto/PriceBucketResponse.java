@@ -0,0 +1,21 @@
+package com.namit.categorybackend.product.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceBucketResponse {
+
+    // Inclusive
+    private BigDecimal min;
+
+    // Exclusive; null for the last, open-ended bucket
+    private BigDecimal max;
+
+    private long count;
+}
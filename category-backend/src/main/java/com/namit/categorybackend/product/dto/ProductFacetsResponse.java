@@ -0,0 +1,29 @@
+package com.namit.categorybackend.product.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/*
+ * Storefront filter counts for the current filter. Each facet ignores its
+ * own filter, so the counts show what picking another value would return;
+ * total applies every filter.
+ */
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsResponse {
+
+    private long total;
+
+    // Active categories with matching products, parents before their children
+    private List<CategoryFacetResponse> categories;
+
+    private List<PriceBucketResponse> priceBuckets;
+
+    private long inStock;
+
+    private long outOfStock;
+}
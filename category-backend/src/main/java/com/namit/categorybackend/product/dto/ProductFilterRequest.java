@@ -0,0 +1,54 @@
+package com.namit.categorybackend.product.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/*
+ * Optional listing filters, bound from query parameters.
+ * Every filter maps to an index declared on Product.
+ */
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterRequest {
+
+    private List<Long> categoryIds;
+
+    // true: categoryIds also match products of their subcategories
+    private Boolean includeSubcategories;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    // true: inventoryCount > 0, false: inventoryCount = 0
+    private Boolean inStock;
+
+    private String namePrefix;
+
+    private String skuPrefix;
+
+    // createdAt (default), price or productName
+    private String sortBy;
+
+    // asc or desc (default)
+    private String direction;
+
+    public boolean includesSubcategories() {
+        return Boolean.TRUE.equals(includeSubcategories);
+    }
+
+    // Whether any row filter is set (sorting alone does not count)
+    public boolean hasCriteria() {
+        return (categoryIds != null && !categoryIds.isEmpty())
+                || minPrice != null
+                || maxPrice != null
+                || inStock != null
+                || (namePrefix != null && !namePrefix.isBlank())
+                || (skuPrefix != null && !skuPrefix.isBlank());
+    }
+}
@@ -0,0 +1,18 @@
+package com.namit.categorybackend.product.dto;
+
+import lombok.*;
+
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportError {
+
+    // Line number in the uploaded file (header is line 1 for CSV)
+    private long line;
+
+    private String sku;
+
+    private String message;
+}
@@ -0,0 +1,24 @@
+package com.namit.categorybackend.product.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResponse {
+
+    private long totalRows;
+
+    private long importedRows;
+
+    private long failedRows;
+
+    private List<ProductImportError> errors;
+
+    // True when more rows failed than app.import.max-errors allows to report
+    private boolean errorsTruncated;
+}
@@ -4,6 +4,7 @@ package com.namit.categorybackend.product.entity;
 import com.namit.categorybackend.category.entity.Category;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,7 +13,20 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // Backs keyset listings: ORDER BY created_at DESC, product_id DESC
+        @Index(name = "idx_products_created_at_id", columnList = "created_at, product_id"),
+        @Index(name = "idx_products_status_created_at_id", columnList = "status, created_at, product_id"),
+        // Back the listing filters in ProductSpecification; the category one also backs the foreign key
+        @Index(name = "idx_products_category_status_created_at", columnList = "category_id, status, created_at"),
+        // Listings always filter or sort within a status; all-status admin listings range over both values
+        @Index(name = "idx_products_status_price", columnList = "status, price"),
+        @Index(name = "idx_products_status_name", columnList = "status, product_name"),
+        @Index(name = "idx_products_status_inventory", columnList = "status, inventory_count"),
+        @Index(name = "idx_products_status_sku", columnList = "status, sku"),
+        // Incremental facet index refresh polls recently updated rows
+        @Index(name = "idx_products_updated_at", columnList = "updated_at")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -52,6 +66,12 @@ public class Product {
     @Builder.Default
     private Boolean status = true;
 
+    // Optimistic lock; the bulk and inventory UPDATEs bump it as well
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // Relationship with category-module
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id" , nullable = false)
@@ -0,0 +1,9 @@
+package com.namit.categorybackend.product.event;
+
+/*
+ * Published by write paths that change what the storefront shows
+ * (active products, or the category names they display).
+ * Listeners use @TransactionalEventListener, so they only see committed changes.
+ */
+public record CatalogChangedEvent() {
+}
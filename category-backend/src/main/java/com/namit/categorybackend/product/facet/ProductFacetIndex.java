@@ -0,0 +1,344 @@
+package com.namit.categorybackend.product.facet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/*
+ * Columnar in-memory snapshot of active products for storefront facets:
+ * category, price (in cents) and stock sit in parallel primitive arrays,
+ * so counting every facet of a filter is one sequential scan without
+ * boxing or per-row objects. Expect roughly 100 bytes of heap per product,
+ * most of it the id -> slot map, plus the name and SKU strings, which are
+ * only read when a text prefix is too broad for the database to narrow.
+ *
+ * Each facet is counted with every filter except its own (the category
+ * facet ignores the category filter, and so on), so a shopper sees what
+ * choosing another value would return, not only what is selected.
+ *
+ * Counting shares a read lock; apply() takes the write lock, and rebuild()
+ * builds the new columns outside it and only swaps them in under it.
+ */
+@Component
+public class ProductFacetIndex {
+
+    private static final int ANY_STOCK = -1;
+
+    // Lower bounds of the price buckets after the first, in cents
+    private final long[] boundaries;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Columns columns = new Columns();
+
+    public ProductFacetIndex(@Value("${app.facets.price-buckets:10,25,50,100,250,500}") List<BigDecimal> priceBuckets) {
+        this.boundaries = priceBuckets.stream()
+                .mapToLong(ProductFacetIndex::cents)
+                .sorted()
+                .distinct()
+                .toArray();
+        if (boundaries.length >= Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("At most " + (Byte.MAX_VALUE - 1) + " price bucket bounds are supported");
+        }
+    }
+
+    // Bucket i covers [bounds[i - 1], bounds[i]); the first starts at 0, the last is open
+    public List<BigDecimal> bucketBounds() {
+        return Arrays.stream(boundaries).mapToObj(bound -> BigDecimal.valueOf(bound, 2)).toList();
+    }
+
+    public int rebuild(Stream<ProductFacetRow> rows) {
+        Columns built = new Columns();
+        rows.filter(ProductFacetIndex::active).forEach(built::put);
+
+        lock.writeLock().lock();
+        try {
+            columns = built;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return built.size;
+    }
+
+    // Upserts active rows and drops inactive ones; applying a row twice is harmless
+    public void apply(Collection<ProductFacetRow> rows) {
+        lock.writeLock().lock();
+        try {
+            for (ProductFacetRow row : rows) {
+                if (active(row)) {
+                    columns.put(row);
+                } else {
+                    columns.remove(row.productId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Counts count(Query query) {
+        lock.readLock().lock();
+        try {
+            Columns current = columns;
+            Tally tally = new Tally(current, query);
+            if (query.productIds() == null) {
+                tally.scan(0, current.size);
+            } else {
+                for (Long productId : query.productIds()) {
+                    Integer slot = current.slots.get(productId);
+                    if (slot != null) {
+                        tally.scan(slot, slot + 1);
+                    }
+                }
+            }
+            return tally.counts();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean active(ProductFacetRow row) {
+        return Boolean.TRUE.equals(row.status()) && row.categoryId() != null;
+    }
+
+    private byte bucket(long price) {
+        byte bucket = 0;
+        while (bucket < boundaries.length && price >= boundaries[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static long cents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    // Blank prefixes do not filter, like the listing specifications
+    private static String prefix(String prefix) {
+        return prefix == null || prefix.isBlank() ? null : prefix.strip();
+    }
+
+    private static boolean startsWith(String value, String prefix) {
+        return prefix == null || value != null && value.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    /*
+     * Filters of one facet request; null means not filtered. productIds
+     * narrows the scan to candidates matched elsewhere (text prefixes);
+     * namePrefix and skuPrefix are matched row by row during the scan.
+     */
+    public record Query(
+            Collection<Long> categoryIds,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean inStock,
+            Collection<Long> productIds,
+            String namePrefix,
+            String skuPrefix) {
+    }
+
+    // priceBuckets has one entry more than bucketBounds()
+    public record Counts(
+            long total,
+            Map<Long, Long> categories,
+            long[] priceBuckets,
+            long inStock,
+            long outOfStock) {
+    }
+
+    /*
+     * Per-product matches are turned into 0/1 ints and added, not branched
+     * on: which filters a product passes is close to random along the
+     * columns, so branches would mispredict on a large share of rows.
+     */
+    private final class Tally {
+
+        private final Columns columns;
+        private final int[] categoryMatches;
+        private final long minPrice;
+        private final long maxPrice;
+        private final int stockFilter;
+        private final String namePrefix;
+        private final String skuPrefix;
+
+        private final long[] categoryCounts;
+        private final long[] bucketCounts = new long[boundaries.length + 1];
+        private long total;
+        private long inStock;
+        private long outOfStock;
+
+        Tally(Columns columns, Query query) {
+            this.columns = columns;
+            this.categoryMatches = columns.matchesOf(query.categoryIds());
+            this.minPrice = query.minPrice() == null ? Long.MIN_VALUE : cents(query.minPrice());
+            this.maxPrice = query.maxPrice() == null ? Long.MAX_VALUE : cents(query.maxPrice());
+            this.stockFilter = query.inStock() == null ? ANY_STOCK : query.inStock() ? 1 : 0;
+            this.namePrefix = prefix(query.namePrefix());
+            this.skuPrefix = prefix(query.skuPrefix());
+            this.categoryCounts = new long[columns.categoryCount];
+        }
+
+        // Counters stay in locals for the loop and are written back once
+        void scan(int from, int to) {
+            int[] categories = columns.categories;
+            long[] prices = columns.prices;
+            byte[] buckets = columns.buckets;
+            byte[] stock = columns.stocked;
+            boolean byText = namePrefix != null || skuPrefix != null;
+            long total = 0;
+            long inStock = 0;
+            long outOfStock = 0;
+
+            for (int slot = from; slot < to; slot++) {
+                // The text filter is not a facet, so a row failing it counts nowhere
+                if (byText && !matchesText(slot)) {
+                    continue;
+                }
+                int category = categories[slot];
+                long price = prices[slot];
+                int stocked = stock[slot];
+
+                int categoryMatch = categoryMatches[category];
+                int priceMatch = price >= minPrice & price <= maxPrice ? 1 : 0;
+                int stockMatch = stockFilter == ANY_STOCK | stocked == stockFilter ? 1 : 0;
+                int categoryAndPrice = categoryMatch & priceMatch;
+
+                categoryCounts[category] += priceMatch & stockMatch;
+                bucketCounts[buckets[slot]] += categoryMatch & stockMatch;
+                inStock += categoryAndPrice & stocked;
+                outOfStock += categoryAndPrice & (stocked ^ 1);
+                total += categoryAndPrice & stockMatch;
+            }
+
+            this.total += total;
+            this.inStock += inStock;
+            this.outOfStock += outOfStock;
+        }
+
+        // Case-insensitive, as LIKE is under MySQL's default collation
+        private boolean matchesText(int slot) {
+            return startsWith(columns.names[slot], namePrefix) && startsWith(columns.skus[slot], skuPrefix);
+        }
+
+        Counts counts() {
+            Map<Long, Long> categories = new HashMap<>();
+            for (int ordinal = 0; ordinal < categoryCounts.length; ordinal++) {
+                if (categoryCounts[ordinal] > 0) {
+                    categories.put(columns.categoryIds[ordinal], categoryCounts[ordinal]);
+                }
+            }
+            return new Counts(total, categories, bucketCounts, inStock, outOfStock);
+        }
+    }
+
+    // Dense columns: removing a product moves the last slot into its place
+    private final class Columns {
+
+        private final Map<Long, Integer> slots = new HashMap<>();
+
+        private long[] productIds = new long[1024];
+        private int[] categories = new int[1024];
+        private long[] prices = new long[1024];
+        // Price bucket of each slot, worked out once on write instead of per scan
+        private byte[] buckets = new byte[1024];
+        // 1 when inventoryCount > 0; the count itself is never faceted
+        private byte[] stocked = new byte[1024];
+        private String[] names = new String[1024];
+        private String[] skus = new String[1024];
+        private int size;
+
+        // Category id <-> small ordinal, so category counts are an array, not a map
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private long[] categoryIds = new long[64];
+        private int categoryCount;
+
+        void put(ProductFacetRow row) {
+            Integer slot = slots.get(row.productId());
+            if (slot == null) {
+                if (size == productIds.length) {
+                    int capacity = size * 2;
+                    productIds = Arrays.copyOf(productIds, capacity);
+                    categories = Arrays.copyOf(categories, capacity);
+                    prices = Arrays.copyOf(prices, capacity);
+                    buckets = Arrays.copyOf(buckets, capacity);
+                    stocked = Arrays.copyOf(stocked, capacity);
+                    names = Arrays.copyOf(names, capacity);
+                    skus = Arrays.copyOf(skus, capacity);
+                }
+                slot = size++;
+                slots.put(row.productId(), slot);
+                productIds[slot] = row.productId();
+            }
+            categories[slot] = ordinal(row.categoryId());
+            prices[slot] = cents(row.price());
+            buckets[slot] = bucket(prices[slot]);
+            stocked[slot] = (byte) (row.inventoryCount() > 0 ? 1 : 0);
+            names[slot] = row.productName();
+            skus[slot] = row.sku();
+        }
+
+        void remove(Long productId) {
+            Integer slot = slots.remove(productId);
+            if (slot == null) {
+                return;
+            }
+            int last = --size;
+            if (slot != last) {
+                productIds[slot] = productIds[last];
+                categories[slot] = categories[last];
+                prices[slot] = prices[last];
+                buckets[slot] = buckets[last];
+                stocked[slot] = stocked[last];
+                names[slot] = names[last];
+                skus[slot] = skus[last];
+                slots.put(productIds[slot], slot);
+            }
+            names[last] = null;
+            skus[last] = null;
+        }
+
+        // 1 for every category ordinal the filter allows; all of them when ids is null
+        int[] matchesOf(Collection<Long> ids) {
+            int[] matches = new int[categoryCount];
+            if (ids == null) {
+                Arrays.fill(matches, 1);
+                return matches;
+            }
+            for (Long id : ids) {
+                Integer ordinal = ordinals.get(id);
+                if (ordinal != null) {
+                    matches[ordinal] = 1;
+                }
+            }
+            return matches;
+        }
+
+        private int ordinal(Long categoryId) {
+            return ordinals.computeIfAbsent(categoryId, id -> {
+                if (categoryCount == categoryIds.length) {
+                    categoryIds = Arrays.copyOf(categoryIds, categoryCount * 2);
+                }
+                categoryIds[categoryCount] = id;
+                return categoryCount++;
+            });
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.namit.categorybackend.product.facet;
+
+import java.math.BigDecimal;
+
+// The faceted fields of one product; inactive rows remove it from the index
+public record ProductFacetRow(
+        Long productId,
+        String productName,
+        String sku,
+        Long categoryId,
+        BigDecimal price,
+        Integer inventoryCount,
+        Boolean status) {
+}
@@ -0,0 +1,24 @@
+package com.namit.categorybackend.product.mapper;
+
+import com.namit.categorybackend.common.response.ConditionalResponses;
+import com.namit.categorybackend.product.dto.ProductResponse;
+
+import java.util.List;
+
+// Conditional GET validators for product responses
+public class ProductETags {
+
+    public static String of(ProductResponse product) {
+        return ConditionalResponses.strongETag(product.getProductId(), version(product));
+    }
+
+    public static String ofPage(List<ProductResponse> products, Object... pageVersion) {
+        return ConditionalResponses.weakETag(products, ProductETags::version, pageVersion);
+    }
+
+    // What a product response shows that can change: its own row and its category's name
+    private static Object[] version(ProductResponse product) {
+        return new Object[] { product.getProductId(), product.getUpdatedAt(), product.getStatus(),
+                product.getCategoryId(), product.getCategoryName() };
+    }
+}
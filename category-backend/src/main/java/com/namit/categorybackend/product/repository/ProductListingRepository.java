@@ -0,0 +1,19 @@
+package com.namit.categorybackend.product.repository;
+
+import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.entity.Product;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Read-only listing queries that select straight into response DTOs
+public interface ProductListingRepository {
+
+    // One page of matching products with their category, no entities are managed
+    Slice<ProductResponse> findResponses(Specification<Product> spec, Pageable pageable);
+
+    // Ids of matching products, at most limit of them, for narrowing in-memory scans
+    List<Long> findIds(Specification<Product> spec, int limit);
+}
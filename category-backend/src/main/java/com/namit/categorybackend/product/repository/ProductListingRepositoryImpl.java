@@ -0,0 +1,92 @@
+package com.namit.categorybackend.product.repository;
+
+import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/*
+ * Constructor-expression listing: rows go from the result set into
+ * ProductResponse directly, skipping entity hydration, the persistence
+ * context and the mapper copy. Fetches one extra row to know whether a
+ * next page exists, like the other slice queries.
+ */
+public class ProductListingRepositoryImpl implements ProductListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<ProductResponse> findResponses(Specification<Product> spec, Pageable pageable) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponse> query = cb.createQuery(ProductResponse.class);
+        Root<Product> product = query.from(Product.class);
+
+        // LEFT join so products stays the driving table and its sort index can be walked;
+        // with an inner join the planner may scan categories first and sort every product
+        Join<Product, Category> category = product.join("category", JoinType.LEFT);
+
+        query.select(cb.construct(ProductResponse.class,
+                product.get("productId"),
+                product.get("productName"),
+                product.get("description"),
+                product.get("price"),
+                product.get("sku"),
+                category.get("categoryId"),
+                category.get("categoryName"),
+                product.get("inventoryCount"),
+                product.get("createdAt"),
+                product.get("updatedAt"),
+                product.get("status")));
+
+        Predicate predicate = spec.toPredicate(product, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), product, cb));
+
+        List<ProductResponse> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<ProductResponse> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Product> spec, int limit) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+
+        query.select(product.get("productId"));
+
+        Predicate predicate = spec.toPredicate(product, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
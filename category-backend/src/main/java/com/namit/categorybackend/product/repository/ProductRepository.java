@@ -1,17 +1,30 @@
 package com.namit.categorybackend.product.repository;
 
+import com.namit.categorybackend.category.counter.CategoryProductCount;
+import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.product.dto.ProductSummaryResponse;
 import com.namit.categorybackend.product.entity.Product;
-import org.springframework.data.domain.Page;
+import com.namit.categorybackend.product.facet.ProductFacetRow;
+import com.namit.categorybackend.product.search.ProductSearchDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductListingRepository {
 
     // For SKU uniqueness check on create
     boolean existsBySku(String sku);
@@ -19,17 +32,146 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     // For SKU uniqueness checks on update (Exclude self)
     boolean existsBySkuAndProductIdNot(String sku, Long productId);
 
-    // For fetching only active product by ID
-    Optional<Product> findByProductIdAndStatusTrue(Long id);
+    // For bulk import — which SKUs of a batch are already taken
+    @Query("select p.sku from Product p where p.sku in :skus")
+    List<String> findExistingSkus(@Param("skus") Collection<String> skus);
 
-    // Override to eagerly fetch category in a single JOIN query (prevents N+1)
+    // Single product with its category in one query; ProductMapper reads the category
     @EntityGraph(attributePaths = { "category" })
-    Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+    Optional<Product> findWithCategoryByProductId(Long id);
+
+    // For fetching only active product by ID (update replaces the category, no need to fetch it)
+    Optional<Product> findByProductIdAndStatusTrue(Long id);
+
+    /*
+     * Category subtree membership as a subquery on the materialized path:
+     * a range scan of idx_categories_path, then the category_id index here.
+     * The pattern is a path prefix such as '/3/17/%'.
+     */
+    String IN_CATEGORY_TREE = "p.category.categoryId in "
+            + "(select c.categoryId from Category c where c.path like :pathPattern)";
+
+    // For category reassignment — skip target resolution when there is nothing to move
+    @Query("select count(p) > 0 from Product p where " + IN_CATEGORY_TREE)
+    boolean existsInCategoryTree(@Param("pathPattern") String pathPattern);
+
+    @Query("select count(p) from Product p where " + IN_CATEGORY_TREE)
+    long countInCategoryTree(@Param("pathPattern") String pathPattern);
+
+    /*
+     * Moves every product of a category subtree in one set-based UPDATE,
+     * nothing is loaded into the persistence context. Auditing does not run
+     * for bulk updates, so updatedAt is set explicitly. Returns the affected row count.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.category = :target, p.updatedAt = :updatedAt, p.version = p.version + 1 "
+            + "where " + IN_CATEGORY_TREE)
+    int reassignCategoryTree(@Param("pathPattern") String pathPattern,
+            @Param("target") Category target,
+            @Param("updatedAt") Instant updatedAt);
+
+    /*
+     * Per-category counts of what a reassignment is about to move, read just
+     * before the UPDATE so the category counters can follow the products.
+     */
+    String COUNT_BY_CATEGORY = "select new com.namit.categorybackend.category.counter.CategoryProductCount("
+            + "p.category.categoryId, count(p), sum(case when p.status = true then 1L else 0L end)) from Product p ";
+
+    @Query(COUNT_BY_CATEGORY + "where " + IN_CATEGORY_TREE + " group by p.category.categoryId")
+    List<CategoryProductCount> countGroupedByCategoryInTree(@Param("pathPattern") String pathPattern);
+
+    @Query(COUNT_BY_CATEGORY + "where p.productId in :productIds group by p.category.categoryId")
+    List<CategoryProductCount> countGroupedByCategory(@Param("productIds") List<Long> productIds);
+
+    // Every category at once, for drift detection
+    @Query(COUNT_BY_CATEGORY + "group by p.category.categoryId")
+    List<CategoryProductCount> countGroupedByCategory();
 
-    // For category reassignment — find all products belonging to a category
-    List<Product> findByCategoryCategoryId(Long categoryId);
+    // Next chunk of product ids still in a category subtree (async reassignment jobs)
+    @Query("select p.productId from Product p where " + IN_CATEGORY_TREE + " order by p.productId")
+    List<Long> findIdsInCategoryTree(@Param("pathPattern") String pathPattern, Pageable pageable);
+
+    // Moves one chunk; the subtree check skips rows moved by someone else meanwhile
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.category = :target, p.updatedAt = :updatedAt, p.version = p.version + 1 "
+            + "where p.productId in :productIds and " + IN_CATEGORY_TREE)
+    int reassignCategoryTree(@Param("productIds") List<Long> productIds,
+            @Param("pathPattern") String pathPattern,
+            @Param("target") Category target,
+            @Param("updatedAt") Instant updatedAt);
+
+    /*
+     * Takes stock only if enough is left, in one statement: no read-modify-write,
+     * and the row lock is held just for this UPDATE. 0 rows means there was not
+     * enough stock (or no such active product).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.inventoryCount = p.inventoryCount - :quantity, "
+            + "p.updatedAt = :updatedAt, p.version = p.version + 1 "
+            + "where p.productId = :productId and p.status = true and p.inventoryCount >= :quantity")
+    int takeStock(@Param("productId") Long productId,
+            @Param("quantity") long quantity,
+            @Param("updatedAt") Instant updatedAt);
+
+    // Puts released or unused stock back
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.inventoryCount = p.inventoryCount + :quantity, "
+            + "p.updatedAt = :updatedAt, p.version = p.version + 1 "
+            + "where p.productId = :productId")
+    int returnStock(@Param("productId") Long productId,
+            @Param("quantity") long quantity,
+            @Param("updatedAt") Instant updatedAt);
+
+    // Tells "no such product" from "not enough stock" after takeStock matched nothing
+    boolean existsByProductIdAndStatusTrue(Long productId);
+
+    /*
+     * Forward-only walk for the catalog export. Rows are projected straight into
+     * DTOs, so nothing accumulates in the persistence context. On MySQL add
+     * useCursorFetch=true to the JDBC URL so the fetch size is honoured
+     * instead of the driver buffering the whole result.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.namit.categorybackend.product.dto.ProductSummaryResponse("
+            + "p.productId, p.productName, p.price, p.sku, c.categoryName, p.inventoryCount, p.status) "
+            + "from Product p join p.category c "
+            + "where (:status is null or p.status = :status) "
+            + "and (:updatedSince is null or p.updatedAt >= :updatedSince) "
+            + "order by p.productId")
+    Stream<ProductSummaryResponse> streamSummaries(@Param("status") Boolean status,
+            @Param("updatedSince") Instant updatedSince);
+
+    // Source of the search index, built at startup
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.namit.categorybackend.product.search.ProductSearchDocument("
+            + "p.productId, p.productName, p.description) "
+            + "from Product p where p.status = true order by p.productId")
+    Stream<ProductSearchDocument> streamSearchDocuments();
+
+    // Source of the facet index, built at startup and on the rebuild interval
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.namit.categorybackend.product.facet.ProductFacetRow("
+            + "p.productId, p.productName, p.sku, p.category.categoryId, p.price, p.inventoryCount, p.status) "
+            + "from Product p where p.status = true")
+    Stream<ProductFacetRow> streamFacetRows();
+
+    // Incremental facet refresh; inactive rows are included so they leave the index
+    @Query("select new com.namit.categorybackend.product.facet.ProductFacetRow("
+            + "p.productId, p.productName, p.sku, p.category.categoryId, p.price, p.inventoryCount, p.status) "
+            + "from Product p where p.updatedAt >= :since")
+    List<ProductFacetRow> findFacetRowsUpdatedSince(@Param("since") Instant since);
+
+    // For indexing rows the bulk import inserted through JDBC
+    @Query("select new com.namit.categorybackend.product.search.ProductSearchDocument("
+            + "p.productId, p.productName, p.description) "
+            + "from Product p where p.sku in :skus and p.status = true")
+    List<ProductSearchDocument> findSearchDocumentsBySkus(@Param("skus") Collection<String> skus);
+
+    // Loads search hits with their category in one query
+    @EntityGraph(attributePaths = { "category" })
+    List<Product> findByProductIdIn(Collection<Long> productIds);
 
-    // For category product count check before deactivation
-    long countByCategoryCategoryId(Long categoryId);
+    // For the per-status total cache behind paged listings
+    long countByStatus(Boolean status);
 
 }
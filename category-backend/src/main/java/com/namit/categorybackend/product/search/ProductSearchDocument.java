@@ -0,0 +1,5 @@
+package com.namit.categorybackend.product.search;
+
+// The indexed fields of one active product
+public record ProductSearchDocument(Long productId, String productName, String description) {
+}
@@ -0,0 +1,539 @@
+package com.namit.categorybackend.product.search;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/*
+ * In-memory inverted index over the name and description of active products.
+ * Postings are sorted primitive arrays keyed by an internal document number
+ * rather than boxed maps; expect roughly 1 KB of heap per product with
+ * about twenty distinct words of name and description.
+ *
+ * A query matches when every word matches a term exactly or (when there is
+ * no exact term) within one typo; the last word also matches as a prefix,
+ * for search-as-you-type. Hits are ranked by
+ * idf * (1 + log tf), name terms weighing more than description terms.
+ *
+ * Searches share a read lock; writes take the write lock and are applied
+ * after commit by the product write paths.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Relevance multipliers per match kind
+    private static final float EXACT_BOOST = 1.0f;
+    private static final float PREFIX_BOOST = 0.6f;
+    private static final float TYPO_BOOST = 0.4f;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_TYPO_LENGTH = 4;
+
+    // Caps how many dictionary terms one query word may expand to
+    private static final int MAX_EXPANSIONS = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Sorted, so prefix lookups are a range scan
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+
+    // Every term and its one-deletion variants -> terms (symmetric delete typo lookup)
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+
+    // Product id -> document number; numbers are kept across remove/re-index
+    private final Map<Long, Integer> documents = new HashMap<>();
+
+    private long[] productIds = new long[1024];
+
+    // Terms per document (null once removed), needed to unindex it
+    private String[][] documentTerms = new String[1024][];
+
+    private int documentCount;
+
+    private int liveDocuments;
+
+    public void index(ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            indexLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer document = documents.get(productId);
+            if (document != null) {
+                unindex(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Applied after commit so rolled back writes never show up in search
+    public void indexAfterCommit(ProductSearchDocument document) {
+        afterCommit(() -> index(document));
+    }
+
+    public void indexAfterCommit(Collection<ProductSearchDocument> documents) {
+        afterCommit(() -> documents.forEach(this::index));
+    }
+
+    public void removeAfterCommit(Long productId) {
+        afterCommit(() -> remove(productId));
+    }
+
+    /*
+     * Replaces the whole index. Holds the write lock while the stream is read,
+     * so searches wait (instead of seeing a half built index) and concurrent
+     * writes are applied on top afterwards.
+     */
+    public int rebuild(Stream<ProductSearchDocument> source) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            deletions.clear();
+            documents.clear();
+            productIds = new long[1024];
+            documentTerms = new String[1024][];
+            documentCount = 0;
+            liveDocuments = 0;
+
+            source.forEach(this::indexLocked);
+            return liveDocuments;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Product ids of the best matches, most relevant first
+    public List<Long> search(String query, int limit) {
+
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query)));
+        if (words.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Expansion>> matches = new ArrayList<>(words.size());
+            for (int i = 0; i < words.size(); i++) {
+                List<Expansion> expansions = expand(words.get(i), i == words.size() - 1);
+                if (expansions.isEmpty()) {
+                    return List.of();
+                }
+                matches.add(expansions);
+            }
+
+            // Most selective word first, the others only probe its candidates
+            matches.sort(Comparator.comparingLong(ProductSearchIndex::frequency));
+
+            Candidates candidates = union(matches.get(0));
+            for (int i = 1; i < matches.size() && candidates.size > 0; i++) {
+                List<Expansion> expansions = matches.get(i);
+                // Probing sorted postings per candidate, unless one pass over them is cheaper
+                if ((long) candidates.size * expansions.size() > frequency(expansions)) {
+                    candidates.intersect(bestScores(expansions));
+                } else {
+                    candidates.intersect(expansions);
+                }
+            }
+
+            return topHits(candidates, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Private helper methods
+
+    private void indexLocked(ProductSearchDocument document) {
+
+        Map<String, Integer> weights = new HashMap<>();
+        SearchTokenizer.tokenize(document.productName()).forEach(term -> weights.merge(term, NAME_WEIGHT, Integer::sum));
+        SearchTokenizer.tokenize(document.description()).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        int number = documents.computeIfAbsent(document.productId(), this::allocate);
+        unindex(number);
+
+        String[] terms = new String[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            String term = entry.getKey();
+            Postings termPostings = postings.get(term);
+            if (termPostings == null) {
+                termPostings = new Postings();
+                postings.put(term, termPostings);
+                addDeletions(term);
+            }
+            termPostings.put(number, entry.getValue());
+            terms[i++] = term;
+        }
+
+        documentTerms[number] = terms;
+        liveDocuments++;
+    }
+
+    private int allocate(Long productId) {
+        if (documentCount == productIds.length) {
+            productIds = Arrays.copyOf(productIds, documentCount * 2);
+            documentTerms = Arrays.copyOf(documentTerms, documentCount * 2);
+        }
+        productIds[documentCount] = productId;
+        return documentCount++;
+    }
+
+    private void unindex(int number) {
+
+        String[] terms = documentTerms[number];
+        if (terms == null) {
+            return;
+        }
+
+        for (String term : terms) {
+            Postings termPostings = postings.get(term);
+            termPostings.remove(number);
+            if (termPostings.size == 0) {
+                postings.remove(term);
+                removeDeletions(term);
+            }
+        }
+
+        documentTerms[number] = null;
+        liveDocuments--;
+    }
+
+    // Dictionary terms a query word stands for, each with its relevance boost
+    private List<Expansion> expand(String word, boolean asPrefix) {
+
+        List<Expansion> expansions = new ArrayList<>();
+
+        Postings exact = postings.get(word);
+        if (exact != null) {
+            expansions.add(new Expansion(exact, EXACT_BOOST * idf(exact)));
+        }
+
+        if (asPrefix && word.length() >= MIN_PREFIX_LENGTH) {
+            for (Postings completion : postings.subMap(word, false, word + Character.MAX_VALUE, false).values()) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                expansions.add(new Expansion(completion, PREFIX_BOOST * idf(completion)));
+            }
+        }
+
+        if (exact == null && word.length() >= MIN_TYPO_LENGTH) {
+            for (String term : typoMatches(word)) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                Postings candidate = postings.get(term);
+                expansions.add(new Expansion(candidate, TYPO_BOOST * idf(candidate)));
+            }
+        }
+
+        return expansions;
+    }
+
+    private Set<String> typoMatches(String word) {
+
+        Set<String> matches = new HashSet<>();
+        for (String variant : variants(word)) {
+            Set<String> terms = deletions.get(variant);
+            if (terms == null) {
+                continue;
+            }
+            for (String term : terms) {
+                if (!term.startsWith(word) && withinOneEdit(word, term)) {
+                    matches.add(term);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void addDeletions(String term) {
+        if (term.length() < MIN_TYPO_LENGTH - 1) {
+            return;
+        }
+        for (String variant : variants(term)) {
+            deletions.computeIfAbsent(variant, key -> new HashSet<>(2)).add(term);
+        }
+    }
+
+    private void removeDeletions(String term) {
+        if (term.length() < MIN_TYPO_LENGTH - 1) {
+            return;
+        }
+        for (String variant : variants(term)) {
+            Set<String> terms = deletions.get(variant);
+            if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                deletions.remove(variant);
+            }
+        }
+    }
+
+    private float idf(Postings termPostings) {
+        return (float) Math.log(1 + (double) liveDocuments / termPostings.size);
+    }
+
+    private Candidates union(List<Expansion> expansions) {
+
+        if (expansions.size() == 1) {
+            Expansion only = expansions.get(0);
+            Candidates candidates = new Candidates(only.postings().size);
+            for (int i = 0; i < only.postings().size; i++) {
+                candidates.add(only.postings().documents[i], only.score(only.postings().weights[i]));
+            }
+            return candidates;
+        }
+
+        float[] best = bestScores(expansions);
+
+        Candidates candidates = new Candidates(Math.min(documentCount, (int) frequency(expansions)));
+        for (int number = 0; number < documentCount; number++) {
+            if (best[number] > 0) {
+                candidates.add(number, best[number]);
+            }
+        }
+        return candidates;
+    }
+
+    // Score per document number; a document matching several expansions keeps its best one
+    private float[] bestScores(List<Expansion> expansions) {
+
+        float[] best = new float[documentCount];
+        for (Expansion expansion : expansions) {
+            Postings termPostings = expansion.postings();
+            for (int i = 0; i < termPostings.size; i++) {
+                int number = termPostings.documents[i];
+                best[number] = Math.max(best[number], expansion.score(termPostings.weights[i]));
+            }
+        }
+        return best;
+    }
+
+    private List<Long> topHits(Candidates candidates, int limit) {
+
+        // Lowest ranked hit on top; ties go to the newer (higher id) product
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::productId);
+        PriorityQueue<Hit> heap = new PriorityQueue<>(limit + 1, ranking);
+
+        for (int i = 0; i < candidates.size; i++) {
+            float score = candidates.scores[i];
+            long productId = productIds[candidates.documents[i]];
+
+            if (heap.size() == limit) {
+                // Compared on primitives first, most candidates never make it into the heap
+                Hit lowest = heap.peek();
+                if (score < lowest.score() || (score == lowest.score() && productId < lowest.productId())) {
+                    continue;
+                }
+                heap.poll();
+            }
+            heap.offer(new Hit(productId, score));
+        }
+
+        Long[] ranked = new Long[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = heap.poll().productId();
+        }
+        return List.of(ranked);
+    }
+
+    private static long frequency(List<Expansion> expansions) {
+        long total = 0;
+        for (Expansion expansion : expansions) {
+            total += expansion.postings().size;
+        }
+        return total;
+    }
+
+    // The word itself plus every word with one character removed
+    private static Set<String> variants(String word) {
+        Set<String> variants = new HashSet<>(word.length() + 1);
+        variants.add(word);
+        for (int i = 0; i < word.length(); i++) {
+            variants.add(word.substring(0, i) + word.substring(i + 1));
+        }
+        return variants;
+    }
+
+    // One insertion, deletion, substitution or swap of adjacent characters
+    private static boolean withinOneEdit(String a, String b) {
+
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+
+        String shorter = a.length() <= b.length() ? a : b;
+        String longer = shorter == a ? b : a;
+
+        int i = 0;
+        while (i < shorter.length() && shorter.charAt(i) == longer.charAt(i)) {
+            i++;
+        }
+        if (i == shorter.length()) {
+            return true;
+        }
+
+        if (shorter.length() != longer.length()) {
+            return shorter.regionMatches(i, longer, i + 1, shorter.length() - i);
+        }
+
+        boolean substitution = shorter.regionMatches(i + 1, longer, i + 1, shorter.length() - i - 1);
+        boolean swap = i + 1 < shorter.length()
+                && shorter.charAt(i) == longer.charAt(i + 1)
+                && shorter.charAt(i + 1) == longer.charAt(i)
+                && shorter.regionMatches(i + 2, longer, i + 2, shorter.length() - i - 2);
+        return substitution || swap;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Expansion(Postings postings, float boost) {
+
+        float score(int weight) {
+            return boost * (1 + (float) Math.log(weight));
+        }
+    }
+
+    private record Hit(long productId, float score) {
+    }
+
+    // Document numbers (ascending) with their term weights
+    private static final class Postings {
+
+        private int[] documents = new int[2];
+        private int[] weights = new int[2];
+        private int size;
+
+        int weightOf(int document) {
+            int i = Arrays.binarySearch(documents, 0, size, document);
+            return i < 0 ? 0 : weights[i];
+        }
+
+        void put(int document, int weight) {
+            int i = Arrays.binarySearch(documents, 0, size, document);
+            if (i >= 0) {
+                weights[i] = weight;
+                return;
+            }
+
+            i = -i - 1;
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(documents, i, documents, i + 1, size - i);
+            System.arraycopy(weights, i, weights, i + 1, size - i);
+            documents[i] = document;
+            weights[i] = weight;
+            size++;
+        }
+
+        void remove(int document) {
+            int i = Arrays.binarySearch(documents, 0, size, document);
+            if (i < 0) {
+                return;
+            }
+            System.arraycopy(documents, i + 1, documents, i, size - i - 1);
+            System.arraycopy(weights, i + 1, weights, i, size - i - 1);
+            size--;
+        }
+    }
+
+    // Documents still matching every word so far, with their summed score
+    private static final class Candidates {
+
+        private int[] documents;
+        private float[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            documents = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void add(int document, float score) {
+            documents[size] = document;
+            scores[size] = score;
+            size++;
+        }
+
+        // Keeps the documents that also have a score in best, in place
+        void intersect(float[] best) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                float score = best[documents[i]];
+                if (score > 0) {
+                    documents[kept] = documents[i];
+                    scores[kept] = scores[i] + score;
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        // Keeps the documents that also match one of the expansions, in place
+        void intersect(List<Expansion> expansions) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                float best = 0;
+                for (Expansion expansion : expansions) {
+                    int weight = expansion.postings().weightOf(documents[i]);
+                    if (weight > 0) {
+                        best = Math.max(best, expansion.score(weight));
+                    }
+                }
+                if (best > 0) {
+                    documents[kept] = documents[i];
+                    scores[kept] = scores[i] + best;
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
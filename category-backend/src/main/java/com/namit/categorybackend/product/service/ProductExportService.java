@@ -0,0 +1,14 @@
+package com.namit.categorybackend.product.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+public interface ProductExportService {
+
+    // Writes the catalog as NDJSON, one ProductSummaryResponse per line
+    void exportNdjson(String status, Instant updatedSince, OutputStream output) throws IOException;
+
+    // Writes the catalog as CSV with a header row
+    void exportCsv(String status, Instant updatedSince, OutputStream output) throws IOException;
+}
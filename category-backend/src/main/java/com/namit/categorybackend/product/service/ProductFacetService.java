@@ -0,0 +1,16 @@
+package com.namit.categorybackend.product.service;
+
+import com.namit.categorybackend.product.dto.ProductFacetsResponse;
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
+
+public interface ProductFacetService {
+
+    // Category, price and stock counts over active products matching the filter
+    ProductFacetsResponse getFacets(ProductFilterRequest filter);
+
+    // Reloads the facet index from the products table, returns the indexed count
+    int rebuildIndex();
+
+    // Applies products changed since the last rebuild or refresh, returns how many were read
+    int refreshIndex();
+}
@@ -0,0 +1,15 @@
+package com.namit.categorybackend.product.service;
+
+import com.namit.categorybackend.product.dto.ProductImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    // Imports products from a CSV body (header row required)
+    ProductImportResponse importCsv(InputStream input) throws IOException;
+
+    // Imports products from a newline-delimited JSON body (one ProductRequest per line)
+    ProductImportResponse importNdjson(InputStream input) throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.namit.categorybackend.product.service;
+
+import com.namit.categorybackend.product.dto.ProductResponse;
+
+import java.util.List;
+
+public interface ProductSearchService {
+
+    // Active products matching every word of the query, most relevant first
+    List<ProductResponse> search(String query, int limit);
+
+    // Reloads the search index from the products table, returns the indexed count
+    int rebuildIndex();
+}
@@ -1,27 +1,48 @@
 package com.namit.categorybackend.product.service;
 
+import com.namit.categorybackend.common.response.BatchGetResponse;
+import com.namit.categorybackend.common.response.CursorResponse;
 import com.namit.categorybackend.common.response.PagedResponse;
+import com.namit.categorybackend.common.response.SliceResponse;
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
 import com.namit.categorybackend.product.dto.ProductRequest;
 import com.namit.categorybackend.product.dto.ProductResponse;
 import com.namit.categorybackend.product.entity.Product;
 
+import java.util.List;
+
 public interface ProductService {
 
     // Creates a new product
     ProductResponse createProduct(ProductRequest request);
 
-    // Get all products
-    PagedResponse<ProductResponse> getAllProducts(int page, int size, String status);
+    // Get all products matching the filter
+    PagedResponse<ProductResponse> getAllProducts(int page, int size, String status, ProductFilterRequest filter);
+
+    // Get all products matching the filter without totals (hasNext only)
+    SliceResponse<ProductResponse> getProductsSlice(int page, int size, String status, ProductFilterRequest filter);
 
     // Get product by ID
     ProductResponse getProductById(Long id);
 
+    // Get products by id (any status) in request order, reporting ids not found
+    BatchGetResponse<ProductResponse> getProductsByIds(List<Long> ids);
+
     // Toggle product staus (Active <-> Inactive)
     ProductResponse toggleProductStatus(Long id);
 
     // Update Product
     ProductResponse updateProduct(Long id, ProductRequest request);
 
-    // Get public products (active only, for customer view)
-    PagedResponse<ProductResponse> getPublicProducts(int page, int size);
+    // Get public products (active only, for customer view) matching the filter
+    PagedResponse<ProductResponse> getPublicProducts(int page, int size, ProductFilterRequest filter);
+
+    // Get public products matching the filter without totals (hasNext only)
+    SliceResponse<ProductResponse> getPublicProductsSlice(int page, int size, ProductFilterRequest filter);
+
+    // Get products using keyset pagination (cursor from previous page, null for first page)
+    CursorResponse<ProductResponse> getProductsByCursor(String cursor, int size, String status);
+
+    // Get public products using keyset pagination
+    CursorResponse<ProductResponse> getPublicProductsByCursor(String cursor, int size);
 }
@@ -0,0 +1,98 @@
+package com.namit.categorybackend.product.service.impl;
+
+import com.namit.categorybackend.common.util.CsvUtils;
+import com.namit.categorybackend.product.dto.ProductSummaryResponse;
+import com.namit.categorybackend.product.repository.ProductRepository;
+import com.namit.categorybackend.product.service.ProductExportService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/*
+ * Streams the catalog row by row from a forward-only cursor straight to the
+ * response, so heap use does not depend on catalog size.
+ * Must run inside a transaction for as long as the stream is open.
+ */
+@Service
+@Timed("catalog.service")
+@RequiredArgsConstructor
+public class ProductExportServiceImpl implements ProductExportService {
+
+        private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+        private static final String CSV_HEADER = CsvUtils.formatLine(
+                        "productId", "productName", "price", "sku", "categoryName", "inventoryCount", "status");
+
+        private final ProductRepository productRepository;
+        private final ObjectMapper objectMapper;
+
+        @Override
+        @Transactional(readOnly = true)
+        public void exportNdjson(String status, Instant updatedSince, OutputStream output) throws IOException {
+
+                OutputStream out = new BufferedOutputStream(output);
+
+                try (Stream<ProductSummaryResponse> rows = productRepository.streamSummaries(resolveStatus(status),
+                                updatedSince)) {
+                        rows.forEach(row -> write(out, objectMapper.writeValueAsBytes(row)));
+                } catch (UncheckedIOException ex) {
+                        throw ex.getCause();
+                }
+
+                out.flush();
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public void exportCsv(String status, Instant updatedSince, OutputStream output) throws IOException {
+
+                OutputStream out = new BufferedOutputStream(output);
+                write(out, CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+
+                try (Stream<ProductSummaryResponse> rows = productRepository.streamSummaries(resolveStatus(status),
+                                updatedSince)) {
+                        rows.forEach(row -> write(out, CsvUtils.formatLine(
+                                        row.getProductId(),
+                                        row.getProductName(),
+                                        row.getPrice(),
+                                        row.getSku(),
+                                        row.getCategoryName(),
+                                        row.getInventoryCount(),
+                                        row.getStatus()).getBytes(StandardCharsets.UTF_8)));
+                } catch (UncheckedIOException ex) {
+                        throw ex.getCause();
+                }
+
+                out.flush();
+        }
+
+        // Private helper methods
+
+        private Boolean resolveStatus(String status) {
+                return switch (status.toLowerCase()) {
+                        case "active" -> true;
+                        case "inactive" -> false;
+                        default -> null;
+                };
+        }
+
+        private void write(OutputStream out, byte[] line) {
+                try {
+                        out.write(line);
+                        out.write(NEW_LINE);
+                } catch (IOException ex) {
+                        // client went away; surfaces as IOException once the stream is closed
+                        throw new UncheckedIOException(ex);
+                }
+        }
+}
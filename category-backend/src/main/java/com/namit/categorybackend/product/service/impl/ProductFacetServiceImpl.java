@@ -0,0 +1,232 @@
+package com.namit.categorybackend.product.service.impl;
+
+import com.namit.categorybackend.category.cache.CategoryTree;
+import com.namit.categorybackend.common.datasource.ReadYourWrites;
+import com.namit.categorybackend.product.dto.CategoryFacetResponse;
+import com.namit.categorybackend.product.dto.PriceBucketResponse;
+import com.namit.categorybackend.product.dto.ProductFacetsResponse;
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
+import com.namit.categorybackend.product.facet.ProductFacetIndex;
+import com.namit.categorybackend.product.facet.ProductFacetRow;
+import com.namit.categorybackend.product.repository.ProductRepository;
+import com.namit.categorybackend.product.service.ProductFacetService;
+import com.namit.categorybackend.product.specification.ProductSpecification;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/*
+ * Facets are counted in the in-memory index; the database is only asked
+ * for the ids matching a name or SKU prefix, which narrow the scan. A
+ * prefix matching more than maxCandidates products (a single letter, say)
+ * is matched in the full index scan instead of loading all of those ids.
+ *
+ * The index is rebuilt from the products table at startup and on the
+ * rebuild interval. In between, the refresh re-reads rows whose updated_at
+ * moved since the last pass (every product write bumps it, bulk ones too);
+ * a write committing more than OVERLAP after its updated_at is only picked
+ * up by the next rebuild.
+ */
+@Service
+@Timed("catalog.service")
+public class ProductFacetServiceImpl implements ProductFacetService {
+
+        // Re-read window covering commit delay and clock skew between nodes
+        private static final Duration OVERLAP = Duration.ofSeconds(5);
+
+        private final ProductRepository productRepository;
+        private final ProductFacetIndex productFacetIndex;
+        private final CategoryTree categoryTree;
+        private final int maxCandidates;
+
+        // Keeps a refresh from applying rows older than a rebuild running alongside it
+        private final ReentrantLock loadLock = new ReentrantLock();
+
+        private volatile Instant watermark;
+
+        public ProductFacetServiceImpl(ProductRepository productRepository,
+                        ProductFacetIndex productFacetIndex,
+                        CategoryTree categoryTree,
+                        @Value("${app.facets.max-candidates:10000}") int maxCandidates) {
+                this.productRepository = productRepository;
+                this.productFacetIndex = productFacetIndex;
+                this.categoryTree = categoryTree;
+                this.maxCandidates = maxCandidates;
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public ProductFacetsResponse getFacets(ProductFilterRequest filter) {
+
+                BigDecimal minPrice = filter.getMinPrice();
+                BigDecimal maxPrice = filter.getMaxPrice();
+                if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+                        throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+                }
+
+                ProductFacetIndex.Counts counts = productFacetIndex.count(query(filter));
+
+                return ProductFacetsResponse.builder()
+                                .total(counts.total())
+                                .categories(categoryFacets(counts.categories()))
+                                .priceBuckets(priceBuckets(counts.priceBuckets()))
+                                .inStock(counts.inStock())
+                                .outOfStock(counts.outOfStock())
+                                .build();
+        }
+
+        @Override
+        @EventListener(ApplicationReadyEvent.class)
+        @Scheduled(initialDelayString = "${app.facets.rebuild-interval:PT10M}",
+                        fixedDelayString = "${app.facets.rebuild-interval:PT10M}")
+        @Transactional(readOnly = true)
+        public int rebuildIndex() {
+
+                loadLock.lock();
+                try {
+                        Instant startedAt = Instant.now();
+                        try (Stream<ProductFacetRow> rows = productRepository.streamFacetRows()) {
+                                int indexed = productFacetIndex.rebuild(rows);
+                                watermark = startedAt;
+                                return indexed;
+                        }
+                } finally {
+                        loadLock.unlock();
+                }
+        }
+
+        @Override
+        @Scheduled(fixedDelayString = "${app.facets.refresh-interval:PT2S}")
+        public int refreshIndex() {
+
+                loadLock.lock();
+                try {
+                        if (watermark == null) {
+                                return 0;
+                        }
+                        Instant startedAt = Instant.now();
+                        Instant since = watermark.minus(OVERLAP);
+                        // A lagging replica would hide the newest changes past the overlap
+                        List<ProductFacetRow> rows = ReadYourWrites.onPrimary(
+                                        () -> productRepository.findFacetRowsUpdatedSince(since));
+                        productFacetIndex.apply(rows);
+                        watermark = startedAt;
+                        return rows.size();
+                } finally {
+                        loadLock.unlock();
+                }
+        }
+
+        // null when unfiltered; with includeSubcategories every descendant counts as selected
+        private Set<Long> categoryIds(ProductFilterRequest filter) {
+
+                if (filter.getCategoryIds() == null || filter.getCategoryIds().isEmpty()) {
+                        return null;
+                }
+                Set<Long> ids = new HashSet<>(filter.getCategoryIds());
+                if (filter.includesSubcategories()) {
+                        filter.getCategoryIds().forEach(id -> categoryTree.find(id).ifPresent(node -> addDescendants(node, ids)));
+                }
+                return ids;
+        }
+
+        private void addDescendants(CategoryTree.Node node, Set<Long> ids) {
+                for (CategoryTree.Node child : node.children()) {
+                        ids.add(child.categoryId());
+                        addDescendants(child, ids);
+                }
+        }
+
+        // Text prefixes are answered by the name and sku indexes while they match few enough products
+        private ProductFacetIndex.Query query(ProductFilterRequest filter) {
+
+                Set<Long> categoryIds = categoryIds(filter);
+                boolean byName = filter.getNamePrefix() != null && !filter.getNamePrefix().isBlank();
+                boolean bySku = filter.getSkuPrefix() != null && !filter.getSkuPrefix().isBlank();
+                if (!byName && !bySku) {
+                        return new ProductFacetIndex.Query(categoryIds, filter.getMinPrice(), filter.getMaxPrice(),
+                                        filter.getInStock(), null, null, null);
+                }
+
+                // One more than the cap tells a broad prefix apart from one matching exactly maxCandidates
+                List<Long> candidateIds = productRepository.findIds(ProductSpecification.hasStatus(true)
+                                .and(ProductSpecification.nameStartsWith(filter.getNamePrefix()))
+                                .and(ProductSpecification.skuStartsWith(filter.getSkuPrefix())), maxCandidates + 1);
+                if (candidateIds.size() > maxCandidates) {
+                        return new ProductFacetIndex.Query(categoryIds, filter.getMinPrice(), filter.getMaxPrice(),
+                                        filter.getInStock(), null, filter.getNamePrefix(), filter.getSkuPrefix());
+                }
+                return new ProductFacetIndex.Query(categoryIds, filter.getMinPrice(), filter.getMaxPrice(),
+                                filter.getInStock(), candidateIds, null, null);
+        }
+
+        // Walks the category tree so parents come before children and subtree counts roll up
+        private List<CategoryFacetResponse> categoryFacets(Map<Long, Long> counts) {
+
+                List<CategoryFacetResponse> facets = new ArrayList<>();
+                if (!counts.isEmpty()) {
+                        categoryTree.roots().forEach(root -> collect(root, counts, facets));
+                }
+                return facets;
+        }
+
+        private long collect(CategoryTree.Node node, Map<Long, Long> counts, List<CategoryFacetResponse> facets) {
+
+                if (!node.active()) {
+                        return 0;
+                }
+                long count = counts.getOrDefault(node.categoryId(), 0L);
+                CategoryFacetResponse facet = CategoryFacetResponse.builder()
+                                .categoryId(node.categoryId())
+                                .categoryName(node.categoryName())
+                                .parentId(node.parentId())
+                                .depth(node.depth())
+                                .count(count)
+                                .build();
+
+                int position = facets.size();
+                facets.add(facet);
+
+                long subtreeCount = count;
+                for (CategoryTree.Node child : node.children()) {
+                        subtreeCount += collect(child, counts, facets);
+                }
+
+                if (subtreeCount == 0) {
+                        // Nothing below matched either, so the whole branch stays out
+                        facets.subList(position, facets.size()).clear();
+                } else {
+                        facet.setSubtreeCount(subtreeCount);
+                }
+                return subtreeCount;
+        }
+
+        private List<PriceBucketResponse> priceBuckets(long[] counts) {
+
+                List<BigDecimal> bounds = productFacetIndex.bucketBounds();
+                List<PriceBucketResponse> buckets = new ArrayList<>(counts.length);
+                for (int i = 0; i < counts.length; i++) {
+                        buckets.add(PriceBucketResponse.builder()
+                                        .min(i == 0 ? BigDecimal.ZERO.setScale(2) : bounds.get(i - 1))
+                                        .max(i < bounds.size() ? bounds.get(i) : null)
+                                        .count(counts[i])
+                                        .build());
+                }
+                return buckets;
+        }
+}
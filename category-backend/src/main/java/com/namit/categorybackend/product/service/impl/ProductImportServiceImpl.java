@@ -0,0 +1,348 @@
+package com.namit.categorybackend.product.service.impl;
+
+import com.namit.categorybackend.category.counter.CategoryProductCounter;
+import com.namit.categorybackend.category.repository.CategoryRepository;
+import com.namit.categorybackend.change.entity.ChangeEntityType;
+import com.namit.categorybackend.change.entity.ChangeType;
+import com.namit.categorybackend.change.service.ChangeOutbox;
+import com.namit.categorybackend.common.util.CsvUtils;
+import com.namit.categorybackend.product.cache.ProductCountCache;
+import com.namit.categorybackend.product.dto.ProductImportError;
+import com.namit.categorybackend.product.dto.ProductImportResponse;
+import com.namit.categorybackend.product.dto.ProductRequest;
+import com.namit.categorybackend.product.event.CatalogChangedEvent;
+import com.namit.categorybackend.product.repository.ProductRepository;
+import com.namit.categorybackend.product.search.ProductSearchDocument;
+import com.namit.categorybackend.product.search.ProductSearchIndex;
+import com.namit.categorybackend.product.service.ProductImportService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Streams an import body line by line; only one batch is held in memory.
+ * Each batch is validated against in-memory sets (active category ids for
+ * the whole import, existing SKUs per batch) and inserted with one JDBC
+ * batch in its own transaction. IDENTITY ids keep Hibernate from batching
+ * inserts, so this path bypasses the entity layer on purpose.
+ */
+@Service
+@Timed("catalog.service")
+public class ProductImportServiceImpl implements ProductImportService {
+
+        private static final String INSERT_SQL = "INSERT INTO products "
+                        + "(product_name, description, price, sku, inventory_count, category_id, status, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        private static final List<String> CSV_COLUMNS = List.of(
+                        "productName", "description", "price", "sku", "categoryId", "inventoryCount");
+
+        private final ProductRepository productRepository;
+        private final CategoryRepository categoryRepository;
+        private final ProductCountCache productCountCache;
+        private final ProductSearchIndex productSearchIndex;
+        private final ApplicationEventPublisher eventPublisher;
+        private final ChangeOutbox changeOutbox;
+        private final CategoryProductCounter categoryProductCounter;
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+        private final Validator validator;
+        private final ObjectMapper objectMapper;
+        private final int batchSize;
+        private final int maxErrors;
+
+        public ProductImportServiceImpl(ProductRepository productRepository,
+                        CategoryRepository categoryRepository,
+                        ProductCountCache productCountCache,
+                        ProductSearchIndex productSearchIndex,
+                        ApplicationEventPublisher eventPublisher,
+                        ChangeOutbox changeOutbox,
+                        CategoryProductCounter categoryProductCounter,
+                        JdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        Validator validator,
+                        ObjectMapper objectMapper,
+                        @Value("${app.import.batch-size:1000}") int batchSize,
+                        @Value("${app.import.max-errors:1000}") int maxErrors) {
+                this.productRepository = productRepository;
+                this.categoryRepository = categoryRepository;
+                this.productCountCache = productCountCache;
+                this.productSearchIndex = productSearchIndex;
+                this.eventPublisher = eventPublisher;
+                this.changeOutbox = changeOutbox;
+                this.categoryProductCounter = categoryProductCounter;
+                this.jdbcTemplate = jdbcTemplate;
+                this.transactionTemplate = transactionTemplate;
+                this.validator = validator;
+                this.objectMapper = objectMapper;
+                this.batchSize = batchSize;
+                this.maxErrors = maxErrors;
+        }
+
+        @Override
+        public ProductImportResponse importCsv(InputStream input) throws IOException {
+
+                try (BufferedReader reader = newReader(input)) {
+                        String header = reader.readLine();
+                        if (header == null) {
+                                throw new IllegalArgumentException("CSV body is empty");
+                        }
+
+                        Map<String, Integer> columns = resolveColumns(CsvUtils.parseLine(header.strip()));
+
+                        // header is line 1
+                        return importLines(reader, 1, line -> toRequest(CsvUtils.parseLine(line), columns));
+                }
+        }
+
+        @Override
+        public ProductImportResponse importNdjson(InputStream input) throws IOException {
+
+                try (BufferedReader reader = newReader(input)) {
+                        return importLines(reader, 0, line -> objectMapper.readValue(line, ProductRequest.class));
+                }
+        }
+
+        // Private helper methods
+
+        private ProductImportResponse importLines(BufferedReader reader, long firstLine,
+                        Function<String, ProductRequest> parser) throws IOException {
+
+                ImportReport report = new ImportReport(maxErrors);
+                Set<Long> activeCategoryIds = new HashSet<>(categoryRepository.findActiveCategoryIds());
+                List<ImportRow> batch = new ArrayList<>(batchSize);
+
+                long lineNumber = firstLine;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                        lineNumber++;
+                        if (line.isBlank()) {
+                                continue;
+                        }
+                        report.totalRows++;
+
+                        ProductRequest request;
+                        try {
+                                request = parser.apply(line);
+                        } catch (JacksonException ex) {
+                                report.fail(lineNumber, null, "Malformed row: " + ex.getOriginalMessage());
+                                continue;
+                        } catch (IllegalArgumentException ex) {
+                                report.fail(lineNumber, null, "Malformed row: " + ex.getMessage());
+                                continue;
+                        }
+
+                        Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+                        if (!violations.isEmpty()) {
+                                ConstraintViolation<ProductRequest> violation = violations.iterator().next();
+                                report.fail(lineNumber, request.getSku(),
+                                                violation.getPropertyPath() + ": " + violation.getMessage());
+                                continue;
+                        }
+
+                        batch.add(new ImportRow(lineNumber, request));
+                        if (batch.size() == batchSize) {
+                                insertBatch(batch, activeCategoryIds, report);
+                                batch.clear();
+                        }
+                }
+
+                if (!batch.isEmpty()) {
+                        insertBatch(batch, activeCategoryIds, report);
+                }
+
+                return report.toResponse();
+        }
+
+        /**
+         * Rejects rows with unknown/inactive categories or SKUs that already exist
+         * (in the table, earlier batches included, or earlier in this batch),
+         * then inserts the rest with one JDBC batch.
+         */
+        private void insertBatch(List<ImportRow> batch, Set<Long> activeCategoryIds, ImportReport report) {
+
+                Set<String> skus = new HashSet<>();
+                batch.forEach(row -> skus.add(row.request().getSku()));
+
+                // Earlier batches are already committed, so this also catches duplicates across batches
+                Set<String> taken = new HashSet<>(productRepository.findExistingSkus(skus));
+
+                List<ImportRow> valid = new ArrayList<>(batch.size());
+                for (ImportRow row : batch) {
+                        ProductRequest request = row.request();
+
+                        if (!activeCategoryIds.contains(request.getCategoryId())) {
+                                report.fail(row.line(), request.getSku(),
+                                                "Active category with ID '" + request.getCategoryId() + "' not found.");
+                        } else if (!taken.add(request.getSku())) {
+                                report.fail(row.line(), request.getSku(),
+                                                "A product with SKU '" + request.getSku() + "' already exists.");
+                        } else {
+                                valid.add(row);
+                        }
+                }
+
+                if (valid.isEmpty()) {
+                        return;
+                }
+
+                try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                                Timestamp now = Timestamp.from(Instant.now());
+                                jdbcTemplate.batchUpdate(INSERT_SQL, valid, valid.size(), (ps, row) -> {
+                                        ProductRequest request = row.request();
+                                        ps.setString(1, request.getProductName());
+                                        ps.setString(2, request.getDescription());
+                                        ps.setBigDecimal(3, request.getPrice());
+                                        ps.setString(4, request.getSku());
+                                        ps.setInt(5, request.getInventoryCount());
+                                        ps.setLong(6, request.getCategoryId());
+                                        ps.setBoolean(7, true);
+                                        ps.setTimestamp(8, now);
+                                        ps.setTimestamp(9, now);
+                                });
+
+                                productCountCache.adjust(true, valid.size());
+                                valid.stream()
+                                                .collect(Collectors.groupingBy(row -> row.request().getCategoryId(),
+                                                                Collectors.counting()))
+                                                .forEach((categoryId, count) ->
+                                                                categoryProductCounter.created(categoryId, count, true));
+
+                                // JDBC inserts return no entities, read the new ids back for the search index and the outbox
+                                List<String> insertedSkus = valid.stream().map(row -> row.request().getSku()).toList();
+                                List<ProductSearchDocument> inserted = productRepository.findSearchDocumentsBySkus(insertedSkus);
+                                productSearchIndex.indexAfterCommit(inserted);
+                                changeOutbox.recordAll(ChangeEntityType.PRODUCT,
+                                                inserted.stream().map(ProductSearchDocument::productId).toList(),
+                                                ChangeType.CREATED);
+                                eventPublisher.publishEvent(new CatalogChangedEvent());
+                        });
+
+                        report.importedRows += valid.size();
+                } catch (DataAccessException ex) {
+                        // e.g. a concurrent insert took one of the SKUs; the whole batch rolled back
+                        valid.forEach(row -> report.fail(row.line(), row.request().getSku(),
+                                        "Batch insert failed: " + ex.getMostSpecificCause().getMessage()));
+                }
+        }
+
+        private Map<String, Integer> resolveColumns(List<String> header) {
+
+                Map<String, Integer> columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                        columns.put(header.get(i).strip(), i);
+                }
+
+                for (String column : CSV_COLUMNS) {
+                        if (!column.equals("description") && !columns.containsKey(column)) {
+                                throw new IllegalArgumentException("CSV header is missing column '" + column + "'");
+                        }
+                }
+
+                return columns;
+        }
+
+        private ProductRequest toRequest(List<String> fields, Map<String, Integer> columns) {
+
+                return ProductRequest.builder()
+                                .productName(field(fields, columns, "productName"))
+                                .description(field(fields, columns, "description"))
+                                .price(parse(field(fields, columns, "price"), BigDecimal::new, "price"))
+                                .sku(field(fields, columns, "sku"))
+                                .categoryId(parse(field(fields, columns, "categoryId"), Long::valueOf, "categoryId"))
+                                .inventoryCount(parse(field(fields, columns, "inventoryCount"), Integer::valueOf,
+                                                "inventoryCount"))
+                                .build();
+        }
+
+        // Missing or empty cells become null so bean validation reports them
+        private String field(List<String> fields, Map<String, Integer> columns, String column) {
+
+                Integer index = columns.get(column);
+                if (index == null || index >= fields.size()) {
+                        return null;
+                }
+
+                String value = fields.get(index).strip();
+                return value.isEmpty() ? null : value;
+        }
+
+        private <T> T parse(String value, Function<String, T> parser, String column) {
+
+                if (value == null) {
+                        return null;
+                }
+
+                try {
+                        return parser.apply(value);
+                } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException(column + " '" + value + "' is not a number");
+                }
+        }
+
+        private BufferedReader newReader(InputStream input) {
+                return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        }
+
+        private record ImportRow(long line, ProductRequest request) {
+        }
+
+        // Running totals; only the first maxErrors failures are kept
+        private static class ImportReport {
+
+                private final int maxErrors;
+
+                private final List<ProductImportError> errors = new ArrayList<>();
+
+                private long totalRows;
+
+                private long importedRows;
+
+                private long failedRows;
+
+                ImportReport(int maxErrors) {
+                        this.maxErrors = maxErrors;
+                }
+
+                void fail(long line, String sku, String message) {
+                        failedRows++;
+                        if (errors.size() < maxErrors) {
+                                errors.add(new ProductImportError(line, sku, message));
+                        }
+                }
+
+                ProductImportResponse toResponse() {
+                        // batch level rejections are reported after row level ones
+                        errors.sort(Comparator.comparingLong(ProductImportError::getLine));
+
+                        return ProductImportResponse.builder()
+                                        .totalRows(totalRows)
+                                        .importedRows(importedRows)
+                                        .failedRows(failedRows)
+                                        .errors(errors)
+                                        .errorsTruncated(failedRows > errors.size())
+                                        .build();
+                }
+        }
+}
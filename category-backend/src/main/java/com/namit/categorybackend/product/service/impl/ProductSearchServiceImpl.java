@@ -0,0 +1,75 @@
+package com.namit.categorybackend.product.service.impl;
+
+import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.entity.Product;
+import com.namit.categorybackend.product.mapper.ProductMapper;
+import com.namit.categorybackend.product.repository.ProductRepository;
+import com.namit.categorybackend.product.search.ProductSearchDocument;
+import com.namit.categorybackend.product.search.ProductSearchIndex;
+import com.namit.categorybackend.product.service.ProductSearchService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * Ranking happens in the in-memory index; the database is only asked for
+ * the final page of hits, by primary key.
+ */
+@Service
+@Timed("catalog.service")
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+        private static final int MAX_LIMIT = 100;
+
+        private final ProductRepository productRepository;
+        private final ProductSearchIndex productSearchIndex;
+
+        @Override
+        @Transactional(readOnly = true)
+        public List<ProductResponse> search(String query, int limit) {
+
+                if (query == null || query.isBlank()) {
+                        throw new IllegalArgumentException("Search query must not be blank");
+                }
+                if (limit < 1 || limit > MAX_LIMIT) {
+                        throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+                }
+
+                List<Long> ids = productSearchIndex.search(query, limit);
+                if (ids.isEmpty()) {
+                        return List.of();
+                }
+
+                Map<Long, Product> products = productRepository.findByProductIdIn(ids).stream()
+                                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+
+                // Keep the index ranking; skip rows deactivated since the index saw them
+                return ids.stream()
+                                .map(products::get)
+                                .filter(Objects::nonNull)
+                                .filter(Product::getStatus)
+                                .map(ProductMapper::toResponse)
+                                .toList();
+        }
+
+        @Override
+        @EventListener(ApplicationReadyEvent.class)
+        @Transactional(readOnly = true)
+        public int rebuildIndex() {
+
+                try (Stream<ProductSearchDocument> documents = productRepository.streamSearchDocuments()) {
+                        return productSearchIndex.rebuild(documents);
+                }
+        }
+}
@@ -1,33 +1,68 @@
 package com.namit.categorybackend.product.service.impl;
 
+import com.namit.categorybackend.category.cache.CategoryCache;
+import com.namit.categorybackend.category.cache.CategoryTree;
+import com.namit.categorybackend.category.counter.CategoryProductCounter;
 import com.namit.categorybackend.category.entity.Category;
-import com.namit.categorybackend.category.repository.CategoryRepository;
+import com.namit.categorybackend.change.entity.ChangeEntityType;
+import com.namit.categorybackend.change.entity.ChangeType;
+import com.namit.categorybackend.change.service.ChangeOutbox;
 import com.namit.categorybackend.common.exception.ResourceAlreadyExistsException;
 import com.namit.categorybackend.common.exception.ResourceNotFoundException;
+import com.namit.categorybackend.common.pagination.Cursor;
+import com.namit.categorybackend.common.response.BatchGetResponse;
+import com.namit.categorybackend.common.response.CursorResponse;
 import com.namit.categorybackend.common.response.PagedResponse;
+import com.namit.categorybackend.common.response.SliceResponse;
+import com.namit.categorybackend.common.util.BatchLookup;
+import com.namit.categorybackend.product.cache.ProductCountCache;
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
 import com.namit.categorybackend.product.dto.ProductRequest;
 import com.namit.categorybackend.product.dto.ProductResponse;
 import com.namit.categorybackend.product.entity.Product;
+import com.namit.categorybackend.product.event.CatalogChangedEvent;
 import com.namit.categorybackend.product.mapper.ProductMapper;
 import com.namit.categorybackend.product.repository.ProductRepository;
+import com.namit.categorybackend.product.search.ProductSearchDocument;
+import com.namit.categorybackend.product.search.ProductSearchIndex;
 import com.namit.categorybackend.product.service.ProductService;
 
 import com.namit.categorybackend.product.specification.ProductSpecification;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Set;
+
 @Service
+@Timed("catalog.service")
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
         private final ProductRepository productRepository;
-        private final CategoryRepository categoryRepository;
+        private final CategoryCache categoryCache;
+        private final ProductCountCache productCountCache;
+        private final ProductSearchIndex productSearchIndex;
+        private final ApplicationEventPublisher eventPublisher;
+        private final ChangeOutbox changeOutbox;
+        private final CategoryTree categoryTree;
+        private final CategoryProductCounter categoryProductCounter;
+
+        // Sort fields clients may choose; each is backed by an index on products
+        private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "price", "productName");
+
+        // Keyset order; productId breaks ties between rows created in the same instant
+        private static final Sort KEYSET_SORT = Sort.by(
+                        Sort.Order.desc("createdAt"),
+                        Sort.Order.desc("productId"));
 
         @Override
         @Transactional
@@ -39,8 +74,8 @@ public class ProductServiceImpl implements ProductService {
                                         "A product with SKU '" + request.getSku() + "' already exists.");
                 }
 
-                // validate category existence
-                Category category = categoryRepository.findByCategoryIdAndStatusTrue(request.getCategoryId())
+                // validate category existence (served from the active category cache)
+                Category category = categoryCache.findActive(request.getCategoryId())
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 "Active category with ID '" + request.getCategoryId()
                                                                 + "' not found."));
@@ -50,54 +85,84 @@ public class ProductServiceImpl implements ProductService {
                 product.setCategory(category);
 
                 Product savedProduct = productRepository.save(product);
+                productCountCache.adjust(savedProduct.getStatus(), 1);
+                categoryProductCounter.created(category.getCategoryId(), 1, savedProduct.getStatus());
+                changeOutbox.record(ChangeEntityType.PRODUCT, savedProduct.getProductId(), ChangeType.CREATED);
+                if (savedProduct.getStatus()) {
+                        productSearchIndex.indexAfterCommit(toSearchDocument(savedProduct));
+                        eventPublisher.publishEvent(new CatalogChangedEvent());
+                }
+
                 return ProductMapper.toResponse(savedProduct);
         }
 
         @Override
         @Transactional(readOnly = true)
-        public PagedResponse<ProductResponse> getAllProducts(int page, int size, String status) {
+        public PagedResponse<ProductResponse> getAllProducts(int page, int size, String status,
+                        ProductFilterRequest filter) {
 
-                Pageable pageable = PageRequest.of(
-                                page,
-                                size,
-                                Sort.by("createdAt").descending());
-                Boolean statusValue = switch (status.toLowerCase()) {
-                        case "inactive" -> false;
-                        case "all" -> null;
-                        default -> true;
-                };
+                Boolean statusValue = resolveStatus(status);
+                Specification<Product> spec = ProductSpecification.hasStatus(statusValue)
+                                .and(matching(filter));
 
-                Specification<Product> spec = Specification.where(ProductSpecification.hasStatus((statusValue)));
+                Slice<ProductResponse> slice = findSlice(spec, page, size, filter);
 
-                Page<Product> productPage = productRepository.findAll(spec, pageable);
+                return toPagedResponse(slice, countMatching(spec, statusValue, filter));
+        }
 
-                Page<ProductResponse> mappedPage = productPage.map(ProductMapper::toResponse);
+        @Override
+        @Transactional(readOnly = true)
+        public SliceResponse<ProductResponse> getProductsSlice(int page, int size, String status,
+                        ProductFilterRequest filter) {
 
-                return new PagedResponse<>(
-                                mappedPage.getContent(),
-                                mappedPage.getNumber(),
-                                mappedPage.getSize(),
-                                mappedPage.getTotalElements(),
-                                mappedPage.getTotalPages());
+                Specification<Product> spec = ProductSpecification.hasStatus(resolveStatus(status))
+                                .and(matching(filter));
+
+                Slice<ProductResponse> slice = findSlice(spec, page, size, filter);
+
+                return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
         }
 
         @Override
         @Transactional(readOnly = true)
         public ProductResponse getProductById(Long id) {
 
-                Product product = productRepository.findById(id).orElseThrow(
+                Product product = productRepository.findWithCategoryByProductId(id).orElseThrow(
                                 () -> new ResourceNotFoundException("Product cannot be found with ID:" + id));
 
                 return ProductMapper.toResponse(product);
         }
 
+        @Override
+        @Transactional(readOnly = true)
+        public BatchGetResponse<ProductResponse> getProductsByIds(List<Long> ids) {
+
+                // Category comes with each chunk through the entity graph, no lazy load per product
+                return BatchLookup.byIds(ids,
+                                chunk -> productRepository.findByProductIdIn(chunk).stream()
+                                                .map(ProductMapper::toResponse)
+                                                .toList(),
+                                ProductResponse::getProductId);
+        }
+
         @Override
         @Transactional
         public ProductResponse toggleProductStatus(Long id) {
 
-                Product product = productRepository.findById(id)
+                Product product = productRepository.findWithCategoryByProductId(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
+                productCountCache.move(product.getStatus());
                 product.setStatus(!product.getStatus());
+                categoryProductCounter.toggled(product.getCategory().getCategoryId(), product.getStatus());
+
+                if (product.getStatus()) {
+                        productSearchIndex.indexAfterCommit(toSearchDocument(product));
+                } else {
+                        productSearchIndex.removeAfterCommit(product.getProductId());
+                }
+                changeOutbox.record(ChangeEntityType.PRODUCT, id,
+                                product.getStatus() ? ChangeType.ACTIVATED : ChangeType.DEACTIVATED);
+                eventPublisher.publishEvent(new CatalogChangedEvent());
 
                 return ProductMapper.toResponse(product);
 
@@ -109,8 +174,8 @@ public class ProductServiceImpl implements ProductService {
 
                 Product product = productRepository.findByProductIdAndStatusTrue(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
-                Category category = categoryRepository
-                                .findByCategoryIdAndStatusTrue(request.getCategoryId())
+                Category category = categoryCache
+                                .findActive(request.getCategoryId())
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 "Active category with ID '" + request.getCategoryId()
                                                                 + "' not found."));
@@ -126,31 +191,154 @@ public class ProductServiceImpl implements ProductService {
                 product.setPrice(request.getPrice());
                 product.setSku(request.getSku());
                 product.setInventoryCount(request.getInventoryCount());
+                // Only active products are updated here
+                categoryProductCounter.moved(product.getCategory().getCategoryId(), category.getCategoryId(), true);
                 product.setCategory(category);
+                productSearchIndex.indexAfterCommit(toSearchDocument(product));
+                changeOutbox.record(ChangeEntityType.PRODUCT, id, ChangeType.UPDATED);
+                eventPublisher.publishEvent(new CatalogChangedEvent());
 
                 return ProductMapper.toResponse(product);
         }
 
         @Override
         @Transactional(readOnly = true)
-        public PagedResponse<ProductResponse> getPublicProducts(int page, int size) {
+        public PagedResponse<ProductResponse> getPublicProducts(int page, int size, ProductFilterRequest filter) {
 
-                Pageable pageable = PageRequest.of(
-                                page,
-                                size,
-                                Sort.by("createdAt").descending());
+                Specification<Product> spec = ProductSpecification.hasStatus(true)
+                                .and(matching(filter));
 
-                Specification<Product> spec = Specification.where(ProductSpecification.hasStatus(true));
+                Slice<ProductResponse> slice = findSlice(spec, page, size, filter);
 
-                Page<Product> productPage = productRepository.findAll(spec, pageable);
+                return toPagedResponse(slice, countMatching(spec, true, filter));
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public SliceResponse<ProductResponse> getPublicProductsSlice(int page, int size, ProductFilterRequest filter) {
+
+                Specification<Product> spec = ProductSpecification.hasStatus(true)
+                                .and(matching(filter));
 
-                Page<ProductResponse> mappedPage = productPage.map(ProductMapper::toResponse);
+                Slice<ProductResponse> slice = findSlice(spec, page, size, filter);
+
+                return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public CursorResponse<ProductResponse> getProductsByCursor(String cursor, int size, String status) {
+
+                Specification<Product> spec = Specification.where(ProductSpecification.hasStatus(resolveStatus(status)))
+                                .and(ProductSpecification.after(Cursor.decode(cursor)));
+
+                return findByCursor(spec, size);
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public CursorResponse<ProductResponse> getPublicProductsByCursor(String cursor, int size) {
+
+                Specification<Product> spec = Specification.where(ProductSpecification.hasStatus(true))
+                                .and(ProductSpecification.after(Cursor.decode(cursor)));
+
+                return findByCursor(spec, size);
+        }
+
+        // Private helper methods
+
+        private Boolean resolveStatus(String status) {
+                return switch (status.toLowerCase()) {
+                        case "inactive" -> false;
+                        case "all" -> null;
+                        default -> true;
+                };
+        }
+
+        private ProductSearchDocument toSearchDocument(Product product) {
+                return new ProductSearchDocument(product.getProductId(), product.getProductName(), product.getDescription());
+        }
+
+        /**
+         * Reads one page straight into DTOs, without the COUNT query a Page would run;
+         * fetches one extra row to know whether a next page exists.
+         */
+        private Slice<ProductResponse> findSlice(Specification<Product> spec, int page, int size,
+                        ProductFilterRequest filter) {
+
+                Pageable pageable = PageRequest.of(page, size, resolveSort(filter));
+
+                return productRepository.findResponses(spec, pageable);
+        }
+
+        // Defaults to newest first; productId keeps pages stable when sort values tie
+        private Sort resolveSort(ProductFilterRequest filter) {
+
+                String sortBy = (filter == null || filter.getSortBy() == null) ? "createdAt" : filter.getSortBy();
+                if (!SORTABLE_FIELDS.contains(sortBy)) {
+                        throw new IllegalArgumentException(
+                                        "sortBy must be one of " + SORTABLE_FIELDS + " but was '" + sortBy + "'");
+                }
+
+                Sort.Direction direction = (filter == null || filter.getDirection() == null)
+                                ? Sort.Direction.DESC
+                                : Sort.Direction.fromString(filter.getDirection());
+
+                return Sort.by(new Sort.Order(direction, sortBy), new Sort.Order(direction, "productId"));
+        }
+
+        // Listing filters, with categoryIds widened to whole subtrees when includeSubcategories is set
+        private Specification<Product> matching(ProductFilterRequest filter) {
+
+                Specification<Product> spec = ProductSpecification.matches(filter);
+                if (filter != null && filter.includesSubcategories()
+                                && filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+                        spec = spec.and(ProductSpecification.inCategoryTrees(categoryTree.paths(filter.getCategoryIds())));
+                }
+                return spec;
+        }
+
+        // Unfiltered totals come from the status count cache; filtered ones need a COUNT
+        private long countMatching(Specification<Product> spec, Boolean status, ProductFilterRequest filter) {
+
+                if (filter == null || !filter.hasCriteria()) {
+                        return productCountCache.count(status);
+                }
+                return productRepository.count(spec);
+        }
+
+        // Totals come from the count cache instead of a COUNT per request
+        private PagedResponse<ProductResponse> toPagedResponse(Slice<ProductResponse> slice, long totalElements) {
+
+                int totalPages = (int) ((totalElements + slice.getSize() - 1) / slice.getSize());
 
                 return new PagedResponse<>(
-                                mappedPage.getContent(),
-                                mappedPage.getNumber(),
-                                mappedPage.getSize(),
-                                mappedPage.getTotalElements(),
-                                mappedPage.getTotalPages());
+                                slice.getContent(),
+                                slice.getNumber(),
+                                slice.getSize(),
+                                totalElements,
+                                totalPages);
+        }
+
+        /**
+         * Seeks past the cursor instead of using OFFSET, so every page costs the same.
+         * Fetches one extra row to know whether a next page exists without a COUNT query.
+         */
+        private CursorResponse<ProductResponse> findByCursor(Specification<Product> spec, int size) {
+
+                if (size < 1) {
+                        throw new IllegalArgumentException("Page size must not be less than one");
+                }
+
+                Slice<ProductResponse> rows = productRepository.findResponses(spec, PageRequest.of(0, size, KEYSET_SORT));
+                List<ProductResponse> content = rows.getContent();
+
+                String nextCursor = null;
+                if (rows.hasNext()) {
+                        ProductResponse last = content.get(content.size() - 1);
+                        nextCursor = new Cursor(last.getCreatedAt(), last.getProductId()).encode();
+                }
+
+                return new CursorResponse<>(content, size, nextCursor, rows.hasNext());
         }
 }
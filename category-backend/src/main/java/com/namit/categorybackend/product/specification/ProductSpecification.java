@@ -1,14 +1,108 @@
 package com.namit.categorybackend.product.specification;
 
+import com.namit.categorybackend.common.pagination.Cursor;
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
 import com.namit.categorybackend.product.entity.Product;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 public class ProductSpecification {
 
+    private static final char LIKE_ESCAPE = '\\';
+
     public static Specification<Product> hasStatus(Boolean status){
         return(root, query, cb) -> {
             if(status == null) return null;
             return cb.equal(root.get("status"),status);
         };
     }
+
+    // Keyset predicate for (createdAt DESC, productId DESC) ordering
+    public static Specification<Product> after(Cursor cursor){
+        return (root, query, cb) -> {
+            if(cursor == null) return null;
+            return cb.or(
+                    cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), cursor.createdAt()),
+                            cb.lessThan(root.get("productId"), cursor.id())));
+        };
+    }
+
+    // Uses the category_id foreign key column, no join needed
+    public static Specification<Product> inCategories(List<Long> categoryIds){
+        return (root, query, cb) -> {
+            if(categoryIds == null || categoryIds.isEmpty()) return null;
+            return root.get("category").get("categoryId").in(categoryIds);
+        };
+    }
+
+    // Categories given as path prefixes ('/3/17/'), each matching its whole subtree
+    public static Specification<Product> inCategoryTrees(List<String> paths){
+        return (root, query, cb) -> {
+            if(paths == null) return null;
+            if(paths.isEmpty()) return cb.disjunction();
+            return cb.or(paths.stream()
+                    .map(path -> cb.like(root.get("category").get("path"), path + "%"))
+                    .toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Product> priceBetween(BigDecimal minPrice, BigDecimal maxPrice){
+        return (root, query, cb) -> {
+            if(minPrice == null && maxPrice == null) return null;
+            if(minPrice == null) return cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+            if(maxPrice == null) return cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+            return cb.between(root.get("price"), minPrice, maxPrice);
+        };
+    }
+
+    // ">= 1" rather than "> 0": the index range then starts past the out-of-stock rows instead of skipping them
+    public static Specification<Product> inStock(Boolean inStock){
+        return (root, query, cb) -> {
+            if(inStock == null) return null;
+            return inStock
+                    ? cb.greaterThanOrEqualTo(root.get("inventoryCount"), 1)
+                    : cb.equal(root.get("inventoryCount"), 0);
+        };
+    }
+
+    // Prefix only (no leading wildcard) so the product_name index can range scan
+    public static Specification<Product> nameStartsWith(String prefix){
+        return (root, query, cb) -> {
+            if(prefix == null || prefix.isBlank()) return null;
+            return cb.like(root.get("productName"), escapeLike(prefix.strip()) + "%", LIKE_ESCAPE);
+        };
+    }
+
+    // Prefix only, served by the unique sku index
+    public static Specification<Product> skuStartsWith(String prefix){
+        return (root, query, cb) -> {
+            if(prefix == null || prefix.isBlank()) return null;
+            return cb.like(root.get("sku"), escapeLike(prefix.strip()) + "%", LIKE_ESCAPE);
+        };
+    }
+
+    // Combines every filter that is set
+    public static Specification<Product> matches(ProductFilterRequest filter){
+        if(filter == null) return Specification.unrestricted();
+
+        return Specification.allOf(
+                // Subtree matching needs category paths; the service adds inCategoryTrees instead
+                inCategories(filter.includesSubcategories() ? null : filter.getCategoryIds()),
+                priceBetween(filter.getMinPrice(), filter.getMaxPrice()),
+                inStock(filter.getInStock()),
+                nameStartsWith(filter.getNamePrefix()),
+                skuStartsWith(filter.getSkuPrefix()));
+    }
+
+    private static String escapeLike(String value){
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 }
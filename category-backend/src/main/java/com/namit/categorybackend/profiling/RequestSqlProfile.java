@@ -0,0 +1,46 @@
+package com.namit.categorybackend.profiling;
+
+import java.util.Locale;
+
+/*
+ * Statements one request sent. Only the request's own thread writes to it,
+ * so it needs no synchronization; work handed to executors is not included.
+ */
+public class RequestSqlProfile {
+
+    private int statements;
+    private long totalNanos;
+    private long slowestNanos;
+    private String slowestSql;
+
+    void record(String sql, long nanos) {
+        statements++;
+        totalNanos += nanos;
+        if (nanos >= slowestNanos) {
+            slowestNanos = nanos;
+            slowestSql = sql;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getSlowestNanos() {
+        return slowestNanos;
+    }
+
+    public String getSlowestSql() {
+        return slowestSql;
+    }
+
+    // e.g. db;dur=12.40;desc="statements=3", db-slowest;dur=9.80
+    public String serverTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.2f;desc=\"statements=%d\", db-slowest;dur=%.2f",
+                totalNanos / 1e6, statements, slowestNanos / 1e6);
+    }
+}
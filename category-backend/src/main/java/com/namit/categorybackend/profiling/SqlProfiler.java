@@ -0,0 +1,152 @@
+package com.namit.categorybackend.profiling;
+
+import com.namit.categorybackend.common.response.SqlStatementStats;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/*
+ * Listener on the proxied DataSource (see SqlProfilingConfig). Times every
+ * statement and adds it to the current request's profile, if one is open
+ * on this thread, and to per-statement totals since startup.
+ *
+ * Totals are keyed by normalized SQL (literals and IN lists collapsed), so
+ * the same query with different values counts once. At most max-tracked
+ * distinct statements are kept; later ones still reach request profiles.
+ */
+@Slf4j
+@Component
+public class SqlProfiler implements QueryExecutionListener {
+
+    private static final String STARTED_AT = SqlProfiler.class.getName() + ".startedAt";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ThreadLocal<RequestSqlProfile> current = new ThreadLocal<>();
+
+    private final Map<String, StatementTotals> totals = new ConcurrentHashMap<>();
+
+    // Hibernate sends the same few strings over and over, normalize each once
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+
+    private final long slowQueryNanos;
+    private final int maxTracked;
+
+    public SqlProfiler(@Value("${app.sql.profiling.slow-query-threshold:PT0.1S}") Duration slowQueryThreshold,
+            @Value("${app.sql.profiling.max-tracked:1000}") int maxTracked) {
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.maxTracked = maxTracked;
+    }
+
+    public RequestSqlProfile begin() {
+        RequestSqlProfile profile = new RequestSqlProfile();
+        current.set(profile);
+        return profile;
+    }
+
+    public RequestSqlProfile current() {
+        return current.get();
+    }
+
+    public void end() {
+        current.remove();
+    }
+
+    public List<SqlStatementStats> top(int limit, Comparator<SqlStatementStats> order) {
+        return totals.entrySet().stream()
+                .map(entry -> entry.getValue().toStats(entry.getKey()))
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        if (startedAt == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        long nanos = System.nanoTime() - startedAt;
+        // A JDBC batch repeats one statement
+        String sql = queryInfoList.get(0).getQuery();
+
+        RequestSqlProfile profile = current.get();
+        if (profile != null) {
+            profile.record(sql, nanos);
+        }
+
+        String key = normalizedOf(sql);
+        StatementTotals statement = totals.size() < maxTracked
+                ? totals.computeIfAbsent(key, k -> new StatementTotals())
+                : totals.get(key);
+        if (statement != null) {
+            statement.add(nanos);
+        }
+
+        if (nanos >= slowQueryNanos) {
+            log.warn("slow-query durationMs={} batchSize={} success={} sql=\"{}\"",
+                    String.format("%.1f", nanos / 1e6), execInfo.getBatchSize(), execInfo.isSuccess(), key);
+        }
+    }
+
+    // Literals become ?, IN lists of any length one (?...), whitespace one space
+    static String normalize(String sql) {
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = IN_LIST.matcher(result).replaceAll("in (?...)");
+        return WHITESPACE.matcher(result).replaceAll(" ").strip();
+    }
+
+    private String normalizedOf(String sql) {
+        String cached = normalized.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String result = normalize(sql);
+        if (normalized.size() < maxTracked * 4) {
+            normalized.put(sql, result);
+        }
+        return result;
+    }
+
+    private static final class StatementTotals {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        SqlStatementStats toStats(String sql) {
+            long executions = count.sum();
+            double totalMs = totalNanos.sum() / 1e6;
+            return new SqlStatementStats(sql, executions, totalMs,
+                    executions == 0 ? 0 : totalMs / executions, maxNanos.get() / 1e6);
+        }
+    }
+}
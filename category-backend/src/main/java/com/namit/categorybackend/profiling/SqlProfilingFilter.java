@@ -0,0 +1,64 @@
+package com.namit.categorybackend.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/*
+ * Opens a SQL profile for each API request. Responses with a body get the
+ * Server-Timing header from ServerTimingAdvice just before the body is
+ * written; bodiless ones (304, 204) get it here. A request whose JDBC time
+ * reaches slow-request-threshold is logged as one key=value line.
+ */
+@Slf4j
+@Component
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final SqlProfiler sqlProfiler;
+    private final long slowRequestNanos;
+
+    public SqlProfilingFilter(SqlProfiler sqlProfiler,
+            @Value("${app.sql.profiling.slow-request-threshold:PT0.3S}") Duration slowRequestThreshold) {
+        this.sqlProfiler = sqlProfiler;
+        this.slowRequestNanos = slowRequestThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        RequestSqlProfile profile = sqlProfiler.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            sqlProfiler.end();
+
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, profile.serverTiming());
+            }
+            if (profile.getTotalNanos() >= slowRequestNanos) {
+                log.warn("slow-request method={} uri={} status={} statements={} jdbcMs={} slowestMs={} slowestSql=\"{}\"",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        profile.getStatements(),
+                        String.format("%.1f", profile.getTotalNanos() / 1e6),
+                        String.format("%.1f", profile.getSlowestNanos() / 1e6),
+                        SqlProfiler.normalize(profile.getSlowestSql()));
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.namit.categorybackend.profiling.controller;
+
+import com.namit.categorybackend.common.response.ApiWrapper;
+import com.namit.categorybackend.common.response.SqlStatementStats;
+import com.namit.categorybackend.profiling.SqlProfiler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/sql")
+@RequiredArgsConstructor
+public class SqlProfilingController {
+
+        private static final int MAX_LIMIT = 100;
+
+        private final SqlProfiler sqlProfiler;
+
+        // Slowest normalized statements since startup
+        @Operation(summary = "Get the slowest SQL statements since startup")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Statements retrieved"),
+                        @ApiResponse(responseCode = "400", description = "Invalid limit or orderBy")
+        })
+        @GetMapping("/slowest")
+        public ResponseEntity<ApiWrapper<List<SqlStatementStats>>> getSlowest(
+                        @RequestParam(defaultValue = "20") int limit,
+                        @RequestParam(defaultValue = "total") String orderBy) {
+
+                if (limit < 1 || limit > MAX_LIMIT) {
+                        throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+                }
+
+                Comparator<SqlStatementStats> order = switch (orderBy) {
+                        case "total" -> Comparator.comparingDouble(SqlStatementStats::totalMs);
+                        case "max" -> Comparator.comparingDouble(SqlStatementStats::maxMs);
+                        case "mean" -> Comparator.comparingDouble(SqlStatementStats::meanMs);
+                        case "count" -> Comparator.comparingLong(SqlStatementStats::count);
+                        default -> throw new IllegalArgumentException(
+                                        "orderBy must be one of total, max, mean, count");
+                };
+
+                return ResponseEntity.ok(ApiWrapper.success("Statements retrieved successfully",
+                                sqlProfiler.top(limit, order)));
+        }
+}
@@ -0,0 +1,123 @@
+package com.namit.categorybackend.category.counter;
+
+import com.namit.categorybackend.category.dto.CategoryResponse;
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Own database: reconciliation looks at every category
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:counters;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class CategoryProductCounterTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryCountReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        categoryId = createCategory("Counted");
+    }
+
+    @Test
+    void productWritesMoveTheCounters() {
+        Long first = createProduct("Counter Mug", categoryId);
+        createProduct("Counter Bowl", categoryId);
+        assertCounts(categoryId, 2, 2);
+
+        productService.toggleProductStatus(first);
+        assertCounts(categoryId, 2, 1);
+
+        productService.toggleProductStatus(first);
+        Long otherId = createCategory("Other");
+        productService.updateProduct(first, product("Counter Mug", otherId));
+        assertCounts(categoryId, 1, 1);
+        assertCounts(otherId, 1, 1);
+        assertThat(categoryService.getProductCount(otherId)).isEqualTo(1);
+    }
+
+    @Test
+    void reassignmentMovesTheCountersWithTheProducts() {
+        Long targetId = createCategory("Target");
+        Long inactive = createProduct("Counter Plate", categoryId);
+        createProduct("Counter Cup", categoryId);
+        productService.toggleProductStatus(inactive);
+
+        categoryService.deleteCategory(categoryId, targetId);
+
+        assertThat(categoryService.getProductCount(categoryId)).isZero();
+        assertCounts(targetId, 2, 1);
+    }
+
+    @Test
+    void categoryByIdChangesWhenItsCountersMove() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/categories/{id}", categoryId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Only the counters change; the category row's updatedAt stays put
+        createProduct("Counter Saucer", categoryId);
+
+        mockMvc.perform(get("/api/v1/categories/{id}", categoryId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    void reconciliationRecountsDriftedCategories() {
+        createProduct("Counter Jug", categoryId);
+        assertThat(reconciler.reconcile()).isZero();
+
+        jdbcTemplate.update("UPDATE categories SET product_count = 7 WHERE category_id = ?", categoryId);
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+        assertCounts(categoryId, 1, 1);
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    private void assertCounts(Long id, long total, long active) {
+        CategoryResponse category = categoryService.getCategoryById(id);
+        assertThat(category.getProductCount()).isEqualTo(total);
+        assertThat(category.getActiveProductCount()).isEqualTo(active);
+    }
+
+    private Long createCategory(String name) {
+        return categoryService.createCategory(category(name)).getCategoryId();
+    }
+
+    private Long createProduct(String name, Long categoryId) {
+        return productService.createProduct(product(name, categoryId)).getProductId();
+    }
+}
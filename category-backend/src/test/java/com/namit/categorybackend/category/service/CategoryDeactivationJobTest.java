@@ -0,0 +1,189 @@
+package com.namit.categorybackend.category.service;
+
+import com.namit.categorybackend.common.exception.ResourceNotFoundException;
+import com.namit.categorybackend.job.dto.JobResponse;
+import com.namit.categorybackend.job.entity.JobStatus;
+import com.namit.categorybackend.job.service.JobService;
+import com.namit.categorybackend.product.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * One job thread and a queue of one: a blocking task on the thread keeps the
+ * deactivation queued long enough to check the one-job-per-category rule and
+ * the full-queue path deterministically. Chunks of two make five products
+ * take several chunks; zero retention purges a finished job on the next create.
+ */
+@SpringBootTest(properties = {
+        "app.jobs.pool-size=1",
+        "app.jobs.queue-capacity=1",
+        "app.jobs.reassign-chunk-size=2",
+        "app.jobs.retention=PT0S"
+})
+class CategoryDeactivationJobTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    @Qualifier("jobExecutor")
+    private ThreadPoolTaskExecutor jobExecutor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @AfterEach
+    void releaseTheJobThread() {
+        release.countDown();
+    }
+
+    @Test
+    void chunkedDeactivationRunsToCompletionAndAllowsOneJobPerCategory() throws Exception {
+        Long categoryId = categoryService.createCategory(category("Retired")).getCategoryId();
+        Long targetId = categoryService.createCategory(category("Kept")).getCategoryId();
+        List<Long> productIds = IntStream.range(0, 5)
+                .mapToObj(i -> productService.createProduct(product("Retired Mug " + i, categoryId)).getProductId())
+                .toList();
+
+        jobExecutor.execute(this::awaitRelease);
+        JobResponse queued = categoryService.deactivateCategoryAsync(categoryId, targetId);
+        assertThat(queued.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(queued.getTotalItems()).isEqualTo(5);
+
+        // The first job has not finished, so a second one for the category is refused
+        assertThatThrownBy(() -> categoryService.deactivateCategoryAsync(categoryId, targetId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already running");
+
+        // The queue holds the first job only
+        Long otherId = categoryService.createCategory(category("Crowded")).getCategoryId();
+        assertThatThrownBy(() -> categoryService.deactivateCategoryAsync(otherId, targetId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Too many background jobs");
+
+        release.countDown();
+        JobResponse finished = awaitFinished(queued.getJobId());
+
+        assertThat(finished.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(finished.getProcessedItems()).isEqualTo(5);
+        assertThat(finished.getPercentComplete()).isEqualTo(100.0);
+        mockMvc.perform(get("/api/v1/jobs/{id}", queued.getJobId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.data.processedItems").value(5));
+
+        assertThatThrownBy(() -> categoryService.getCategoryById(categoryId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        productIds.forEach(id -> assertThat(productService.getProductById(id).getCategoryId()).isEqualTo(targetId));
+        assertThat(categoryService.getProductCount(targetId)).isEqualTo(5);
+
+        // The next job creation purges the finished one
+        JobResponse next = categoryService.deactivateCategoryAsync(otherId, targetId);
+        mockMvc.perform(get("/api/v1/jobs/{id}", queued.getJobId()))
+                .andExpect(status().isNotFound());
+        awaitFinished(next.getJobId());
+    }
+
+    @Test
+    void jobFailsBeforeMovingProductsIntoATargetDeactivatedMeanwhile() throws Exception {
+        Long categoryId = categoryService.createCategory(category("Stranded")).getCategoryId();
+        Long targetId = categoryService.createCategory(category("Closed")).getCategoryId();
+        List<Long> productIds = IntStream.range(0, 3)
+                .mapToObj(i -> productService.createProduct(product("Stranded Jug " + i, categoryId)).getProductId())
+                .toList();
+
+        jobExecutor.execute(this::awaitRelease);
+        JobResponse queued = categoryService.deactivateCategoryAsync(categoryId, targetId);
+        categoryService.toggleCategoryStatus(targetId, null);
+
+        release.countDown();
+        JobResponse finished = awaitFinished(queued.getJobId());
+
+        // The first chunk already sees the inactive target, so nothing moves
+        assertThat(finished.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(finished.getProcessedItems()).isZero();
+        assertThat(finished.getError()).contains("no longer active");
+        assertThat(categoryService.getCategoryById(categoryId).getCategoryId()).isEqualTo(categoryId);
+        productIds.forEach(id -> assertThat(productService.getProductById(id).getCategoryId()).isEqualTo(categoryId));
+    }
+
+    @Test
+    void jobOfAStoppedNodeIsFailedAndFreesItsCategory() throws Exception {
+        Long categoryId = categoryService.createCategory(category("Abandoned")).getCategoryId();
+        String jobId = jobService.createJob("category-deactivation", categoryId, 0).getJobId();
+
+        // As if the node that queued the job crashed a while ago
+        jdbcTemplate.update("UPDATE jobs SET owner_node = 'stopped-node', heartbeat_at = ? WHERE job_id = ?",
+                Timestamp.from(Instant.parse("2020-01-01T00:00:00Z")), jobId);
+        jobService.heartbeat();
+
+        JobResponse failed = jobService.getJob(jobId);
+        assertThat(failed.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(failed.getError()).contains("stopped");
+        assertThatThrownBy(() -> jobService.progress(jobId, 1))
+                .isInstanceOf(IllegalStateException.class);
+
+        JobResponse retried = categoryService.deactivateCategoryAsync(categoryId, null);
+        assertThat(awaitFinished(retried.getJobId()).getStatus()).isEqualTo(JobStatus.COMPLETED);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private JobResponse awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        JobResponse job = jobService.getJob(jobId);
+        while (job.getFinishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            job = jobService.getJob(jobId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,151 @@
+package com.namit.categorybackend.category.service;
+
+import com.namit.categorybackend.category.dto.CategoryNodeResponse;
+import com.namit.categorybackend.category.dto.CategoryRequest;
+import com.namit.categorybackend.category.dto.CategoryResponse;
+import com.namit.categorybackend.common.exception.ResourceNotFoundException;
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
+import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Own database: other tests' categories would show up in the tree
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:hierarchy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class CategoryHierarchyTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    private CategoryResponse home;
+    private CategoryResponse kitchen;
+    private CategoryResponse cookware;
+
+    @BeforeEach
+    void setUp() {
+        home = createCategory("Home", null);
+        kitchen = createCategory("Kitchen", home.getCategoryId());
+        cookware = createCategory("Cookware", kitchen.getCategoryId());
+    }
+
+    @Test
+    void breadcrumbAndMenuFollowTheHierarchy() {
+        assertThat(cookware.getDepth()).isEqualTo(2);
+        assertThat(cookware.getParentId()).isEqualTo(kitchen.getCategoryId());
+
+        assertThat(categoryService.getBreadcrumb(cookware.getCategoryId()))
+                .extracting(CategoryNodeResponse::getCategoryId)
+                .containsExactly(home.getCategoryId(), kitchen.getCategoryId(), cookware.getCategoryId());
+
+        CategoryNodeResponse menuHome = menuNode(categoryService.getCategoryTree(), home.getCategoryId());
+        assertThat(menuHome.getChildren()).extracting(CategoryNodeResponse::getCategoryId)
+                .containsExactly(kitchen.getCategoryId());
+        assertThat(menuHome.getChildren().get(0).getChildren()).extracting(CategoryNodeResponse::getCategoryId)
+                .containsExactly(cookware.getCategoryId());
+    }
+
+    @Test
+    void deactivatingAParentReassignsAndDeactivatesTheWholeBranch() {
+        CategoryResponse target = createCategory("Target", null);
+        Long pan = createProduct("Pan", cookware.getCategoryId());
+        Long towel = createProduct("Towel", kitchen.getCategoryId());
+
+        CategoryResponse deleted = categoryService.deleteCategory(home.getCategoryId(), target.getCategoryId());
+
+        assertThat(deleted.getReassignedProductCount()).isEqualTo(2);
+        assertThat(productService.getProductById(pan).getCategoryId()).isEqualTo(target.getCategoryId());
+        assertThat(productService.getProductById(towel).getCategoryId()).isEqualTo(target.getCategoryId());
+        assertThatThrownBy(() -> categoryService.getCategoryById(cookware.getCategoryId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(categoryService.getCategoryTree()).extracting(CategoryNodeResponse::getCategoryId)
+                .doesNotContain(home.getCategoryId());
+    }
+
+    @Test
+    void productsCannotMoveIntoTheBranchBeingDeactivated() {
+        createProduct("Pot", cookware.getCategoryId());
+
+        assertThatThrownBy(() -> categoryService.deleteCategory(home.getCategoryId(), cookware.getCategoryId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void subcategoryCannotBeActivatedUnderAnInactiveParent() {
+        categoryService.toggleCategoryStatus(kitchen.getCategoryId(), null);
+
+        assertThatThrownBy(() -> categoryService.toggleCategoryStatus(cookware.getCategoryId(), null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void movingABranchRewritesDescendantPaths() {
+        categoryService.moveCategory(kitchen.getCategoryId(), null);
+
+        assertThat(categoryService.getCategoryById(cookware.getCategoryId()).getDepth()).isEqualTo(1);
+        assertThat(categoryService.getBreadcrumb(cookware.getCategoryId()))
+                .extracting(CategoryNodeResponse::getCategoryId)
+                .containsExactly(kitchen.getCategoryId(), cookware.getCategoryId());
+
+        // Under its own descendant would make a cycle
+        assertThatThrownBy(() -> categoryService.moveCategory(kitchen.getCategoryId(), cookware.getCategoryId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void renamingASubcategoryKeepsItsPlace() {
+        // What the admin form sends: no parentId
+        CategoryRequest request = new CategoryRequest();
+        request.setCategoryName("Renamed " + UUID.randomUUID());
+        request.setDescription("renamed");
+        categoryService.updateCategory(kitchen.getCategoryId(), request);
+
+        CategoryResponse renamed = categoryService.getCategoryById(kitchen.getCategoryId());
+        assertThat(renamed.getParentId()).isEqualTo(home.getCategoryId());
+        assertThat(renamed.getDepth()).isEqualTo(1);
+        assertThat(categoryService.getBreadcrumb(cookware.getCategoryId()))
+                .extracting(CategoryNodeResponse::getCategoryId)
+                .containsExactly(home.getCategoryId(), kitchen.getCategoryId(), cookware.getCategoryId());
+    }
+
+    @Test
+    void includeSubcategoriesMatchesProductsAnywhereInTheBranch() {
+        Long pan = createProduct("Skillet", cookware.getCategoryId());
+
+        ProductFilterRequest filter = new ProductFilterRequest();
+        filter.setCategoryIds(List.of(home.getCategoryId()));
+        assertThat(productService.getPublicProductsSlice(0, 10, filter).content()).isEmpty();
+
+        filter.setIncludeSubcategories(true);
+        assertThat(productService.getPublicProductsSlice(0, 10, filter).content())
+                .extracting(ProductResponse::getProductId)
+                .containsExactly(pan);
+    }
+
+    private CategoryNodeResponse menuNode(List<CategoryNodeResponse> roots, Long categoryId) {
+        return roots.stream()
+                .filter(node -> node.getCategoryId().equals(categoryId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private CategoryResponse createCategory(String name, Long parentId) {
+        return categoryService.createCategory(category(name, parentId));
+    }
+
+    private Long createProduct(String name, Long categoryId) {
+        return productService.createProduct(product(name, categoryId)).getProductId();
+    }
+}
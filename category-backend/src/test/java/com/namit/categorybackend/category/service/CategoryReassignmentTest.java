@@ -0,0 +1,66 @@
+package com.namit.categorybackend.category.service;
+
+import com.namit.categorybackend.category.dto.CategoryResponse;
+import com.namit.categorybackend.product.dto.ProductResponse;
+import com.namit.categorybackend.product.service.ProductService;
+import com.namit.categorybackend.support.SqlRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(SqlRecorder.RecorderConfig.class)
+class CategoryReassignmentTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @Test
+    void deactivatingABranchMovesAllItsProductsWithOneUpdate() {
+        Long parentId = categoryService.createCategory(category("Outgoing")).getCategoryId();
+        Long childId = categoryService.createCategory(category("Outgoing Child", parentId)).getCategoryId();
+        Long targetId = categoryService.createCategory(category("Incoming")).getCategoryId();
+        List<ProductResponse> before = new ArrayList<>();
+        IntStream.range(0, 6).forEach(i -> before.add(productService.createProduct(product("Outgoing Plate " + i, parentId))));
+        IntStream.range(0, 4).forEach(i -> before.add(productService.createProduct(product("Outgoing Bowl " + i, childId))));
+
+        sqlRecorder.clear();
+        CategoryResponse deleted = categoryService.deleteCategory(parentId, targetId);
+
+        assertThat(deleted.getReassignedProductCount()).isEqualTo(10);
+        // The whole branch moves in one statement, not one UPDATE per product
+        assertThat(sqlRecorder.queries())
+                .filteredOn(query -> query.sql().stripLeading().toLowerCase().startsWith("update products"))
+                .hasSize(1);
+
+        for (ProductResponse product : before) {
+            assertThat(productService.getProductById(product.getProductId()).getCategoryId()).isEqualTo(targetId);
+        }
+    }
+
+    @Test
+    void productsGoToUncategorizedWithoutATarget() {
+        Long categoryId = categoryService.createCategory(category("Orphaned")).getCategoryId();
+        Long productId = productService.createProduct(product("Orphaned Jar", categoryId)).getProductId();
+
+        CategoryResponse deleted = categoryService.deleteCategory(categoryId, null);
+
+        assertThat(deleted.getReassignedProductCount()).isEqualTo(1);
+        assertThat(productService.getProductById(productId).getCategoryName()).isEqualTo("Uncategorized");
+    }
+}
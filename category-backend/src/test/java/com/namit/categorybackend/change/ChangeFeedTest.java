@@ -0,0 +1,206 @@
+package com.namit.categorybackend.change;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.change.dto.ChangeEventResponse;
+import com.namit.categorybackend.change.repository.ChangeEventRepository;
+import com.namit.categorybackend.change.service.ChangeFeed;
+import com.namit.categorybackend.change.service.ChangeRelay;
+import com.namit.categorybackend.change.service.ChangeSink;
+import com.namit.categorybackend.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Own database: the only relay touching these rows is the one the test calls
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:changes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@Import(ChangeFeedTest.SinkConfig.class)
+class ChangeFeedTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ChangeRelay changeRelay;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Long categoryId;
+
+    private long since;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+        categoryId = categoryService.createCategory(category("Changes")).getCategoryId();
+
+        changeRelay.relay();
+        since = changeEventRepository.findMaxSequence();
+        sink.events.clear();
+    }
+
+    @Test
+    void writesComeBackInCommitOrderAfterTheCursor() throws Exception {
+        Long productId = createProduct("Feed Mug");
+        productService.toggleProductStatus(productId);
+        changeRelay.relay();
+
+        mockMvc.perform(asyncDispatch(poll("PT0S")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].changeType").value(contains("CREATED", "DEACTIVATED")))
+                .andExpect(jsonPath("$.data.content[*].entityId").value(
+                        contains(productId.intValue(), productId.intValue())))
+                .andExpect(jsonPath("$.data.content[*].sequence").value(contains((int) since + 1, (int) since + 2)))
+                .andExpect(jsonPath("$.data.nextCursor").value(String.valueOf(since + 2)));
+    }
+
+    @Test
+    void unsequencedWritesAreNotServed() throws Exception {
+        createProduct("Feed Bowl");
+
+        // Committed but not relayed: no sequence yet, so nothing a cursor could skip over later
+        mockMvc.perform(asyncDispatch(poll("PT0S")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content").value(empty()))
+                .andExpect(jsonPath("$.data.nextCursor").value(String.valueOf(since)));
+    }
+
+    @Test
+    void longPollCompletesWhenTheRelayRuns() throws Exception {
+        MvcResult pending = poll("PT30S");
+        assertThat(changeFeed.waiting()).isEqualTo(1);
+
+        Long productId = createProduct("Feed Plate");
+        changeRelay.relay();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].entityId").value(contains(productId.intValue())));
+        assertThat(changeFeed.waiting()).isZero();
+    }
+
+    @Test
+    void longPollCatchesUpWithEventsSequencedOnAnotherNode() throws Exception {
+        MvcResult pending = poll("PT30S");
+
+        // Another node's relay sequences the row; this node gets no ChangesSequencedEvent
+        Long productId = createProduct("Feed Saucer");
+        jdbcTemplate.update("UPDATE change_events SET sequence = ? WHERE sequence IS NULL", since + 1);
+        assertThat(changeFeed.waiting()).isEqualTo(1);
+
+        changeFeed.catchUp();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].entityId").value(contains(productId.intValue())));
+        assertThat(changeFeed.waiting()).isZero();
+    }
+
+    @Test
+    void longPollTimesOutEmptyWithTheSameCursor() throws Exception {
+        MvcResult pending = poll("PT0.1S");
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content").value(empty()))
+                .andExpect(jsonPath("$.data.nextCursor").value(String.valueOf(since)));
+    }
+
+    @Test
+    void failedSinkGetsTheSameBatchAgain() {
+        Long productId = createProduct("Feed Cup");
+
+        sink.failNext.set(true);
+        changeRelay.relay();
+        assertThat(sink.events).isEmpty();
+        assertThat(changeEventRepository.findBySequenceIsNotNullAndPublishedAtIsNullOrderBySequenceAsc(
+                Pageable.unpaged())).hasSize(1);
+
+        changeRelay.relay();
+        assertThat(sink.events).extracting(ChangeEventResponse::getEntityId).containsExactly(productId);
+        assertThat(sink.events).extracting(ChangeEventResponse::getSequence).containsExactly(since + 1);
+    }
+
+    @Test
+    void invalidLimitIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Every poll is async, even one answered at once
+    private MvcResult poll(String wait) throws Exception {
+        return mockMvc.perform(get("/api/v1/changes").param("since", String.valueOf(since)).param("wait", wait))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private Long createProduct(String name) {
+        return productService.createProduct(product(name, categoryId)).getProductId();
+    }
+
+    static class RecordingSink implements ChangeSink {
+
+        final List<ChangeEventResponse> events = new CopyOnWriteArrayList<>();
+        final AtomicBoolean failNext = new AtomicBoolean();
+
+        @Override
+        public void publish(List<ChangeEventResponse> batch) {
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            events.addAll(batch);
+        }
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.namit.categorybackend.change;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.change.repository.ChangeEventRepository;
+import com.namit.categorybackend.change.service.ChangeRelay;
+import com.namit.categorybackend.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Own database, relay driven by the test
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:stream;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class ChangeStreamTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ChangeRelay changeRelay;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    private MockMvc mockMvc;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+        categoryId = categoryService.createCategory(category("Stream")).getCategoryId();
+        changeRelay.relay();
+    }
+
+    @Test
+    void committedChangesArePushedWithTheRowState() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/v1/changes/stream").param("entityType", "PRODUCT"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        Long productId = createProduct("Stream Mug");
+        changeRelay.relay();
+
+        String body = awaitContent(stream, "\"entityId\":" + productId);
+        assertThat(body).contains("event:change")
+                .contains("\"changeType\":\"CREATED\"")
+                .contains("\"productName\":\"Stream Mug\"")
+                .doesNotContain("\"entityType\":\"CATEGORY\"");
+    }
+
+    @Test
+    void reconnectReplaysWhatWasMissed() throws Exception {
+        long lastSeen = changeEventRepository.findMaxSequence();
+        Long productId = createProduct("Stream Bowl");
+        changeRelay.relay();
+
+        MvcResult stream = mockMvc.perform(get("/api/v1/changes/stream")
+                .header("Last-Event-ID", String.valueOf(lastSeen)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The event can arrive in more than one write; wait for its data, not just its header
+        String body = awaitContent(stream, "\"entityId\":" + productId);
+        assertThat(body).contains("id:" + (lastSeen + 1))
+                .contains("\"entityId\":" + productId);
+    }
+
+    // Events are written by the sender threads after the request thread returned
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+
+    private Long createProduct(String name) {
+        return productService.createProduct(product(name, categoryId)).getProductId();
+    }
+}
@@ -0,0 +1,108 @@
+package com.namit.categorybackend.change.service;
+
+import com.namit.categorybackend.change.dto.ChangeDelta;
+import com.namit.categorybackend.change.entity.ChangeEntityType;
+import com.namit.categorybackend.change.entity.ChangeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeSubscriberTest {
+
+    // Runs queued drains only when the test says so, like a client that is not reading
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+
+    private final RecordingEmitter emitter = new RecordingEmitter();
+
+    @Test
+    void backlogWithinTheBufferIsSentInOrder() {
+        ChangeSubscriber subscriber = new ChangeSubscriber(emitter, null, 4, pending::add);
+
+        assertThat(subscriber.offer(deltas(1, 3, ChangeEntityType.PRODUCT))).isTrue();
+        runPending();
+
+        assertThat(emitter.sent).containsExactly("change:1", "change:2", "change:3");
+    }
+
+    @Test
+    void overflowReplacesTheBacklogWithOneResync() {
+        ChangeSubscriber subscriber = new ChangeSubscriber(emitter, null, 2, pending::add);
+
+        assertThat(subscriber.offer(deltas(1, 5, ChangeEntityType.PRODUCT))).isFalse();
+        subscriber.offer(deltas(6, 6, ChangeEntityType.PRODUCT));
+        runPending();
+
+        // Nothing before the resync is worth sending once the client reloads
+        assertThat(emitter.sent).containsExactly("resync:5", "change:6");
+    }
+
+    @Test
+    void onlyTheRequestedEntityTypeIsQueued() {
+        ChangeSubscriber subscriber = new ChangeSubscriber(emitter, ChangeEntityType.CATEGORY, 2, pending::add);
+
+        subscriber.offer(deltas(1, 3, ChangeEntityType.PRODUCT));
+        subscriber.offer(deltas(4, 4, ChangeEntityType.CATEGORY));
+        runPending();
+
+        assertThat(emitter.sent).containsExactly("change:4");
+    }
+
+    @Test
+    void oneDrainPerClientAtATime() {
+        ChangeSubscriber subscriber = new ChangeSubscriber(emitter, null, 8, pending::add);
+
+        subscriber.offer(deltas(1, 1, ChangeEntityType.PRODUCT));
+        subscriber.offer(deltas(2, 2, ChangeEntityType.PRODUCT));
+        subscriber.heartbeat();
+
+        assertThat(pending).hasSize(1);
+    }
+
+    private void runPending() {
+        Runnable next;
+        while ((next = pending.poll()) != null) {
+            next.run();
+        }
+    }
+
+    private static List<ChangeDelta> deltas(long from, long to, ChangeEntityType entityType) {
+        return LongStream.rangeClosed(from, to)
+                .mapToObj(sequence -> ChangeDelta.builder()
+                        .sequence(sequence)
+                        .entityType(entityType)
+                        .entityId(sequence)
+                        .changeType(ChangeType.UPDATED)
+                        .build())
+                .toList();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String event = null;
+            String id = null;
+            for (DataWithMediaType part : builder.build()) {
+                for (String line : part.getData().toString().split("\n")) {
+                    if (line.startsWith("event:")) {
+                        event = line.substring("event:".length());
+                    } else if (line.startsWith("id:")) {
+                        id = line.substring("id:".length());
+                    }
+                }
+            }
+            if (event != null) {
+                sent.add(event + ":" + id);
+            }
+        }
+    }
+}
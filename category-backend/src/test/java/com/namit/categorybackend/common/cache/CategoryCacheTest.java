@@ -0,0 +1,145 @@
+package com.namit.categorybackend.common.cache;
+
+import com.namit.categorybackend.category.cache.CategoryCache;
+import com.namit.categorybackend.category.entity.Category;
+import com.namit.categorybackend.category.repository.CategoryRepository;
+import com.namit.categorybackend.common.response.CacheStatsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategoryCacheTest {
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+
+    @BeforeEach
+    void setUp() {
+        when(categoryRepository.findByCategoryIdAndStatusTrue(anyLong()))
+                .thenAnswer(invocation -> Optional.of(active(invocation.getArgument(0))));
+    }
+
+    @Test
+    void hitsAndMissesAreCounted() {
+        CategoryCache cache = new CategoryCache(categoryRepository, Duration.ofHours(1), 10);
+
+        cache.findActive(1L);
+        cache.findActive(1L);
+        cache.findActive(1L);
+        cache.findActive(2L);
+
+        CacheStatsResponse stats = cache.stats();
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.hitRatio()).isEqualTo(0.5);
+        verify(categoryRepository, times(1)).findByCategoryIdAndStatusTrue(1L);
+    }
+
+    @Test
+    void batchLookupLoadsOnlyTheMissingIds() {
+        when(categoryRepository.findByCategoryIdInAndStatusTrue(List.of(2L, 3L)))
+                .thenReturn(List.of(active(2L), active(3L)));
+        CategoryCache cache = new CategoryCache(categoryRepository, Duration.ofHours(1), 10);
+        cache.findActive(1L);
+
+        assertThat(cache.findAllActive(List.of(1L, 2L, 3L)))
+                .extracting(Category::getCategoryId)
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+
+        CacheStatsResponse stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(3);
+        assertThat(stats.size()).isEqualTo(3);
+    }
+
+    @Test
+    void expiredEntryIsReloaded() {
+        CategoryCache cache = new CategoryCache(categoryRepository, Duration.ZERO, 10);
+        cache.findActive(1L);
+
+        cache.findActive(1L);
+
+        verify(categoryRepository, times(2)).findByCategoryIdAndStatusTrue(1L);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().hits()).isZero();
+    }
+
+    @Test
+    void leastRecentlyUsedEntryGoesFirstOnceFull() {
+        CategoryCache cache = new CategoryCache(categoryRepository, Duration.ofHours(1), 2);
+        cache.findActive(1L);
+        cache.findActive(2L);
+
+        // Reading 1 again leaves 2 as the least recently used entry
+        cache.findActive(1L);
+        cache.findActive(3L);
+
+        assertThat(cache.stats().size()).isEqualTo(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+
+        cache.findActive(1L);
+        cache.findActive(2L);
+        verify(categoryRepository, times(1)).findByCategoryIdAndStatusTrue(1L);
+        verify(categoryRepository, times(2)).findByCategoryIdAndStatusTrue(2L);
+    }
+
+    @Test
+    void evictDropsTheEntryNowAndAgainAfterCommit() {
+        CategoryCache cache = new CategoryCache(categoryRepository, Duration.ofHours(1), 10);
+        cache.findActive(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(1L);
+            assertThat(cache.stats().size()).isZero();
+
+            // A reader reloads the entry before the writing transaction commits
+            cache.findActive(1L);
+            assertThat(cache.stats().size()).isEqualTo(1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(cache.stats().size()).isZero();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.findActive(1L);
+        verify(categoryRepository, times(3)).findByCategoryIdAndStatusTrue(1L);
+    }
+
+    @Test
+    void callersGetCopiesOfTheCachedCategory() {
+        CategoryCache cache = new CategoryCache(categoryRepository, Duration.ofHours(1), 10);
+
+        Category first = cache.findActive(1L).orElseThrow();
+        first.setCategoryName("Changed by a caller");
+        first.setProductCount(99L);
+
+        Category second = cache.findActive(1L).orElseThrow();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getCategoryName()).isEqualTo("Category 1");
+        assertThat(second.getProductCount()).isZero();
+    }
+
+    private static Category active(Long id) {
+        return Category.builder()
+                .categoryId(id)
+                .categoryName("Category " + id)
+                .status(true)
+                .productCount(0L)
+                .activeProductCount(0L)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.namit.categorybackend.common.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatusCountCacheTest {
+
+    @Test
+    void countsAreLoadedOnceAndKeptCurrentByWrites() {
+        FixedCounts cache = new FixedCounts(Duration.ofHours(1), 4, 2);
+
+        assertThat(cache.count(true)).isEqualTo(4);
+        assertThat(cache.count(false)).isEqualTo(2);
+        assertThat(cache.count(null)).isEqualTo(6);
+        assertThat(cache.loads).isEqualTo(2);
+
+        cache.adjust(true, 3);
+        cache.move(true);
+
+        assertThat(cache.count(true)).isEqualTo(6);
+        assertThat(cache.count(false)).isEqualTo(3);
+        assertThat(cache.loads).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateReloadsOnTheNextRead() {
+        FixedCounts cache = new FixedCounts(Duration.ofHours(1), 4, 2);
+        cache.count(true);
+
+        cache.active = 10;
+        cache.invalidate();
+
+        assertThat(cache.count(true)).isEqualTo(10);
+        assertThat(cache.loads).isEqualTo(4);
+    }
+
+    @Test
+    void expiredSnapshotIsReloaded() {
+        FixedCounts cache = new FixedCounts(Duration.ZERO, 4, 2);
+        cache.count(true);
+
+        cache.active = 7;
+
+        assertThat(cache.count(true)).isEqualTo(7);
+    }
+
+    @Test
+    void adjustmentsWaitForTheCommit() {
+        FixedCounts cache = new FixedCounts(Duration.ofHours(1), 4, 2);
+        cache.count(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.adjust(true, 1);
+            assertThat(cache.count(true)).isEqualTo(4);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(cache.count(true)).isEqualTo(5);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // A rolled back transaction never runs its afterCommit callbacks
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.adjust(true, 1);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(cache.count(true)).isEqualTo(5);
+    }
+
+    private static final class FixedCounts extends StatusCountCache {
+
+        private long active;
+        private final long inactive;
+        private int loads;
+
+        FixedCounts(Duration ttl, long active, long inactive) {
+            super(ttl);
+            this.active = active;
+            this.inactive = inactive;
+        }
+
+        @Override
+        protected long load(boolean status) {
+            loads++;
+            return status ? active : inactive;
+        }
+    }
+}
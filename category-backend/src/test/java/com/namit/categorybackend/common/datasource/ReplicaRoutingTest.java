@@ -0,0 +1,122 @@
+package com.namit.categorybackend.common.datasource;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.common.datasource.ReplicaRouting.Target;
+import com.namit.categorybackend.product.service.ProductService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Primary and replica are two pools on the same H2 database; the routing counters tell them apart
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=jdbc:h2:mem:routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.lag-check-interval=PT1H"
+})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    private MockMvc mockMvc;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        replicaRouting.checkLag();
+
+        Long categoryId = categoryService.createCategory(category("Routing")).getCategoryId();
+
+        productId = productService.createProduct(product("Routed Bowl", categoryId)).getProductId();
+
+        // The test thread's mock request saw those writes and would pin every read below to the primary
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        assertThat(replicaRouting.isReplicaUsable()).isTrue();
+
+        assertThat(routed(Target.REPLICA, () -> productService.getProductById(productId))).isEqualTo(1);
+        assertThat(routed(Target.PRIMARY, () -> productService.getProductById(productId))).isZero();
+
+        assertThat(routed(Target.PRIMARY, () -> productService.toggleProductStatus(productId))).isEqualTo(1);
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromThePrimary() throws Exception {
+        String cookie = mockMvc.perform(patch("/api/v1/products/{id}/toggle", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.SET_COOKIE, startsWith(ReadYourWrites.COOKIE + "=")))
+                .andReturn().getResponse().getCookie(ReadYourWrites.COOKIE).getValue();
+        mockMvc.perform(patch("/api/v1/products/{id}/toggle", productId)).andExpect(status().isOk());
+
+        assertThat(routed(Target.REPLICA, () -> perform(get("/api/v1/products/{id}", productId)
+                .cookie(new Cookie(ReadYourWrites.COOKIE, cookie))))).isZero();
+
+        // Expired, or another client
+        assertThat(routed(Target.REPLICA, () -> perform(get("/api/v1/products/{id}", productId)
+                .cookie(new Cookie(ReadYourWrites.COOKIE, "0"))))).isEqualTo(1);
+        assertThat(routed(Target.REPLICA, () -> perform(get("/api/v1/products/{id}", productId)))).isEqualTo(1);
+    }
+
+    @Test
+    void laggingReplicaIsSkippedUntilItCatchesUp() {
+        replicaRouting.recordLag(Duration.ofMinutes(1));
+        assertThat(routed(Target.REPLICA, () -> productService.getProductById(productId))).isZero();
+
+        replicaRouting.checkLag();
+        assertThat(replicaRouting.lag()).isLessThan(Duration.ofSeconds(5));
+        assertThat(routed(Target.REPLICA, () -> productService.getProductById(productId))).isEqualTo(1);
+    }
+
+    @Test
+    void backgroundWorkCanInsistOnThePrimary() {
+        assertThat(routed(Target.REPLICA,
+                () -> ReadYourWrites.onPrimary(() -> productService.getProductById(productId)))).isZero();
+    }
+
+    private long routed(Target target, Runnable action) {
+        long before = replicaRouting.connections(target);
+        action.run();
+        return replicaRouting.connections(target) - before;
+    }
+
+    private void perform(RequestBuilder request) {
+        try {
+            mockMvc.perform(request).andExpect(status().isOk());
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.namit.categorybackend.common.util;
+
+import com.namit.categorybackend.common.response.BatchGetResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchLookupTest {
+
+    // Rows come back in id order, like an unordered IN query would return them
+    private static final Function<List<Long>, List<Long>> EVEN_IDS_EXIST =
+            chunk -> chunk.stream().filter(id -> id % 2 == 0).sorted().toList();
+
+    @Test
+    void keepsRequestOrderAndReportsMissingIds() {
+        BatchGetResponse<Long> result = BatchLookup.byIds(List.of(8L, 3L, 2L, 6L, 5L), EVEN_IDS_EXIST, id -> id);
+
+        assertThat(result.content()).containsExactly(8L, 2L, 6L);
+        assertThat(result.missingIds()).containsExactly(3L, 5L);
+    }
+
+    @Test
+    void answersDuplicateIdsOnce() {
+        BatchGetResponse<Long> result = BatchLookup.byIds(List.of(4L, 7L, 4L, 7L), EVEN_IDS_EXIST, id -> id);
+
+        assertThat(result.content()).containsExactly(4L);
+        assertThat(result.missingIds()).containsExactly(7L);
+    }
+
+    @Test
+    void queriesOneChunkAtATime() {
+        List<Long> ids = LongStream.rangeClosed(1, 2 * BatchLookup.CHUNK_SIZE + 1).boxed().toList();
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        BatchGetResponse<Long> result = BatchLookup.byIds(ids, chunk -> {
+            chunkSizes.add(chunk.size());
+            return chunk;
+        }, id -> id);
+
+        assertThat(chunkSizes).containsExactly(BatchLookup.CHUNK_SIZE, BatchLookup.CHUNK_SIZE, 1);
+        assertThat(result.content()).isEqualTo(ids);
+        assertThat(result.missingIds()).isEmpty();
+    }
+}
@@ -0,0 +1,34 @@
+package com.namit.categorybackend.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvUtilsTest {
+
+    @Test
+    void splitsPlainFieldsAndKeepsEmptyOnes() {
+        assertThat(CsvUtils.parseLine("Mug,,4.99,")).containsExactly("Mug", "", "4.99", "");
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() {
+        assertThat(CsvUtils.parseLine("\"Mug, \"\"Large\"\"\",\"\",plain"))
+                .containsExactly("Mug, \"Large\"", "", "plain");
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuote() {
+        assertThatThrownBy(() -> CsvUtils.parseLine("\"Mug,4.99"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void formattedLinesParseBack() {
+        String line = CsvUtils.formatLine("Mug, \"Large\"", null, 4.99, "plain");
+
+        assertThat(line).isEqualTo("\"Mug, \"\"Large\"\"\",,4.99,plain");
+        assertThat(CsvUtils.parseLine(line)).containsExactly("Mug, \"Large\"", "", "4.99", "plain");
+    }
+}
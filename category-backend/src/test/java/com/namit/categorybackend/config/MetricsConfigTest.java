@@ -0,0 +1,90 @@
+package com.namit.categorybackend.config;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.product.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Test resources replace application.properties, so the metrics settings are repeated here
+@SpringBootTest(properties = {
+        "management.defaults.metrics.export.enabled=true",
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.observations.annotations.enabled=true",
+        "management.metrics.distribution.percentiles-histogram.catalog.service=true"
+})
+class MetricsConfigTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    private MockMvc mockMvc;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+        categoryId = categoryService.createCategory(category("Metrics")).getCategoryId();
+    }
+
+    @Test
+    void handledExceptionsAreCountedByTypeAndStatus() throws Exception {
+        double before = notFoundCount();
+
+        mockMvc.perform(get("/api/v1/products/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        assertThat(notFoundCount()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void serviceRepositoryPoolAndCacheMetricsAreScraped() throws Exception {
+        Long id = productService.createProduct(product("Metered Vase", categoryId)).getProductId();
+        productService.getProductById(id);
+
+        assertThat(meterRegistry.get("catalog.service")
+                .tags("class", "com.namit.categorybackend.product.service.impl.ProductServiceImpl",
+                        "method", "getProductById")
+                .timer().count()).isPositive();
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("catalog_service_seconds_bucket")
+                .contains("spring_data_repository_invocations_seconds")
+                .contains("hikaricp_connections_pending")
+                .contains("cache_gets_total{cache=\"category\",result=\"hit\"")
+                .contains("cache_gets_total{cache=\"storefront\",result=\"miss\"");
+    }
+
+    private double notFoundCount() {
+        var counter = meterRegistry.find("api.exceptions")
+                .tags("exception", "ResourceNotFoundException", "status", "404")
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
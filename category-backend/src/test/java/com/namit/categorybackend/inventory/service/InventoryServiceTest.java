@@ -0,0 +1,219 @@
+package com.namit.categorybackend.inventory.service;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.common.exception.ResourceNotFoundException;
+import com.namit.categorybackend.inventory.cache.HotStockBuffer;
+import com.namit.categorybackend.inventory.dto.ReservationRequest;
+import com.namit.categorybackend.inventory.entity.ReservationStatus;
+import com.namit.categorybackend.inventory.repository.InventoryReservationRepository;
+import com.namit.categorybackend.inventory.service.impl.InventoryServiceImpl;
+import com.namit.categorybackend.product.repository.ProductRepository;
+import com.namit.categorybackend.product.service.ProductService;
+import com.namit.categorybackend.support.CatalogFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+class InventoryServiceTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryReservationRepository reservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        categoryId = categoryService.createCategory(category("Inventory")).getCategoryId();
+    }
+
+    @Test
+    void reserveTakesStockAndReleaseGivesItBack() {
+        Long productId = product(10);
+
+        var held = inventoryService.reserve(reservation(productId, 4));
+        assertThat(held.getStatus()).isEqualTo(ReservationStatus.HELD);
+        assertThat(stock(productId)).isEqualTo(6);
+
+        var released = inventoryService.release(held.getReservationId());
+        assertThat(released.getStatus()).isEqualTo(ReservationStatus.RELEASED);
+        assertThat(stock(productId)).isEqualTo(10);
+    }
+
+    @Test
+    void commitKeepsStockTakenAndFinishesOnce() {
+        Long productId = product(10);
+        Long reservationId = inventoryService.reserve(reservation(productId, 3)).getReservationId();
+
+        assertThat(inventoryService.commit(reservationId).getStatus()).isEqualTo(ReservationStatus.COMMITTED);
+        assertThat(stock(productId)).isEqualTo(7);
+
+        assertThatThrownBy(() -> inventoryService.commit(reservationId))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> inventoryService.release(reservationId))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(stock(productId)).isEqualTo(7);
+    }
+
+    @Test
+    void rejectsMoreThanInStockAndUnknownProducts() {
+        Long productId = product(2);
+
+        assertThatThrownBy(() -> inventoryService.reserve(reservation(productId, 3)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> inventoryService.reserve(reservation(Long.MAX_VALUE, 1)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(stock(productId)).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentReservesNeverOversell() throws Exception {
+        Long productId = product(20);
+
+        assertThat(reserveConcurrently(() -> inventoryService.reserve(reservation(productId, 1)), 50)).isEqualTo(20);
+        assertThat(stock(productId)).isZero();
+    }
+
+    @Test
+    void hotBufferLeasesBlocksAndFlushesLeftovers() throws Exception {
+        Long productId = product(23);
+        HotStockBuffer buffer = new HotStockBuffer(productRepository, transactionManager, List.of(productId), 5);
+
+        assertThat(reserveConcurrently(() -> buffer.take(productId, 1) ? 1 : null, 50)).isEqualTo(23);
+        assertThat(stock(productId)).isZero();
+
+        // Leased but unsold units reach the row again on flush
+        buffer.give(productId, 4);
+        buffer.flush();
+        assertThat(buffer.buffered(productId)).isZero();
+        assertThat(stock(productId)).isEqualTo(4);
+    }
+
+    @Test
+    void failedFlushKeepsTheUnitsAndStillFlushesOtherProducts() {
+        Long failingId = product(10);
+        Long otherId = product(10);
+        ProductRepository repository = mock(ProductRepository.class, delegatesTo(productRepository));
+        doThrow(new QueryTimeoutException("returnStock timed out"))
+                .doAnswer(delegatesTo(productRepository))
+                .when(repository).returnStock(eq(failingId), anyLong(), any());
+        HotStockBuffer buffer = new HotStockBuffer(repository, transactionManager, List.of(failingId, otherId), 5);
+
+        assertThat(buffer.take(failingId, 2)).isTrue();
+        assertThat(buffer.take(otherId, 2)).isTrue();
+
+        buffer.flush();
+        assertThat(buffer.buffered(failingId)).isEqualTo(3);
+        assertThat(stock(failingId)).isEqualTo(5);
+        assertThat(buffer.buffered(otherId)).isZero();
+        assertThat(stock(otherId)).isEqualTo(8);
+
+        buffer.flush();
+        assertThat(buffer.buffered(failingId)).isZero();
+        assertThat(stock(failingId)).isEqualTo(8);
+    }
+
+    @Test
+    void hotProductSwitchedOffIsNotSoldFromTheBuffer() {
+        Long productId = product(10);
+        HotStockBuffer buffer = new HotStockBuffer(productRepository, transactionManager, List.of(productId), 5);
+        InventoryService hotInventory = new InventoryServiceImpl(reservationRepository, productRepository, buffer,
+                transactionTemplate, Duration.ofMinutes(15));
+
+        hotInventory.reserve(reservation(productId, 1));
+        assertThat(buffer.buffered(productId)).isEqualTo(4);
+
+        productService.toggleProductStatus(productId);
+        assertThatThrownBy(() -> hotInventory.reserve(reservation(productId, 1)))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        // The refused units stay leased and reach the row with the next flush
+        assertThat(buffer.buffered(productId)).isEqualTo(4);
+        buffer.flush();
+        assertThat(stock(productId)).isEqualTo(9);
+    }
+
+    // Counts the calls that returned without throwing and with a result
+    private int reserveConcurrently(Callable<?> reserve, int attempts) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = IntStream.range(0, attempts)
+                    .<Future<?>>mapToObj(i -> executor.submit(() -> {
+                        try {
+                            return reserve.call();
+                        } catch (IllegalStateException ex) {
+                            return null;
+                        }
+                    }))
+                    .toList();
+            int succeeded = 0;
+            for (Future<?> future : futures) {
+                if (future.get() != null) {
+                    succeeded++;
+                }
+            }
+            return succeeded;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Integer stock(Long productId) {
+        return jdbcTemplate.queryForObject("select inventory_count from products where product_id = ?",
+                Integer.class, productId);
+    }
+
+    private ReservationRequest reservation(Long productId, int quantity) {
+        return ReservationRequest.builder().productId(productId).quantity(quantity).build();
+    }
+
+    private Long product(int inventoryCount) {
+        return productService.createProduct(CatalogFixtures.product("Reserved Mug", categoryId, inventoryCount))
+                .getProductId();
+    }
+}
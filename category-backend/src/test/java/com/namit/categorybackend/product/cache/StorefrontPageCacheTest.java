@@ -0,0 +1,126 @@
+package com.namit.categorybackend.product.cache;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
+import com.namit.categorybackend.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class StorefrontPageCacheTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private StorefrontPageCache storefrontPageCache;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    private MockMvc mockMvc;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+        categoryId = categoryService.createCategory(category("Storefront")).getCategoryId();
+    }
+
+    @Test
+    void onlyDefaultFirstPagesAreCacheable() {
+        ProductFilterRequest sorted = new ProductFilterRequest();
+        sorted.setSortBy("price");
+        ProductFilterRequest filtered = new ProductFilterRequest();
+        filtered.setCategoryIds(List.of(categoryId));
+
+        assertThat(storefrontPageCache.isCacheable(0, 12, null)).isTrue();
+        assertThat(storefrontPageCache.isCacheable(0, 12, new ProductFilterRequest())).isTrue();
+        assertThat(storefrontPageCache.isCacheable(0, 12, sorted)).isFalse();
+        assertThat(storefrontPageCache.isCacheable(0, 12, filtered)).isFalse();
+        assertThat(storefrontPageCache.isCacheable(5, 12, null)).isFalse();
+        assertThat(storefrontPageCache.isCacheable(0, 0, null)).isFalse();
+    }
+
+    @Test
+    void publicListingIsServedFromCachedBytes() throws Exception {
+        productService.createProduct(product("Cached Kettle", categoryId));
+        StorefrontPageCache.StorefrontPage page = storefrontPageCache.get(0, 12);
+
+        assertThat(storefrontPageCache.get(0, 12).body()).isEqualTo(page.body());
+
+        mockMvc.perform(get("/api/v1/products/public"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(page.body()))
+                .andExpect(header().string(HttpHeaders.ETAG, page.eTag()));
+
+        mockMvc.perform(get("/api/v1/products/public").header(HttpHeaders.IF_NONE_MATCH, page.eTag()))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void catalogChangeRebuildsCachedPagesInTheBackground() throws Exception {
+        StorefrontPageCache.StorefrontPage before = storefrontPageCache.get(0, 12);
+
+        String name = "Fresh Teapot " + UUID.randomUUID();
+        productService.createProduct(product(name, categoryId));
+
+        // Stale bytes may be served until the rebuild lands
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = "";
+        while (!body.contains(name) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = new String(storefrontPageCache.get(0, 12).body(), StandardCharsets.UTF_8);
+        }
+
+        assertThat(body).contains(name);
+        assertThat(storefrontPageCache.get(0, 12).eTag()).isNotEqualTo(before.eTag());
+    }
+
+    @Test
+    void concurrentMissesAreAnsweredWithOnePage() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<StorefrontPageCache.StorefrontPage>> results = IntStream.range(0, 8)
+                    .mapToObj(i -> pool.submit(() -> storefrontPageCache.get(1, 7)))
+                    .toList();
+
+            StorefrontPageCache.StorefrontPage first = results.get(0).get();
+            for (Future<StorefrontPageCache.StorefrontPage> result : results) {
+                assertThat(result.get().body()).isEqualTo(first.body());
+                assertThat(result.get().eTag()).isEqualTo(first.eTag());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
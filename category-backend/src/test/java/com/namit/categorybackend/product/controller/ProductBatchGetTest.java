@@ -0,0 +1,114 @@
+package com.namit.categorybackend.product.controller;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.common.request.BatchGetRequest;
+import com.namit.categorybackend.product.service.ProductService;
+import com.namit.categorybackend.support.SqlRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(SqlRecorder.RecorderConfig.class)
+class ProductBatchGetTest {
+
+    private static final long UNKNOWN_ID = 999_999_999L;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    private MockMvc mockMvc;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+        categoryId = categoryService.createCategory(category("Batch")).getCategoryId();
+    }
+
+    @Test
+    void productsComeBackInRequestOrderWithOneQuery() throws Exception {
+        Long first = createProduct("Batch Fork");
+        Long second = createProduct("Batch Knife");
+        Long third = createProduct("Batch Spoon");
+
+        sqlRecorder.clear();
+        mockMvc.perform(post("/api/v1/products/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ids(third, UNKNOWN_ID, first, third, second)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].productId").value(
+                        contains(third.intValue(), first.intValue(), second.intValue())))
+                .andExpect(jsonPath("$.data.content[*].categoryId").value(
+                        contains(categoryId.intValue(), categoryId.intValue(), categoryId.intValue())))
+                .andExpect(jsonPath("$.data.missingIds").value(contains((int) UNKNOWN_ID)));
+
+        // Products and their category in a single IN query, no lazy load per row
+        assertThat(sqlRecorder.selects()).hasSize(1);
+    }
+
+    @Test
+    void categoriesComeBackInRequestOrder() throws Exception {
+        Long otherId = categoryService.createCategory(category("Batch other")).getCategoryId();
+
+        mockMvc.perform(post("/api/v1/categories/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ids(otherId, UNKNOWN_ID, categoryId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[*].categoryId").value(
+                        contains(otherId.intValue(), categoryId.intValue())))
+                .andExpect(jsonPath("$.data.missingIds").value(contains((int) UNKNOWN_ID)));
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedRequests() throws Exception {
+        mockMvc.perform(post("/api/v1/products/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/v1/products/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ids(LongStream.rangeClosed(1, BatchGetRequest.MAX_IDS + 1).boxed().toArray(Long[]::new))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long createProduct(String name) {
+        return productService.createProduct(product(name, categoryId)).getProductId();
+    }
+
+    private static String ids(Long... ids) {
+        return Arrays.stream(ids)
+                .map(String::valueOf)
+                .collect(Collectors.joining(",", "{\"ids\":[", "]}"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.namit.categorybackend.product.controller;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.product.dto.ProductRequest;
+import com.namit.categorybackend.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class ProductControllerConditionalGetTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    private MockMvc mockMvc;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+        categoryId = categoryService.createCategory(category("Conditional")).getCategoryId();
+    }
+
+    @Test
+    void productByIdIsNotModifiedUntilItChanges() throws Exception {
+        ProductRequest request = product("Desk Lamp", categoryId);
+        Long id = productService.createProduct(request).getProductId();
+
+        MvcResult first = mockMvc.perform(get("/api/v1/products/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"" + id + "-");
+
+        mockMvc.perform(get("/api/v1/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        request.setProductName("Desk Lamp XL");
+        productService.updateProduct(id, request);
+
+        mockMvc.perform(get("/api/v1/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    void productByIdChangesWhenItsCategoryIsRenamed() throws Exception {
+        Long id = productService.createProduct(product("Desk Fan", categoryId)).getProductId();
+        String eTag = mockMvc.perform(get("/api/v1/products/{id}", id))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // The product row is untouched, only the category name it shows changes
+        categoryService.updateCategory(categoryId, category("Conditional Renamed"));
+
+        mockMvc.perform(get("/api/v1/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    void listPageIsNotModifiedUntilItsRowsChange() throws Exception {
+        productService.createProduct(product("Floor Lamp", categoryId));
+        String url = "/api/v1/products/public?categoryIds=" + categoryId;
+
+        String eTag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/\"1-");
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        productService.createProduct(product("Table Lamp", categoryId));
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listPageChangesWhenARowLeavesIt() throws Exception {
+        productService.createProduct(product("Wall Lamp", categoryId));
+        Long leaving = productService.createProduct(product("Wall Lamp Mini", categoryId)).getProductId();
+        String url = "/api/v1/products/public?categoryIds=" + categoryId;
+
+        String eTag = mockMvc.perform(get(url))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // The rows left are no newer than before, so only the ETag can tell the page changed
+        productService.toggleProductStatus(leaving);
+
+        mockMvc.perform(get(url)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 31 Dec 2100 23:59:59 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 31 Dec 2100 23:59:59 GMT"))
+                .andExpect(status().isOk());
+    }
+}
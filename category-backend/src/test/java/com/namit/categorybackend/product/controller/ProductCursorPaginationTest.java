@@ -0,0 +1,108 @@
+package com.namit.categorybackend.product.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class ProductCursorPaginationTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void walkingEveryPageReturnsEachProductOnceWhenCreatedAtTies() throws Exception {
+        Long categoryId = categoryService.createCategory(category("Cursor")).getCategoryId();
+        List<Long> tied = IntStream.range(0, 7)
+                .mapToObj(i -> productService.createProduct(product("Cursor Cup " + i, categoryId)).getProductId())
+                .toList();
+
+        // Seven rows on one timestamp, so page boundaries fall inside the tie
+        Timestamp sameInstant = Timestamp.from(Instant.parse("2020-01-01T00:00:00Z"));
+        tied.forEach(id -> jdbcTemplate.update(
+                "UPDATE products SET created_at = ? WHERE product_id = ?", sameInstant, id));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/v1/products/cursor")
+                    .param("size", String.valueOf(PAGE_SIZE))
+                    .param("status", "all");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            List<Number> ids = JsonPath.read(body, "$.data.content[*].productId");
+            assertThat(ids).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            ids.forEach(id -> seen.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.data.nextCursor");
+        } while (cursor != null);
+
+        Set<Long> distinct = new HashSet<>(seen);
+        assertThat(distinct).hasSameSizeAs(seen);
+        assertThat(seen).containsAll(tied);
+        assertThat(seen).hasSize(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Integer.class));
+
+        // Within the tie the id breaks it, newest first
+        List<Long> tiedInOrder = seen.stream().filter(tied::contains).toList();
+        assertThat(tiedInOrder).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    void malformedCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/products/cursor").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/products/cursor").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/categories/cursor").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,100 @@
+package com.namit.categorybackend.product.facet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductFacetIndexTest {
+
+    private static final ProductFacetIndex.Query UNFILTERED = new ProductFacetIndex.Query(null, null, null, null, null, null, null);
+
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFacetIndex(List.of(new BigDecimal("50"), new BigDecimal("10")));
+        index.rebuild(Stream.of(
+                row(1L, 100L, "5.00", 3, true),
+                row(2L, 100L, "10.00", 0, true),
+                row(3L, 200L, "49.99", 7, true),
+                row(4L, 200L, "120.00", 1, true),
+                row(5L, 200L, "15.00", 2, false)));
+    }
+
+    @Test
+    void countsEveryFacetOfTheActiveProducts() {
+        ProductFacetIndex.Counts counts = index.count(UNFILTERED);
+
+        assertThat(index.bucketBounds()).containsExactly(new BigDecimal("10.00"), new BigDecimal("50.00"));
+        assertThat(counts.total()).isEqualTo(4);
+        assertThat(counts.categories()).isEqualTo(Map.of(100L, 2L, 200L, 2L));
+        // [0, 10), [10, 50), [50, ...): a bound belongs to the bucket it starts
+        assertThat(counts.priceBuckets()).containsExactly(1, 2, 1);
+        assertThat(counts.inStock()).isEqualTo(3);
+        assertThat(counts.outOfStock()).isEqualTo(1);
+    }
+
+    @Test
+    void eachFacetIgnoresItsOwnFilter() {
+        ProductFacetIndex.Counts counts = index.count(new ProductFacetIndex.Query(
+                List.of(100L), null, new BigDecimal("50"), true, null, null, null));
+
+        assertThat(counts.total()).isEqualTo(1);
+        // Other categories still show what picking them would return
+        assertThat(counts.categories()).isEqualTo(Map.of(100L, 1L, 200L, 1L));
+        assertThat(counts.priceBuckets()).containsExactly(1, 0, 0);
+        assertThat(counts.inStock()).isEqualTo(1);
+        assertThat(counts.outOfStock()).isEqualTo(1);
+    }
+
+    @Test
+    void candidateIdsNarrowTheScan() {
+        ProductFacetIndex.Counts counts = index.count(new ProductFacetIndex.Query(
+                null, null, null, null, List.of(2L, 4L, 5L, 99L), null, null));
+
+        assertThat(counts.total()).isEqualTo(2);
+        assertThat(counts.categories()).isEqualTo(Map.of(100L, 1L, 200L, 1L));
+    }
+
+    @Test
+    void textPrefixesAreMatchedDuringTheScan() {
+        ProductFacetIndex.Counts counts = index.count(new ProductFacetIndex.Query(
+                null, null, null, null, null, " mug", null));
+
+        assertThat(counts.total()).isEqualTo(2);
+        assertThat(counts.categories()).isEqualTo(Map.of(100L, 1L, 200L, 1L));
+
+        counts = index.count(new ProductFacetIndex.Query(
+                null, null, null, null, null, "Plate", "SKU-4"));
+
+        assertThat(counts.total()).isEqualTo(1);
+        assertThat(counts.priceBuckets()).containsExactly(0, 0, 1);
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        index.apply(List.of(
+                row(1L, 200L, "75.00", 0, true),
+                row(3L, 200L, "49.99", 7, false),
+                row(5L, 300L, "15.00", 2, true)));
+
+        ProductFacetIndex.Counts counts = index.count(UNFILTERED);
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(counts.categories()).isEqualTo(Map.of(100L, 1L, 200L, 2L, 300L, 1L));
+        assertThat(counts.priceBuckets()).containsExactly(0, 2, 2);
+        assertThat(counts.outOfStock()).isEqualTo(2);
+    }
+
+    private static ProductFacetRow row(Long id, Long categoryId, String price, int stock, boolean status) {
+        // Odd ids are mugs, even ones plates
+        String name = (id % 2 == 1 ? "Mug " : "Plate ") + id;
+        return new ProductFacetRow(id, name, "SKU-" + id, categoryId, new BigDecimal(price), stock, status);
+    }
+}
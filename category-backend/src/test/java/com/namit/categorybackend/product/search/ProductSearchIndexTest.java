@@ -0,0 +1,61 @@
+package com.namit.categorybackend.product.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.rebuild(Stream.of(
+                new ProductSearchDocument(1L, "Wireless Mouse", "Ergonomic mouse with USB receiver"),
+                new ProductSearchDocument(2L, "Mouse Pad", "Large desk pad"),
+                new ProductSearchDocument(3L, "Mechanical Keyboard", "Wireless keyboard, brown switches"),
+                new ProductSearchDocument(4L, "Café Crème Mug", "Ceramic mug for coffee")));
+    }
+
+    @Test
+    void nameMatchesRankAboveDescriptionMatches() {
+        assertThat(index.search("wireless", 10)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void everyWordMustMatch() {
+        assertThat(index.search("wireless keyboard", 10)).containsExactly(3L);
+        assertThat(index.search("wireless pad", 10)).isEmpty();
+    }
+
+    @Test
+    void matchesPrefixesAndOneTypo() {
+        assertThat(index.search("keyb", 10)).containsExactly(3L);
+        assertThat(index.search("mechanicla", 10)).containsExactly(3L);
+        assertThat(index.search("keybaord", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void ignoresCaseAndAccents() {
+        assertThat(index.search("CAFE creme", 10)).containsExactly(4L);
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        index.index(new ProductSearchDocument(2L, "Gaming Pad", "Large desk pad"));
+        index.remove(1L);
+
+        assertThat(index.search("mouse", 10)).isEmpty();
+        assertThat(index.search("gaming", 10)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void honoursTheLimit() {
+        assertThat(index.search("mouse", 1)).containsExactly(1L);
+    }
+}
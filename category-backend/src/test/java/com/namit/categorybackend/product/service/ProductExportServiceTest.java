@@ -0,0 +1,95 @@
+package com.namit.categorybackend.product.service;
+
+import com.jayway.jsonpath.JsonPath;
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.common.util.CsvUtils;
+import com.namit.categorybackend.product.dto.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Every export is narrowed with updatedSince to the products the test
+ * created, so rows left by other tests in the shared database stay out.
+ */
+@SpringBootTest
+class ProductExportServiceTest {
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Instant since;
+    private ProductResponse active;
+    private ProductResponse inactive;
+
+    @BeforeEach
+    void setUp() {
+        since = Instant.now();
+        Long categoryId = categoryService.createCategory(category("Exported")).getCategoryId();
+        active = productService.createProduct(product("Exported Mug, \"Large\"", categoryId));
+        inactive = productService.createProduct(product("Exported Tray", categoryId));
+        productService.toggleProductStatus(inactive.getProductId());
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLineInIdOrder() throws Exception {
+        List<String> lines = lines(exportNdjson("all"));
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines).allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+        assertThat(lines.stream().map(line -> ((Number) JsonPath.read(line, "$.productId")).longValue()))
+                .containsExactly(active.getProductId(), inactive.getProductId());
+        assertThat((String) JsonPath.read(lines.get(0), "$.productName")).isEqualTo("Exported Mug, \"Large\"");
+        assertThat((Boolean) JsonPath.read(lines.get(1), "$.status")).isFalse();
+    }
+
+    @Test
+    void statusNarrowsTheExport() throws Exception {
+        List<String> lines = lines(exportNdjson("active"));
+
+        assertThat(lines).hasSize(1);
+        assertThat(((Number) JsonPath.read(lines.get(0), "$.productId")).longValue()).isEqualTo(active.getProductId());
+    }
+
+    @Test
+    void csvStartsWithAHeaderAndQuotesFieldsThatNeedIt() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        productExportService.exportCsv("all", since, out);
+        List<String> lines = lines(out);
+
+        assertThat(lines).hasSize(3);
+        assertThat(CsvUtils.parseLine(lines.get(0)))
+                .containsExactly("productId", "productName", "price", "sku", "categoryName", "inventoryCount", "status");
+        List<String> first = CsvUtils.parseLine(lines.get(1));
+        assertThat(first.get(0)).isEqualTo(active.getProductId().toString());
+        assertThat(first.get(1)).isEqualTo("Exported Mug, \"Large\"");
+        assertThat(first.get(3)).isEqualTo(active.getSku());
+        assertThat(first.get(6)).isEqualTo("true");
+    }
+
+    private ByteArrayOutputStream exportNdjson(String status) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        productExportService.exportNdjson(status, since, out);
+        return out;
+    }
+
+    private static List<String> lines(ByteArrayOutputStream out) {
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
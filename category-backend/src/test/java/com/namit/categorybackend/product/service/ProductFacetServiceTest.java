@@ -0,0 +1,146 @@
+package com.namit.categorybackend.product.service;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.product.dto.CategoryFacetResponse;
+import com.namit.categorybackend.product.dto.PriceBucketResponse;
+import com.namit.categorybackend.product.dto.ProductFacetsResponse;
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Own database: facets count every product in it. Prefixes matching more
+// than two products are matched in the index scan instead of by id.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:facets;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.facets.max-candidates=2"
+})
+class ProductFacetServiceTest {
+
+    @Autowired
+    private ProductFacetService productFacetService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Long kitchenId;
+    private Long cookwareId;
+    private Long kettleId;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        kitchenId = createCategory("Kitchen", null);
+        cookwareId = createCategory("Cookware", kitchenId);
+
+        createProduct("Facet Towel " + run, kitchenId, "8.00", 0);
+        createProduct("Facet Pan " + run, cookwareId, "35.00", 4);
+        kettleId = createProduct("Facet Kettle " + run, cookwareId, "60.00", 2);
+
+        productFacetService.rebuildIndex();
+    }
+
+    @Test
+    void countsRollUpThroughTheCategoryTree() {
+        ProductFilterRequest filter = new ProductFilterRequest();
+        filter.setCategoryIds(List.of(kitchenId));
+        filter.setIncludeSubcategories(true);
+
+        ProductFacetsResponse facets = productFacetService.getFacets(filter);
+
+        assertThat(facets.getTotal()).isEqualTo(3);
+        CategoryFacetResponse kitchen = facet(facets, kitchenId);
+        assertThat(kitchen.getCount()).isEqualTo(1);
+        assertThat(kitchen.getSubtreeCount()).isEqualTo(3);
+        assertThat(facet(facets, cookwareId).getSubtreeCount()).isEqualTo(2);
+        assertThat(facets.getPriceBuckets()).extracting(PriceBucketResponse::getCount)
+                .containsExactly(1L, 0L, 1L, 1L, 0L, 0L, 0L);
+        assertThat(facets.getInStock()).isEqualTo(2);
+        assertThat(facets.getOutOfStock()).isEqualTo(1);
+    }
+
+    @Test
+    void refreshAppliesWritesSinceTheRebuild() {
+        productService.toggleProductStatus(kettleId);
+        createProduct("Facet Lid " + UUID.randomUUID(), cookwareId, "12.00", 9);
+
+        productFacetService.refreshIndex();
+
+        ProductFilterRequest filter = new ProductFilterRequest();
+        filter.setCategoryIds(List.of(cookwareId));
+        ProductFacetsResponse facets = productFacetService.getFacets(filter);
+
+        assertThat(facets.getTotal()).isEqualTo(2);
+        assertThat(facets.getInStock()).isEqualTo(2);
+    }
+
+    @Test
+    void textPrefixesNarrowTheCounts() {
+        ProductFilterRequest filter = new ProductFilterRequest();
+        filter.setNamePrefix("Facet Pan");
+        filter.setInStock(true);
+
+        ProductFacetsResponse facets = productFacetService.getFacets(filter);
+
+        assertThat(facets.getTotal()).isEqualTo(1);
+        assertThat(facet(facets, cookwareId).getCount()).isEqualTo(1);
+        assertThat(facets.getCategories()).extracting(CategoryFacetResponse::getCategoryId)
+                .containsExactly(kitchenId, cookwareId);
+    }
+
+    @Test
+    void broadPrefixesAreMatchedInTheIndexScan() {
+        ProductFilterRequest filter = new ProductFilterRequest();
+        filter.setCategoryIds(List.of(kitchenId));
+        filter.setIncludeSubcategories(true);
+        filter.setNamePrefix("Facet ");
+
+        ProductFacetsResponse facets = productFacetService.getFacets(filter);
+
+        // Three products here alone, more than the cap of two
+        assertThat(facets.getTotal()).isEqualTo(3);
+        assertThat(facet(facets, kitchenId).getSubtreeCount()).isEqualTo(3);
+
+        filter.setNamePrefix("Facet K");
+        assertThat(productFacetService.getFacets(filter).getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsAnInvertedPriceRange() {
+        ProductFilterRequest filter = new ProductFilterRequest();
+        filter.setMinPrice(new BigDecimal("50"));
+        filter.setMaxPrice(new BigDecimal("10"));
+
+        assertThatThrownBy(() -> productFacetService.getFacets(filter))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CategoryFacetResponse facet(ProductFacetsResponse facets, Long categoryId) {
+        return facets.getCategories().stream()
+                .filter(facet -> facet.getCategoryId().equals(categoryId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Long createCategory(String name, Long parentId) {
+        return categoryService.createCategory(category(name, parentId)).getCategoryId();
+    }
+
+    private Long createProduct(String name, Long categoryId, String price, int inventoryCount) {
+        return productService.createProduct(product(name, categoryId, new BigDecimal(price), inventoryCount))
+                .getProductId();
+    }
+}
@@ -0,0 +1,146 @@
+package com.namit.categorybackend.product.service;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.product.dto.ProductImportError;
+import com.namit.categorybackend.product.dto.ProductImportResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Batches of two, so a handful of rows already crosses batch boundaries
+@SpringBootTest(properties = "app.import.batch-size=2")
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    private String run;
+
+    @BeforeEach
+    void setUp() {
+        categoryId = categoryService.createCategory(category("Imported")).getCategoryId();
+        run = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void columnsAreMatchedByHeaderNameNotPosition() throws IOException {
+        ProductImportResponse response = importCsv(
+                "sku,inventoryCount,categoryId,price,productName\n"
+                        + sku(1) + ",7," + categoryId + ",12.50,Header Mug\n");
+
+        assertThat(response.getImportedRows()).isEqualTo(1);
+        assertThat(response.getErrors()).isEmpty();
+        Map<String, Object> row = row(sku(1));
+        assertThat(row.get("product_name")).isEqualTo("Header Mug");
+        assertThat(row.get("inventory_count")).isEqualTo(7);
+        assertThat(row.get("description")).isNull();
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndQuotes() throws IOException {
+        importCsv("productName,description,price,sku,categoryId,inventoryCount\n"
+                + "\"Mug, \"\"Large\"\"\",\"Holds 500ml, dishwasher safe\",9.99," + sku(1) + "," + categoryId + ",3\n");
+
+        Map<String, Object> row = row(sku(1));
+        assertThat(row.get("product_name")).isEqualTo("Mug, \"Large\"");
+        assertThat(row.get("description")).isEqualTo("Holds 500ml, dishwasher safe");
+    }
+
+    @Test
+    void badRowsAreReportedByLineWhileGoodRowsLand() throws IOException {
+        ProductImportResponse response = importCsv(
+                "productName,description,price,sku,categoryId,inventoryCount\n"
+                        + "Good Plate,,5.00," + sku(1) + "," + categoryId + ",1\n"   // line 2
+                        + "Bad Price,,cheap," + sku(2) + "," + categoryId + ",1\n"   // line 3
+                        + "\n"                                                      // line 4, skipped
+                        + "No Category,,5.00," + sku(3) + ",999999,1\n"             // line 5
+                        + ",,5.00," + sku(4) + "," + categoryId + ",1\n"            // line 6, no name
+                        + "Good Bowl,,6.00," + sku(5) + "," + categoryId + ",2\n"); // line 7
+
+        assertThat(response.getTotalRows()).isEqualTo(5);
+        assertThat(response.getImportedRows()).isEqualTo(2);
+        assertThat(response.getFailedRows()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(ProductImportError::getLine).containsExactly(3L, 5L, 6L);
+        assertThat(response.getErrors().get(0).getMessage()).contains("price 'cheap' is not a number");
+        assertThat(response.getErrors().get(1).getSku()).isEqualTo(sku(3));
+        assertThat(imported(sku(1), sku(5))).isEqualTo(2);
+    }
+
+    @Test
+    void duplicateSkusAreCaughtWithinAndAcrossBatches() throws IOException {
+        ProductImportResponse response = importCsv(
+                "productName,price,sku,categoryId,inventoryCount\n"
+                        + "Batch One,1.00," + sku(1) + "," + categoryId + ",1\n"
+                        + "Batch One Again,1.00," + sku(1) + "," + categoryId + ",1\n"  // same batch
+                        + "Batch Two,1.00," + sku(2) + "," + categoryId + ",1\n"
+                        + "Batch Two Again,1.00," + sku(1) + "," + categoryId + ",1\n"  // next batch
+                        + "Batch Three,1.00," + sku(3) + "," + categoryId + ",1\n");    // last, partial batch
+
+        assertThat(response.getImportedRows()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(ProductImportError::getLine).containsExactly(3L, 5L);
+        assertThat(imported(sku(1), sku(2), sku(3))).isEqualTo(3);
+        assertThat(categoryService.getProductCount(categoryId)).isEqualTo(3);
+    }
+
+    @Test
+    void ndjsonReportsMalformedLines() throws IOException {
+        String body = "{\"productName\":\"Json Cup\",\"price\":3.50,\"sku\":\"" + sku(1)
+                + "\",\"categoryId\":" + categoryId + ",\"inventoryCount\":4,\"description\":\"json\"}\n"
+                + "{not json\n";
+
+        ProductImportResponse response = productImportService.importNdjson(stream(body));
+
+        assertThat(response.getImportedRows()).isEqualTo(1);
+        assertThat(response.getErrors()).extracting(ProductImportError::getLine).containsExactly(2L);
+        assertThat(imported(sku(1))).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsAHeaderWithoutARequiredColumn() {
+        assertThatThrownBy(() -> importCsv("productName,price,categoryId,inventoryCount\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sku");
+    }
+
+    private ProductImportResponse importCsv(String body) throws IOException {
+        return productImportService.importCsv(stream(body));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String sku(int n) {
+        return "IMP-" + run + "-" + n;
+    }
+
+    private Map<String, Object> row(String sku) {
+        return jdbcTemplate.queryForMap("select * from products where sku = ?", sku);
+    }
+
+    private int imported(String... skus) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from products where sku in (" + String.join(",", "?".repeat(skus.length).split("")) + ")",
+                Integer.class, (Object[]) skus);
+    }
+}
@@ -0,0 +1,106 @@
+package com.namit.categorybackend.product.service;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.product.dto.ProductRequest;
+import com.namit.categorybackend.support.SqlRecorder;
+import com.namit.categorybackend.support.SqlRecorder.StatementCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Exact statement counts per ProductService call. A lazy association that
+ * starts loading per row (N+1) shows up here as an extra SELECT.
+ * The category cache is warm in every test (createProduct fills it).
+ */
+@SpringBootTest
+@Import(SqlRecorder.RecorderConfig.class)
+class ProductServiceStatementCountTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        categoryId = categoryService.createCategory(category("Counted")).getCategoryId();
+    }
+
+    @Test
+    void createProduct() {
+        ProductRequest request = product("Counted Bowl", categoryId);
+        productService.createProduct(product("Warm Cache Bowl", categoryId));
+
+        // SKU check, insert, outbox row, category counters
+        assertThat(sqlRecorder.count(() -> productService.createProduct(request)))
+                .isEqualTo(StatementCount.selects(1).plusInserts(2).plusUpdates(1));
+    }
+
+    @Test
+    void getProductById() {
+        Long id = productService.createProduct(product("Counted Plate", categoryId)).getProductId();
+
+        assertThat(sqlRecorder.count(() -> productService.getProductById(id)))
+                .isEqualTo(StatementCount.selects(1));
+    }
+
+    @Test
+    void toggleProductStatus() {
+        Long id = productService.createProduct(product("Counted Cup", categoryId)).getProductId();
+
+        // product, outbox row, category counters, update
+        assertThat(sqlRecorder.count(() -> productService.toggleProductStatus(id)))
+                .isEqualTo(StatementCount.selects(1).plusInserts(1).plusUpdates(2));
+    }
+
+    @Test
+    void updateProduct() {
+        ProductRequest request = product("Counted Jug", categoryId);
+        Long id = productService.createProduct(request).getProductId();
+        request.setProductName("Counted Jug XL");
+
+        // product, SKU check, outbox row, update
+        assertThat(sqlRecorder.count(() -> productService.updateProduct(id, request)))
+                .isEqualTo(StatementCount.selects(2).plusInserts(1).plusUpdates(1));
+    }
+
+    @Test
+    void getProductsByIds() {
+        Long first = productService.createProduct(product("Counted Fork", categoryId)).getProductId();
+        Long second = productService.createProduct(product("Counted Knife", categoryId)).getProductId();
+
+        assertThat(sqlRecorder.count(() -> productService.getProductsByIds(List.of(first, second))))
+                .isEqualTo(StatementCount.selects(1));
+    }
+
+    @Test
+    void getPublicProductsSlice() {
+        productService.createProduct(product("Counted Spoon", categoryId));
+
+        assertThat(sqlRecorder.count(() -> productService.getPublicProductsSlice(0, 12, null)))
+                .isEqualTo(StatementCount.selects(1));
+    }
+
+    @Test
+    void getPublicProductsByCursor() {
+        productService.createProduct(product("Counted Ladle", categoryId));
+
+        assertThat(sqlRecorder.count(() -> productService.getPublicProductsByCursor(null, 12)))
+                .isEqualTo(StatementCount.selects(1));
+    }
+}
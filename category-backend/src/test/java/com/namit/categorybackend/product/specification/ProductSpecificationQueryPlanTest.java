@@ -0,0 +1,193 @@
+package com.namit.categorybackend.product.specification;
+
+import com.namit.categorybackend.product.dto.ProductFilterRequest;
+import com.namit.categorybackend.product.service.ProductService;
+import com.namit.categorybackend.support.SqlRecorder;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Runs every listing filter combination through the service, then asks H2
+ * to run each captured SELECT again under EXPLAIN ANALYZE (with its real
+ * bound parameters). A plan fails when it scans the table, when the index
+ * it picks has no condition on a filtered column, or when it reads every
+ * products row anyway: an index walked end to end is a table scan too.
+ *
+ * The filter and sort indexes lead with status. An admin listing of all
+ * statuses has no status condition to seek on: MySQL reads both status
+ * values as two ranges (or skip-scans), H2 cannot, so the admin filters are
+ * checked on a single-status listing and the all-status one only unfiltered.
+ */
+@SpringBootTest
+@Import(SqlRecorder.RecorderConfig.class)
+class ProductSpecificationQueryPlanTest {
+
+    private static final int CATEGORIES = 50;
+    private static final int PRODUCTS = 2000;
+
+    // The products access of a plan: index, its conditions if any, and the rows it read
+    private static final Pattern PRODUCTS_ACCESS = Pattern.compile(
+            "\"products\" \"\\w+\"\\s*/\\* ([^:*]+)(?:: (.*?))? \\*/.*?/\\* scanCount: (\\d+) \\*/",
+            Pattern.DOTALL);
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedCatalog() {
+        Long existing = jdbcTemplate.queryForObject("select count(*) from products", Long.class);
+        if (existing != null && existing >= PRODUCTS) {
+            return;
+        }
+
+        List<Object[]> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(new Object[] { "Plan category " + i });
+        }
+        jdbcTemplate.batchUpdate("insert into categories (category_name, description, status, created_at, updated_at) "
+                + "values (?, 'seed', true, now(), now())", categories);
+
+        List<Long> categoryIds = jdbcTemplate.queryForList("select category_id from categories", Long.class);
+
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Object[] {
+                    "Product " + i,
+                    BigDecimal.valueOf(1 + i % 500),
+                    "PLAN-" + i,
+                    i % 7,
+                    i % 4 != 0,
+                    categoryIds.get(i % categoryIds.size()) });
+        }
+        jdbcTemplate.batchUpdate("insert into products (product_name, price, sku, inventory_count, status, category_id, "
+                + "created_at, updated_at) values (?, ?, ?, ?, ?, ?, now(), now())", products);
+
+        jdbcTemplate.execute("analyze");
+    }
+
+    static Stream<Arguments> filters() {
+        // The last argument lists the columns the chosen index must have a condition on (any one of them)
+        return Stream.of(
+                Arguments.of("no filter", new ProductFilterRequest(), List.of()),
+                Arguments.of("category", ProductFilterRequest.builder().categoryIds(List.of(1L, 2L)).build(),
+                        List.of("category_id")),
+                Arguments.of("price range", ProductFilterRequest.builder()
+                        .minPrice(BigDecimal.TEN).maxPrice(BigDecimal.valueOf(20)).build(), List.of("price")),
+                Arguments.of("min price", ProductFilterRequest.builder().minPrice(BigDecimal.valueOf(490)).build(),
+                        List.of("price")),
+                Arguments.of("in stock", ProductFilterRequest.builder().inStock(true).build(),
+                        List.of("inventory_count")),
+                Arguments.of("out of stock", ProductFilterRequest.builder().inStock(false).build(),
+                        List.of("inventory_count")),
+                Arguments.of("name prefix", ProductFilterRequest.builder().namePrefix("Product 12").build(),
+                        List.of("product_name")),
+                Arguments.of("sku prefix", ProductFilterRequest.builder().skuPrefix("PLAN-12").build(),
+                        List.of("sku")),
+                Arguments.of("category and price", ProductFilterRequest.builder()
+                        .categoryIds(List.of(3L)).minPrice(BigDecimal.ONE).maxPrice(BigDecimal.valueOf(50)).build(),
+                        List.of("category_id", "price")),
+                Arguments.of("sort by price", ProductFilterRequest.builder().sortBy("price").direction("asc").build(),
+                        List.of()),
+                Arguments.of("sort by name", ProductFilterRequest.builder().sortBy("productName").build(),
+                        List.of()));
+    }
+
+    @ParameterizedTest(name = "public listing, {0}")
+    @MethodSource("filters")
+    void publicListingUsesAnIndex(String name, ProductFilterRequest filter, List<String> columns) throws Exception {
+        sqlRecorder.clear();
+
+        productService.getPublicProducts(0, 12, filter);
+
+        assertIndexed(sqlRecorder.selects(), columns);
+    }
+
+    @ParameterizedTest(name = "admin listing (inactive), {0}")
+    @MethodSource("filters")
+    void adminListingUsesAnIndex(String name, ProductFilterRequest filter, List<String> columns) throws Exception {
+        sqlRecorder.clear();
+
+        productService.getAllProducts(0, 10, "inactive", filter);
+
+        assertIndexed(sqlRecorder.selects(), columns);
+    }
+
+    @Test
+    void adminListingOfAllStatusesWalksTheCreatedAtIndex() throws Exception {
+        sqlRecorder.clear();
+
+        productService.getAllProducts(0, 10, "all", new ProductFilterRequest());
+
+        assertIndexed(sqlRecorder.selects(), List.of());
+    }
+
+    private void assertIndexed(List<SqlRecorder.RecordedQuery> queries, List<String> columns) throws Exception {
+        assertThat(queries).isNotEmpty();
+        long rows = jdbcTemplate.queryForObject("select count(*) from products", Long.class);
+
+        for (SqlRecorder.RecordedQuery query : queries) {
+            String plan = explain(query);
+            assertThat(plan)
+                    .as("plan for %s", query.sql())
+                    .doesNotContainIgnoringCase("tableScan");
+
+            Matcher access = PRODUCTS_ACCESS.matcher(plan);
+            assertThat(access.find()).as("products access in %s", plan).isTrue();
+            // A full walk reads one row more than the table holds
+            assertThat(Long.parseLong(access.group(3)))
+                    .as("rows read through %s for %s", access.group(1), query.sql())
+                    .isLessThan(rows);
+            if (!columns.isEmpty()) {
+                assertThat(access.group(2))
+                        .as("condition on %s for %s", access.group(1), query.sql())
+                        .isNotNull()
+                        .containsAnyOf(columns.toArray(String[]::new));
+            }
+        }
+    }
+
+    private String explain(SqlRecorder.RecordedQuery query) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("explain analyze " + query.sql())) {
+
+            for (ParameterSetOperation operation : query.parameters()) {
+                operation.getMethod().invoke(statement, operation.getArgs());
+            }
+
+            try (ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.namit.categorybackend.profiling;
+
+import com.namit.categorybackend.category.service.CategoryService;
+import com.namit.categorybackend.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.namit.categorybackend.support.CatalogFixtures.category;
+import static com.namit.categorybackend.support.CatalogFixtures.product;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class SqlProfilerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private SqlProfilingFilter sqlProfilingFilter;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    private MockMvc mockMvc;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(sqlProfilingFilter).build();
+
+        categoryId = categoryService.createCategory(category("Profiled")).getCategoryId();
+    }
+
+    @Test
+    void normalizeCollapsesLiteralsInListsAndWhitespace() {
+        assertThat(SqlProfiler.normalize("select p.id from products p\n  where p.sku = 'A-1''s' and p.price > 10.5"
+                + " and p.category_id in (?, ?,?) and p.status = 1 limit ?"))
+                .isEqualTo("select p.id from products p where p.sku = ? and p.price > ? and p.category_id in (?...)"
+                        + " and p.status = ? limit ?");
+
+        // Digits inside identifiers stay
+        assertThat(SqlProfiler.normalize("select c1_0.category_id from categories c1_0"))
+                .isEqualTo("select c1_0.category_id from categories c1_0");
+    }
+
+    @Test
+    void responsesCarryServerTimingForTheirStatements() throws Exception {
+        Long id = productService.createProduct(product("Profiled Tray", categoryId)).getProductId();
+
+        String eTag = mockMvc.perform(get("/api/v1/products/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", startsWith("db;dur=")))
+                .andExpect(header().string("Server-Timing", containsString("desc=\"statements=1\"")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Bodiless responses get it from the filter
+        mockMvc.perform(get("/api/v1/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Server-Timing", containsString("desc=\"statements=1\"")));
+    }
+
+    @Test
+    void slowestListsNormalizedStatements() throws Exception {
+        Long id = productService.createProduct(product("Profiled Tray", categoryId)).getProductId();
+        mockMvc.perform(get("/api/v1/products/{id}", id)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/admin/sql/slowest").param("limit", "100").param("orderBy", "count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].count").isNumber())
+                .andExpect(jsonPath("$.data[?(@.sql =~ /select .* from products .*/)]").exists());
+
+        mockMvc.perform(get("/api/v1/admin/sql/slowest").param("orderBy", "slowness"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,55 @@
+package com.namit.categorybackend.support;
+
+import com.namit.categorybackend.category.dto.CategoryRequest;
+import com.namit.categorybackend.product.dto.ProductRequest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/*
+ * Request builders for the categories and products tests create. Category
+ * names and SKUs get a random suffix, so tests sharing a database never
+ * collide; price, stock and description are fixed unless a test passes its own.
+ */
+public final class CatalogFixtures {
+
+    public static final BigDecimal PRICE = new BigDecimal("10.00");
+
+    public static final int INVENTORY = 5;
+
+    private static final String DESCRIPTION = "test fixture";
+
+    private CatalogFixtures() {
+    }
+
+    public static CategoryRequest category(String name) {
+        return category(name, null);
+    }
+
+    public static CategoryRequest category(String name, Long parentId) {
+        CategoryRequest request = new CategoryRequest();
+        request.setCategoryName(name + " " + UUID.randomUUID());
+        request.setDescription(DESCRIPTION);
+        request.setParentId(parentId);
+        return request;
+    }
+
+    public static ProductRequest product(String name, Long categoryId) {
+        return product(name, categoryId, PRICE, INVENTORY);
+    }
+
+    public static ProductRequest product(String name, Long categoryId, int inventoryCount) {
+        return product(name, categoryId, PRICE, inventoryCount);
+    }
+
+    public static ProductRequest product(String name, Long categoryId, BigDecimal price, int inventoryCount) {
+        ProductRequest request = new ProductRequest();
+        request.setProductName(name);
+        request.setDescription(DESCRIPTION);
+        request.setPrice(price);
+        request.setSku("SKU-" + UUID.randomUUID());
+        request.setInventoryCount(inventoryCount);
+        request.setCategoryId(categoryId);
+        return request;
+    }
+}
@@ -0,0 +1,130 @@
+package com.namit.categorybackend.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Records every statement the application sends to the database, with its
+ * bound parameters. Import RecorderConfig into a test to wrap the DataSource.
+ * count() runs an action and tallies only the statements of the calling
+ * thread, so background work (cache refreshes, jobs) does not skew it.
+ */
+public class SqlRecorder implements QueryExecutionListener {
+
+    private final List<RecordedQuery> queries = Collections.synchronizedList(new ArrayList<>());
+
+    public void clear() {
+        queries.clear();
+    }
+
+    public List<RecordedQuery> queries() {
+        synchronized (queries) {
+            return List.copyOf(queries);
+        }
+    }
+
+    public List<RecordedQuery> selects() {
+        return queries().stream()
+                .filter(query -> query.sql().stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+    }
+
+    // Statements one call sends, e.g. assertThat(count(() -> service.get(id))).isEqualTo(StatementCount.selects(1))
+    public StatementCount count(Runnable action) {
+        long threadId = Thread.currentThread().getId();
+        clear();
+        action.run();
+        return StatementCount.of(queries().stream()
+                .filter(query -> query.threadId() == threadId)
+                .map(RecordedQuery::sql)
+                .toList());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parameters = queryInfo.getParametersList();
+            queries.add(new RecordedQuery(
+                    queryInfo.getQuery(),
+                    parameters.isEmpty() ? List.of() : List.copyOf(parameters.get(0)),
+                    Thread.currentThread().getId()));
+        }
+    }
+
+    public record RecordedQuery(String sql, List<ParameterSetOperation> parameters, long threadId) {
+    }
+
+    public record StatementCount(int selects, int inserts, int updates, int deletes) {
+
+        public static StatementCount selects(int selects) {
+            return new StatementCount(selects, 0, 0, 0);
+        }
+
+        public StatementCount plusInserts(int inserts) {
+            return new StatementCount(selects, this.inserts + inserts, updates, deletes);
+        }
+
+        public StatementCount plusUpdates(int updates) {
+            return new StatementCount(selects, inserts, this.updates + updates, deletes);
+        }
+
+        static StatementCount of(List<String> statements) {
+            int selects = 0, inserts = 0, updates = 0, deletes = 0;
+            for (String sql : statements) {
+                String verb = sql.stripLeading().toLowerCase();
+                if (verb.startsWith("select")) {
+                    selects++;
+                } else if (verb.startsWith("insert")) {
+                    inserts++;
+                } else if (verb.startsWith("update")) {
+                    updates++;
+                } else if (verb.startsWith("delete")) {
+                    deletes++;
+                }
+            }
+            return new StatementCount(selects, inserts, updates, deletes);
+        }
+    }
+
+    @TestConfiguration
+    public static class RecorderConfig {
+
+        @Bean
+        public SqlRecorder sqlRecorder() {
+            return new SqlRecorder();
+        }
+
+        @Bean
+        public static BeanPostProcessor sqlRecorderDataSourceWrapper(
+                ObjectProvider<SqlRecorder> recorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .name(beanName)
+                                .listener(recorder.getObject())
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -43,6 +43,7 @@ export default function CategoryTable({ categories, onEdit, onToggleStatus }) {
                         <th className="px-4 py-3 font-medium">#</th>
                         <th className="px-4 py-3 font-medium">Name</th>
                         <th className="px-4 py-3 font-medium hidden sm:table-cell">Description</th>
+                        <th className="px-4 py-3 font-medium hidden md:table-cell">Products</th>
                         <th className="px-4 py-3 font-medium hidden md:table-cell">Status</th>
                         <th className="px-4 py-3 font-medium hidden lg:table-cell">Created At</th>
                         <th className="px-4 py-3 font-medium text-right">Actions</th>
@@ -68,6 +69,13 @@ export default function CategoryTable({ categories, onEdit, onToggleStatus }) {
                                 )}
                             </td>
 
+                            <td className="px-4 py-3 hidden md:table-cell text-[var(--text-secondary)]"
+                                title={`${cat.activeProductCount ?? 0} active of ${cat.productCount ?? 0}`}
+                            >
+                                {cat.activeProductCount ?? 0}
+                                <span className="text-[var(--text-muted)]"> / {cat.productCount ?? 0}</span>
+                            </td>
+
                             <td className="px-4 py-3 hidden md:table-cell">
                                 <StatusBadge status={cat.status} />
                             </td>
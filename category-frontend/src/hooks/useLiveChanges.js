@@ -0,0 +1,74 @@
+import { useEffect, useRef } from "react";
+
+const STREAM_URL = `${import.meta.env.VITE_API_BASE_URL}/changes/stream`;
+
+// Changes that can't be patched in place trigger at most one refetch per window
+const REFRESH_THROTTLE_MS = 500;
+
+/**
+ * Subscribes to the backend's live change stream (Server-Sent Events).
+ *
+ * onChange(delta) gets every change; it returns true when it patched the
+ * page in place. Otherwise, and whenever the server says the client fell
+ * behind ("resync"), onStale() runs at the end of the window the first such
+ * event opened, typically a silent refetch of the current page. A steady
+ * stream of changes still refreshes the page every window.
+ *
+ * EventSource reconnects on its own and sends Last-Event-ID, so changes made
+ * while the connection was down are replayed.
+ */
+export default function useLiveChanges({ entityType, onChange, onStale }) {
+    const onChangeRef = useRef(onChange);
+    const onStaleRef = useRef(onStale);
+
+    useEffect(() => {
+        onChangeRef.current = onChange;
+        onStaleRef.current = onStale;
+    }, [onChange, onStale]);
+
+    useEffect(() => {
+        const url = entityType ? `${STREAM_URL}?entityType=${entityType}` : STREAM_URL;
+        const source = new EventSource(url);
+        let timer = null;
+
+        // Later events join the pending refetch instead of pushing it back
+        const staleSoon = () => {
+            if (timer !== null) return;
+            timer = setTimeout(() => {
+                timer = null;
+                onStaleRef.current?.();
+            }, REFRESH_THROTTLE_MS);
+        };
+
+        source.addEventListener("change", (event) => {
+            const delta = JSON.parse(event.data);
+            if (!onChangeRef.current?.(delta)) {
+                staleSoon();
+            }
+        });
+        source.addEventListener("resync", staleSoon);
+
+        return () => {
+            clearTimeout(timer);
+            source.close();
+        };
+    }, [entityType]);
+}
+
+/**
+ * Applies a change to the rows of the current page. Returns the new rows,
+ * the same rows when the change doesn't touch this page, or null when the
+ * page has to be refetched (a row entered or left it).
+ */
+export function patchRows(rows, idKey, delta, entity, matches) {
+    if (!entity || delta.changeType === "CREATED") return null;
+
+    const onPage = rows.some((row) => row[idKey] === delta.entityId);
+    if (!onPage) {
+        const statusChanged = delta.changeType === "ACTIVATED" || delta.changeType === "DEACTIVATED";
+        return statusChanged && matches(entity) ? null : rows;
+    }
+    if (!matches(entity)) return null;
+
+    return rows.map((row) => (row[idKey] === delta.entityId ? entity : row));
+}
@@ -9,6 +9,7 @@ import {
 import ProductTable from "../components/ProductTable";
 import ProductForm from "../components/ProductForm";
 import Modal from "../components/Modal";
+import useLiveChanges, { patchRows } from "../hooks/useLiveChanges";
 
 const MemoTable = memo(ProductTable);
 
@@ -66,8 +67,8 @@ export default function AdminProducts() {
     /* Filter */
     const [statusFilter, setStatusFilter] = useState("active");
 
-    const fetchProducts = useCallback(async () => {
-        setLoading(true);
+    const fetchProducts = useCallback(async ({ silent = false } = {}) => {
+        if (!silent) setLoading(true);
         try {
             const res = await getProducts(page, size, statusFilter);
             const pageData = res.data?.data;
@@ -85,6 +86,22 @@ export default function AdminProducts() {
         fetchProducts();
     }, [fetchProducts]);
 
+    /* Live updates from other admins: patch visible rows, refetch when rows enter or leave the page */
+    useLiveChanges({
+        onChange: (delta) => {
+            // Category renames and reassignments show in the category column
+            if (delta.entityType === "CATEGORY") {
+                return delta.changeType !== "REASSIGNED"
+                    && !products.some((product) => product.categoryId === delta.entityId);
+            }
+            const matches = (product) => statusFilter === "all" || product.status === (statusFilter === "active");
+            const next = patchRows(products, "productId", delta, delta.product, matches);
+            if (next) setProducts(next);
+            return next !== null;
+        },
+        onStale: () => fetchProducts({ silent: true }),
+    });
+
     /* Modal helpers */
     const openCreateModal = useCallback(() => {
         setIsEditing(false);
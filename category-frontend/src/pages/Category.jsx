@@ -10,6 +10,7 @@ import CategoryTable from "../components/CategoryTable";
 import CategoryForm from "../components/CategoryForm";
 import Modal from "../components/Modal";
 import CategoryReassignModal from "../components/CategoryReassignModal";
+import useLiveChanges, { patchRows } from "../hooks/useLiveChanges";
 
 const MemoTable = memo(CategoryTable);
 
@@ -58,8 +59,8 @@ export default function Category() {
     /* Filter */
     const [statusFilter, setStatusFilter] = useState("active");
 
-    const fetchCategories = useCallback(async () => {
-        setLoading(true);
+    const fetchCategories = useCallback(async ({ silent = false } = {}) => {
+        if (!silent) setLoading(true);
         try {
             const res = await getCategories(page, size, statusFilter);
             const pageData = res.data?.data;
@@ -77,6 +78,18 @@ export default function Category() {
         fetchCategories();
     }, [fetchCategories]);
 
+    /* Live updates from other admins: patch visible rows, refetch when rows enter or leave the page */
+    useLiveChanges({
+        entityType: "CATEGORY",
+        onChange: (delta) => {
+            const matches = (category) => statusFilter === "all" || category.status === (statusFilter === "active");
+            const next = patchRows(categories, "categoryId", delta, delta.category, matches);
+            if (next) setCategories(next);
+            return next !== null;
+        },
+        onStale: () => fetchCategories({ silent: true }),
+    });
+
     /* Modal helpers */
     const openCreateModal = useCallback(() => {
         setIsEditing(false);
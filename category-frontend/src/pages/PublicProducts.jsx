@@ -1,6 +1,7 @@
 import { useState, useEffect, useCallback } from "react";
 import { toast } from "sonner";
 import { getPublicProducts } from "../services/productService";
+import useLiveChanges, { patchRows } from "../hooks/useLiveChanges";
 import { ShoppingBag } from "lucide-react";
 
 function SkeletonCard() {
@@ -24,8 +25,8 @@ export default function PublicProducts() {
     const [totalPages, setTotalPages] = useState(0);
     const [totalElements, setTotalElements] = useState(0);
 
-    const fetchProducts = useCallback(async () => {
-        setLoading(true);
+    const fetchProducts = useCallback(async ({ silent = false } = {}) => {
+        if (!silent) setLoading(true);
         try {
             const res = await getPublicProducts(page, 12);
             const pageData = res.data?.data;
@@ -43,6 +44,17 @@ export default function PublicProducts() {
         fetchProducts();
     }, [fetchProducts]);
 
+    /* Live updates: price, stock and name changes show without a reload */
+    useLiveChanges({
+        entityType: "PRODUCT",
+        onChange: (delta) => {
+            const next = patchRows(products, "productId", delta, delta.product, (product) => product.status);
+            if (next) setProducts(next);
+            return next !== null;
+        },
+        onStale: () => fetchProducts({ silent: true }),
+    });
+
     return (
         <div className="max-w-6xl mx-auto px-4 py-8 sm:px-6">
             {/* Header */}